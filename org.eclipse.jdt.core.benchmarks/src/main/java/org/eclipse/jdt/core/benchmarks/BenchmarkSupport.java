@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+import org.eclipse.jdt.internal.compiler.util.JRTUtil;
+
+/**
+ * Inputs and compiler set up shared by the benchmarks.
+ * <p>
+ * The inputs are synthetic sources checked in next to this class, compiled against the
+ * runtime image of the JVM running the benchmarks, at the Java 17 level.
+ * </p>
+ */
+public final class BenchmarkSupport {
+
+	/** Statements, expressions and nested types of all kinds, without much generics */
+	public static final String STATEMENTS = "Statements.java"; //$NON-NLS-1$
+	/** Generic methods, streams and lambdas, dominated by type inference */
+	public static final String GENERICS = "Generics.java"; //$NON-NLS-1$
+	/** Raw types, unchecked conversions and unused locals, half of them under <code>@SuppressWarnings</code> */
+	public static final String WARNINGS = "Warnings.java"; //$NON-NLS-1$
+
+	private BenchmarkSupport() {
+		// no instance
+	}
+
+	public static char[] read(String input) {
+		try (InputStream stream = BenchmarkSupport.class.getResourceAsStream(input)) {
+			if (stream == null)
+				throw new IllegalArgumentException("No such input: " + input); //$NON-NLS-1$
+			return new String(stream.readAllBytes(), StandardCharsets.UTF_8).toCharArray();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public static ICompilationUnit compilationUnit(String input) {
+		return new CompilationUnit(read(input), input, "UTF-8"); //$NON-NLS-1$
+	}
+
+	public static CompilerOptions options() {
+		Map<String, String> settings = new HashMap<>();
+		settings.put(CompilerOptions.OPTION_Compliance, CompilerOptions.VERSION_17);
+		settings.put(CompilerOptions.OPTION_Source, CompilerOptions.VERSION_17);
+		settings.put(CompilerOptions.OPTION_TargetPlatform, CompilerOptions.VERSION_17);
+		settings.put(CompilerOptions.OPTION_ReportUnusedLocal, CompilerOptions.WARNING);
+		settings.put(CompilerOptions.OPTION_ReportRawTypeReference, CompilerOptions.WARNING);
+		return new CompilerOptions(settings);
+	}
+
+	public static ProblemReporter problemReporter(CompilerOptions options) {
+		return new ProblemReporter(DefaultErrorHandlingPolicies.proceedWithAllProblems(), options, new DefaultProblemFactory(Locale.ENGLISH));
+	}
+
+	/** Name environment on the runtime image of the running JVM */
+	public static FileSystem nameEnvironment() {
+		String jrtFileSystem = System.getProperty("java.home") + File.separator + "lib" + File.separator + JRTUtil.JRT_FS_JAR; //$NON-NLS-1$ //$NON-NLS-2$
+		return new FileSystem(new String[] { jrtFileSystem }, null, null);
+	}
+
+	/** Compiler discarding its results, whose lookup environment is {@link Compiler#reset() reset} by the caller */
+	public static Compiler compiler(FileSystem nameEnvironment) {
+		return new Compiler(
+				nameEnvironment,
+				DefaultErrorHandlingPolicies.proceedWithAllProblems(),
+				options(),
+				result -> { /* discarded */ },
+				new DefaultProblemFactory(Locale.ENGLISH));
+	}
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
+import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Looks up and completes binary types of the runtime image in a fresh {@link LookupEnvironment}:
+ * creation of their bindings, then of their fields, methods and member types.
+ * <p>
+ * The class files are only decoded by the first iterations, subsequent ones get the decoded types
+ * from the process wide binary type cache, as the compilations running in a long lived VM do.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryCompletionBenchmark {
+
+	private static final char[][][] TYPE_NAMES = {
+		CharOperation.splitOn('.', "java.lang.String".toCharArray()), //$NON-NLS-1$
+		CharOperation.splitOn('.', "java.util.HashMap".toCharArray()), //$NON-NLS-1$
+		CharOperation.splitOn('.', "java.util.TreeMap".toCharArray()), //$NON-NLS-1$
+		CharOperation.splitOn('.', "java.util.concurrent.ConcurrentHashMap".toCharArray()), //$NON-NLS-1$
+		CharOperation.splitOn('.', "java.util.stream.Collectors".toCharArray()), //$NON-NLS-1$
+		CharOperation.splitOn('.', "java.util.stream.Stream".toCharArray()), //$NON-NLS-1$
+		CharOperation.splitOn('.', "java.time.LocalDateTime".toCharArray()), //$NON-NLS-1$
+		CharOperation.splitOn('.', "java.nio.file.Files".toCharArray()), //$NON-NLS-1$
+	};
+
+	private FileSystem nameEnvironment;
+	private Compiler compiler;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.nameEnvironment = BenchmarkSupport.nameEnvironment();
+		this.compiler = BenchmarkSupport.compiler(this.nameEnvironment);
+	}
+
+	@Setup(Level.Invocation)
+	public void reset() {
+		this.compiler.lookupEnvironment.reset();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.nameEnvironment.cleanup();
+	}
+
+	@Benchmark
+	public void complete(Blackhole blackhole) {
+		LookupEnvironment environment = this.compiler.lookupEnvironment;
+		for (char[][] typeName : TYPE_NAMES) {
+			ReferenceBinding type = environment.getType(typeName);
+			blackhole.consume(type.fields());
+			blackhole.consume(type.methods());
+			blackhole.consume(type.memberTypes());
+		}
+	}
+}
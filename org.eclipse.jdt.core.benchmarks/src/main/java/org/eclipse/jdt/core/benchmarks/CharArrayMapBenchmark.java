@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.codegen.CharArrayCache;
+import org.eclipse.jdt.internal.compiler.util.CharArrayHashMap;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Looks up and adds names in the hashtables keyed by char arrays: the {@link HashtableOfObject} still
+ * used by the lookup, the {@link CharArrayHashMap} used by the large package tables, the type or
+ * package cache of a unit and the member caches of the constant pool, and the {@link CharArrayCache}
+ * of the constant pool. The names looked up are equal to the keys but distinct arrays, as they are
+ * when a name gets resolved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharArrayMapBenchmark {
+
+	@Param({ "16", "1024" })
+	public int size;
+
+	private char[][] keys;
+	private char[][] hits;
+	private char[][] misses;
+	private HashtableOfObject hashtableOfObject;
+	private CharArrayHashMap<Object> charArrayHashMap;
+	private CharArrayCache charArrayCache;
+
+	@Setup
+	public void setUp() {
+		this.keys = new char[this.size][];
+		this.hits = new char[this.size][];
+		this.misses = new char[this.size][];
+		for (int i = 0; i < this.size; i++) {
+			String name = "org.eclipse.jdt.internal.compiler.lookup.Binding" + i; //$NON-NLS-1$
+			this.keys[i] = name.toCharArray();
+			this.hits[i] = name.toCharArray();
+			this.misses[i] = (name + '$').toCharArray();
+		}
+		this.hashtableOfObject = new HashtableOfObject(this.size);
+		this.charArrayHashMap = new CharArrayHashMap<>(this.size);
+		this.charArrayCache = new CharArrayCache(this.size);
+		for (int i = 0; i < this.size; i++) {
+			this.hashtableOfObject.put(this.keys[i], this.keys[i]);
+			this.charArrayHashMap.put(this.keys[i], this.keys[i]);
+			this.charArrayCache.putIfAbsent(this.keys[i], i + 1);
+		}
+	}
+
+	@Benchmark
+	public int hashtableOfObjectGet() {
+		int found = 0;
+		for (char[] name : this.hits)
+			if (this.hashtableOfObject.get(name) != null)
+				found++;
+		for (char[] name : this.misses)
+			if (this.hashtableOfObject.get(name) != null)
+				found++;
+		return found;
+	}
+
+	@Benchmark
+	public int charArrayHashMapGet() {
+		int found = 0;
+		for (char[] name : this.hits)
+			if (this.charArrayHashMap.get(name) != null)
+				found++;
+		for (char[] name : this.misses)
+			if (this.charArrayHashMap.get(name) != null)
+				found++;
+		return found;
+	}
+
+	@Benchmark
+	public int charArrayCacheGet() {
+		int found = 0;
+		for (char[] name : this.hits)
+			if (this.charArrayCache.get(name) > 0)
+				found++;
+		for (char[] name : this.misses)
+			if (this.charArrayCache.get(name) > 0)
+				found++;
+		return found;
+	}
+
+	@Benchmark
+	public CharArrayHashMap<Object> charArrayHashMapFill() {
+		CharArrayHashMap<Object> map = new CharArrayHashMap<>(1);
+		for (char[] key : this.keys)
+			map.put(key, key);
+		return map;
+	}
+
+	@Benchmark
+	public CharArrayCache charArrayCacheFill() {
+		CharArrayCache cache = new CharArrayCache();
+		for (int i = 0; i < this.keys.length; i++)
+			cache.putIfAbsent(this.keys[i], i + 1);
+		return cache;
+	}
+}
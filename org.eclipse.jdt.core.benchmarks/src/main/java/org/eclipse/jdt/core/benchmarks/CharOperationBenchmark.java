@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares names with the {@link CharOperation} primitives used by every lookup, on a short
+ * simple name and on a long qualified name. The compared names are equal but distinct arrays,
+ * or differ in their last character only, so that all characters get compared.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharOperationBenchmark {
+
+	@Param({ "toString", "org.eclipse.jdt.internal.compiler.lookup.ParameterizedTypeBinding" })
+	public String name;
+
+	private char[] chars;
+	private char[] equalChars;
+	private char[] otherChars; // differs in the last character
+	private char[] prefix;
+	private char[] suffix;
+	private char[] enclosing; // the name within a longer array
+	private int start;
+
+	@Setup
+	public void setUp() {
+		this.chars = this.name.toCharArray();
+		this.equalChars = this.name.toCharArray();
+		this.otherChars = this.name.toCharArray();
+		this.otherChars[this.otherChars.length - 1]++;
+		this.prefix = CharOperation.subarray(this.chars, 0, this.chars.length - 1);
+		this.suffix = CharOperation.subarray(this.chars, this.chars.length / 2, this.chars.length);
+		this.enclosing = ("import " + this.name + ";").toCharArray(); //$NON-NLS-1$ //$NON-NLS-2$
+		this.start = "import ".length(); //$NON-NLS-1$
+	}
+
+	@Benchmark
+	public boolean equals() {
+		return CharOperation.equals(this.chars, this.equalChars);
+	}
+
+	@Benchmark
+	public boolean equalsRegion() {
+		return CharOperation.equals(this.chars, this.enclosing, this.start, this.start + this.chars.length);
+	}
+
+	@Benchmark
+	public boolean prefixEquals() {
+		return CharOperation.prefixEquals(this.prefix, this.chars);
+	}
+
+	@Benchmark
+	public boolean prefixEqualsAt() {
+		return CharOperation.prefixEquals(this.prefix, this.enclosing, true, this.start);
+	}
+
+	@Benchmark
+	public boolean endsWith() {
+		return CharOperation.endsWith(this.chars, this.suffix);
+	}
+
+	@Benchmark
+	public int compareTo() {
+		return CharOperation.compareTo(this.chars, this.otherChars);
+	}
+
+	@Benchmark
+	public int indexOf() {
+		return CharOperation.indexOf(this.suffix, this.enclosing, true);
+	}
+
+	@Benchmark
+	public int lastIndexOf() {
+		return CharOperation.lastIndexOf('i', this.chars);
+	}
+
+	@Benchmark
+	public int hash() {
+		return CharOperation.hashCode(this.chars);
+	}
+}
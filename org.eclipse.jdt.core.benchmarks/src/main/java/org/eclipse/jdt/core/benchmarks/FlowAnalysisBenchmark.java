@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Analyzes the flow of a generated method declaring {@link #localCount} pairs of locals, each
+ * assigned in the branches of an if statement and tested in a loop: the flow infos are copied
+ * and merged at every join point, while most of their bits stay unchanged.
+ * <p>
+ * Compare with {@link FlowInfoBenchmark}, which measures the flow info operations in isolation.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlowAnalysisBenchmark {
+
+	@Param({ "20", "300" })
+	public int localCount;
+
+	private FileSystem nameEnvironment;
+	private Compiler compiler;
+	private ICompilationUnit sourceUnit;
+	private CompilationUnitDeclaration unit;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.nameEnvironment = BenchmarkSupport.nameEnvironment();
+		this.compiler = BenchmarkSupport.compiler(this.nameEnvironment);
+		this.sourceUnit = new CompilationUnit(generate(this.localCount).toCharArray(), "LargeMethod.java", "UTF-8"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Setup(Level.Invocation)
+	public void resolve() {
+		this.compiler.reset();
+		this.unit = this.compiler.resolve(null, this.sourceUnit, true, false, false);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.nameEnvironment.cleanup();
+	}
+
+	@Benchmark
+	public CompilationUnitDeclaration analyseCode() {
+		this.unit.analyseCode();
+		return this.unit;
+	}
+
+	static String generate(int localCount) {
+		StringBuilder source = new StringBuilder(localCount * 256);
+		source.append("public class LargeMethod {\n\tString run(int seed, String text) {\n"); //$NON-NLS-1$
+		for (int i = 0; i < localCount; i++)
+			source.append("\t\tint i").append(i).append(";\n\t\tString s").append(i).append(" = null;\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		for (int i = 0; i < localCount; i++) {
+			source.append("\t\tif ((seed & ").append(i).append(") == 0) {\n") //$NON-NLS-1$ //$NON-NLS-2$
+				.append("\t\t\ti").append(i).append(" = ").append(i).append(";\n") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				.append("\t\t\ts").append(i).append(" = text;\n") //$NON-NLS-1$ //$NON-NLS-2$
+				.append("\t\t} else if (seed > ").append(i).append(") {\n") //$NON-NLS-1$ //$NON-NLS-2$
+				.append("\t\t\ti").append(i).append(" = -seed;\n") //$NON-NLS-1$ //$NON-NLS-2$
+				.append("\t\t} else {\n") //$NON-NLS-1$
+				.append("\t\t\ti").append(i).append(" = 0;\n") //$NON-NLS-1$ //$NON-NLS-2$
+				.append("\t\t\ts").append(i).append(" = String.valueOf(seed);\n") //$NON-NLS-1$ //$NON-NLS-2$
+				.append("\t\t}\n") //$NON-NLS-1$
+				.append("\t\twhile (i").append(i).append(" > seed) {\n") //$NON-NLS-1$ //$NON-NLS-2$
+				.append("\t\t\tif (s").append(i).append(" != null)\n\t\t\t\tbreak;\n") //$NON-NLS-1$ //$NON-NLS-2$
+				.append("\t\t\ti").append(i).append("--;\n\t\t}\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		source.append("\t\treturn ").append(localCount == 0 ? "text" : "s" + (localCount - 1) + " + i0").append(";\n\t}\n}\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		return source.toString();
+	}
+}
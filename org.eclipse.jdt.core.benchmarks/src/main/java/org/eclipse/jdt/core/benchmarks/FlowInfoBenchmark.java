@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.flow.FlowInfo;
+import org.eclipse.jdt.internal.compiler.flow.UnconditionalFlowInfo;
+import org.eclipse.jdt.internal.compiler.lookup.LocalVariableBinding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Merges the flow infos of two branches, as done at every join point of the flow analysis.
+ * <p>
+ * Up to 64 fields and locals fit in the bits of the flow info itself, beyond that they go to
+ * its extra bit vectors: the benchmarks run with both.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlowInfoBenchmark {
+
+	@Param({ "40", "300" })
+	public int localCount;
+
+	private static final int FIELD_COUNT = 8;
+
+	private UnconditionalFlowInfo thenInfo;
+	private UnconditionalFlowInfo elseInfo;
+
+	@Setup
+	public void setUp() {
+		this.thenInfo = FlowInfo.initial(FIELD_COUNT);
+		this.elseInfo = FlowInfo.initial(FIELD_COUNT);
+		for (int i = 0; i < this.localCount; i++) {
+			LocalVariableBinding local = new LocalVariableBinding(("local" + i).toCharArray(), null, 0, false); //$NON-NLS-1$
+			local.id = i;
+			// both branches assign most locals, with differing null statuses
+			if (i % 3 != 0)
+				this.thenInfo.markAsDefinitelyAssigned(local);
+			if (i % 5 != 0)
+				this.elseInfo.markAsDefinitelyAssigned(local);
+			if (i % 2 == 0)
+				this.thenInfo.markAsDefinitelyNonNull(local);
+			else
+				this.elseInfo.markAsDefinitelyNull(local);
+		}
+	}
+
+	@Benchmark
+	public UnconditionalFlowInfo copy() {
+		return (UnconditionalFlowInfo) this.thenInfo.copy();
+	}
+
+	@Benchmark
+	public UnconditionalFlowInfo mergedWith() {
+		return ((UnconditionalFlowInfo) this.thenInfo.copy()).mergedWith(this.elseInfo);
+	}
+
+	@Benchmark
+	public FlowInfo addInitializationsFrom() {
+		return this.thenInfo.copy().addInitializationsFrom(this.elseInfo);
+	}
+
+	@Benchmark
+	public FlowInfo addPotentialInitializationsFrom() {
+		return this.thenInfo.copy().addPotentialInitializationsFrom(this.elseInfo);
+	}
+}
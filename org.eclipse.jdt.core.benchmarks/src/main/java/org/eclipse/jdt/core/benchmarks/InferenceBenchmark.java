@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resolves a source made of generic method invocations, streams and lambdas, where the time
+ * goes to the type inference of {@link org.eclipse.jdt.internal.compiler.lookup.InferenceContext18}.
+ * <p>
+ * Each invocation starts from a fresh lookup environment, so the resolution includes the creation
+ * of the bindings of the source and of the binary types it refers to: compare with
+ * {@link BinaryCompletionBenchmark} to tell them apart.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InferenceBenchmark {
+
+	private FileSystem nameEnvironment;
+	private Compiler compiler;
+	private ICompilationUnit sourceUnit;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.nameEnvironment = BenchmarkSupport.nameEnvironment();
+		this.compiler = BenchmarkSupport.compiler(this.nameEnvironment);
+		this.sourceUnit = BenchmarkSupport.compilationUnit(BenchmarkSupport.GENERICS);
+	}
+
+	@Setup(Level.Invocation)
+	public void reset() {
+		this.compiler.reset();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.nameEnvironment.cleanup();
+	}
+
+	@Benchmark
+	public CompilationUnitDeclaration resolve() {
+		return this.compiler.resolve(null, this.sourceUnit, true, false, false);
+	}
+}
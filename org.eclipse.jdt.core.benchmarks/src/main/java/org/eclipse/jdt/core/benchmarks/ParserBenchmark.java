@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses a whole source, either diet (without the method bodies, as done first by the compiler)
+ * or full.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+	@Param({ BenchmarkSupport.STATEMENTS, BenchmarkSupport.GENERICS })
+	public String input;
+
+	private CompilerOptions options;
+	private ICompilationUnit sourceUnit;
+	private Parser parser;
+
+	@Setup
+	public void setUp() {
+		this.options = BenchmarkSupport.options();
+		this.sourceUnit = BenchmarkSupport.compilationUnit(this.input);
+		this.parser = new Parser(BenchmarkSupport.problemReporter(this.options), this.options.parseLiteralExpressionsAsConstants);
+	}
+
+	private CompilationResult newResult() {
+		return new CompilationResult(this.sourceUnit, 0, 1, this.options.maxProblemsPerUnit);
+	}
+
+	@Benchmark
+	public CompilationUnitDeclaration diet() {
+		return this.parser.dietParse(this.sourceUnit, newResult());
+	}
+
+	@Benchmark
+	public CompilationUnitDeclaration full() {
+		return this.parser.parse(this.sourceUnit, newResult());
+	}
+}
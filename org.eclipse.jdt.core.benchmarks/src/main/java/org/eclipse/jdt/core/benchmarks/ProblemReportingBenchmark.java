@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Resolves and analyzes a source full of raw types, unchecked conversions and unused locals,
+ * half of them suppressed, so that most of the time goes to reporting problems.
+ * <p>
+ * The messages of the problems are rendered when first read, see
+ * {@link org.eclipse.jdt.internal.compiler.problem.DeferredProblem}: {@link #resolve()} never reads them,
+ * like a client only looking at the problem ids, and the suppressed problems are never read either, while
+ * {@link #resolveAndReadMessages()} reads the messages of all the problems reported. Run with
+ * <code>-prof gc</code> and compare their <code>gc.alloc.rate.norm</code>.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProblemReportingBenchmark {
+
+	private FileSystem nameEnvironment;
+	private Compiler compiler;
+	private ICompilationUnit sourceUnit;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.nameEnvironment = BenchmarkSupport.nameEnvironment();
+		this.compiler = BenchmarkSupport.compiler(this.nameEnvironment);
+		this.sourceUnit = BenchmarkSupport.compilationUnit(BenchmarkSupport.WARNINGS);
+	}
+
+	@Setup(Level.Invocation)
+	public void reset() {
+		this.compiler.reset();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.nameEnvironment.cleanup();
+	}
+
+	@Benchmark
+	public CompilationResult resolve() {
+		return this.compiler.resolve(null, this.sourceUnit, true, true, false).compilationResult;
+	}
+
+	@Benchmark
+	public void resolveAndReadMessages(Blackhole blackhole) {
+		CompilationResult result = this.compiler.resolve(null, this.sourceUnit, true, true, false).compilationResult;
+		for (CategorizedProblem problem : result.getAllProblems())
+			blackhole.consume(problem.getMessage());
+	}
+}
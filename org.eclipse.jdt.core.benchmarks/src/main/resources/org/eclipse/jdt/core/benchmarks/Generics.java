@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Synthetic benchmark input: generic methods, streams and lambdas, dominated by type inference.
+ */
+public class Generics {
+
+	record Person(String name, int age, String city, List<String> tags) {
+	}
+
+	record Pair<A, B>(A first, B second) {
+		static <A, B> Pair<A, B> of(A first, B second) {
+			return new Pair<>(first, second);
+		}
+
+		<C> Pair<A, C> withSecond(Function<? super B, ? extends C> mapper) {
+			return new Pair<>(this.first, mapper.apply(this.second));
+		}
+	}
+
+	static <T, K> Map<K, List<T>> groupBy(Collection<? extends T> items, Function<? super T, ? extends K> key) {
+		Map<K, List<T>> result = new HashMap<>();
+		for (T item : items)
+			result.computeIfAbsent(key.apply(item), k -> new ArrayList<>()).add(item);
+		return result;
+	}
+
+	static <T extends Comparable<? super T>> T max(Collection<? extends T> items) {
+		return items.stream().max(Comparator.naturalOrder()).orElseThrow();
+	}
+
+	static <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> mapper) {
+		return items.stream().map(mapper).collect(Collectors.toList());
+	}
+
+	static <T> Predicate<T> not(Predicate<? super T> predicate) {
+		return t -> !predicate.test(t);
+	}
+
+	static <T, U, R> Function<T, R> compose(Function<? super T, ? extends U> first, Function<? super U, ? extends R> second) {
+		return t -> second.apply(first.apply(t));
+	}
+
+	static <T> Supplier<List<T>> listOf(Supplier<? extends T> element, int count) {
+		return () -> IntStream.range(0, count).mapToObj(i -> element.get()).collect(Collectors.toList());
+	}
+
+	List<Person> people = new ArrayList<>();
+
+	Map<String, Double> averageAgeByCity() {
+		return this.people.stream()
+				.collect(Collectors.groupingBy(Person::city, TreeMap::new, Collectors.averagingInt(Person::age)));
+	}
+
+	Map<Boolean, List<String>> namesByMajority() {
+		return this.people.stream()
+				.collect(Collectors.partitioningBy(p -> p.age() >= 18, Collectors.mapping(Person::name, Collectors.toList())));
+	}
+
+	Map<String, Set<String>> tagsByCity() {
+		return this.people.stream()
+				.collect(Collectors.groupingBy(Person::city,
+						Collectors.flatMapping(p -> p.tags().stream(), Collectors.toSet())));
+	}
+
+	Optional<Person> oldestIn(String city) {
+		return this.people.stream()
+				.filter(p -> p.city().equals(city))
+				.max(Comparator.comparingInt(Person::age).thenComparing(Person::name, Comparator.reverseOrder()));
+	}
+
+	List<Pair<String, Integer>> nameLengths() {
+		return this.people.stream()
+				.map(p -> Pair.of(p.name(), p.name().length()))
+				.sorted(Comparator.comparing((Pair<String, Integer> p) -> p.second()).thenComparing(Pair::first))
+				.collect(Collectors.toList());
+	}
+
+	Map<String, Integer> totalAgeByTag() {
+		return this.people.stream()
+				.flatMap(p -> p.tags().stream().map(tag -> Pair.of(tag, p.age())))
+				.collect(Collectors.toMap(Pair::first, Pair::second, Integer::sum, TreeMap::new));
+	}
+
+	String summary() {
+		return this.people.stream()
+				.map(p -> Pair.of(p, p.tags().size()))
+				.filter(not(p -> p.second() == 0))
+				.map(p -> p.withSecond(count -> count * 2))
+				.map(p -> p.first().name() + '=' + p.second())
+				.collect(Collectors.joining(", ", "[", "]"));
+	}
+
+	int statistics() {
+		return this.people.stream()
+				.collect(Collectors.teeing(
+						Collectors.summingInt(Person::age),
+						Collectors.counting(),
+						(sum, count) -> count == 0 ? 0 : (int) (sum / count)));
+	}
+
+	CompletableFuture<Map<String, Long>> countAsync() {
+		return CompletableFuture.supplyAsync(() -> this.people)
+				.thenApply(list -> list.stream().collect(Collectors.groupingBy(Person::city, Collectors.counting())))
+				.thenCombine(CompletableFuture.completedFuture(1L), (counts, factor) -> {
+					Map<String, Long> scaled = new HashMap<>();
+					counts.forEach((city, count) -> scaled.merge(city, count * factor, Long::sum));
+					return scaled;
+				})
+				.exceptionally(e -> Map.of());
+	}
+
+	<T extends Comparable<T>> List<T> mergeSorted(List<? extends T> left, List<? extends T> right) {
+		return Stream.concat(left.stream(), right.stream())
+				.sorted()
+				.collect(Collectors.collectingAndThen(Collectors.toList(), list -> {
+					List<T> copy = new ArrayList<>(list);
+					copy.removeIf(not(t -> t != null));
+					return copy;
+				}));
+	}
+
+	Map<String, Map<Integer, List<String>>> nestedIndex() {
+		Map<String, List<Person>> byCity = groupBy(this.people, Person::city);
+		return byCity.entrySet().stream()
+				.collect(Collectors.toMap(Map.Entry::getKey,
+						e -> e.getValue().stream().collect(
+								Collectors.groupingBy(p -> p.age() / 10 * 10, TreeMap::new,
+										Collectors.mapping(Person::name, Collectors.toList())))));
+	}
+
+	<T, R> Function<List<T>, List<R>> lift(Function<? super T, ? extends R> mapper) {
+		return list -> map(list, mapper);
+	}
+
+	List<String> pipeline() {
+		Function<Person, String> upper = compose(Person::name, String::toUpperCase);
+		Function<List<Person>, List<String>> lifted = lift(upper);
+		BiFunction<List<String>, Integer, List<String>> limit = (list, n) -> list.stream().limit(n).collect(Collectors.toList());
+		return limit.apply(lifted.apply(this.people), max(List.of(3, 5, 8)));
+	}
+
+	static List<List<Integer>> matrix(int size) {
+		return IntStream.range(0, size)
+				.mapToObj(i -> IntStream.range(0, size).map(j -> i * j).boxed().collect(Collectors.toList()))
+				.collect(Collectors.toList());
+	}
+
+	static Optional<String> firstLongName(List<Optional<Person>> candidates) {
+		return candidates.stream()
+				.flatMap(Optional::stream)
+				.map(Person::name)
+				.filter(name -> name.length() > 5)
+				.findFirst()
+				.or(() -> Optional.of("none"));
+	}
+}
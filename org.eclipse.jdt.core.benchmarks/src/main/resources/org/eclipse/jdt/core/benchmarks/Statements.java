@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic benchmark input: statements, expressions and nested types of all kinds.
+ */
+public class Statements {
+
+	static final int SIZE = 1 << 10;
+	static final String GREETING = "Hello" + ", " + "world";
+	static final char[] HEX = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+
+	private final int[] values = new int[SIZE];
+	private final Map<String, Integer> counts = new HashMap<>();
+	private Node head;
+	private long total;
+	protected double ratio = 0.75d;
+
+	/** Singly linked node */
+	static class Node {
+		final Object value;
+		Node next;
+
+		Node(Object value, Node next) {
+			this.value = value;
+			this.next = next;
+		}
+
+		int length() {
+			int length = 0;
+			for (Node node = this; node != null; node = node.next)
+				length++;
+			return length;
+		}
+	}
+
+	enum Color {
+		RED(0xFF0000), GREEN(0x00FF00), BLUE(0x0000FF);
+
+		final int rgb;
+
+		Color(int rgb) {
+			this.rgb = rgb;
+		}
+
+		Color next() {
+			return values()[(ordinal() + 1) % values().length];
+		}
+	}
+
+	interface Visitor {
+		boolean visit(Node node);
+
+		default void endVisit(Node node) {
+			// nothing by default
+		}
+	}
+
+	public Statements() {
+		for (int i = 0; i < this.values.length; i++)
+			this.values[i] = i * 31 ^ (i >>> 3);
+	}
+
+	public int sum() {
+		int sum = 0;
+		for (int value : this.values)
+			sum += value;
+		return sum;
+	}
+
+	public int max() {
+		int max = Integer.MIN_VALUE;
+		int i = 0;
+		while (i < this.values.length) {
+			if (this.values[i] > max)
+				max = this.values[i];
+			i++;
+		}
+		return max;
+	}
+
+	public int countMatches(int mask) {
+		int count = 0;
+		int i = 0;
+		do {
+			if ((this.values[i] & mask) == mask)
+				count++;
+		} while (++i < this.values.length);
+		return count;
+	}
+
+	public void push(Object value) {
+		this.head = new Node(value, this.head);
+	}
+
+	public Object pop() {
+		if (this.head == null)
+			throw new IllegalStateException("empty");
+		Object value = this.head.value;
+		this.head = this.head.next;
+		return value;
+	}
+
+	public void walk(Visitor visitor) {
+		for (Node node = this.head; node != null; node = node.next) {
+			if (!visitor.visit(node))
+				break;
+			visitor.endVisit(node);
+		}
+	}
+
+	public String describe(Color color) {
+		switch (color) {
+			case RED:
+				return "red";
+			case GREEN:
+				return "green";
+			case BLUE:
+				return "blue";
+			default:
+				return "unknown";
+		}
+	}
+
+	public int weight(String word) {
+		return switch (word.length()) {
+			case 0 -> 0;
+			case 1, 2, 3 -> 1;
+			case 4, 5 -> {
+				int weight = word.charAt(0) == 'a' ? 3 : 2;
+				yield weight;
+			}
+			default -> word.length() / 2;
+		};
+	}
+
+	public String toHex(long value) {
+		StringBuilder buffer = new StringBuilder(16);
+		for (int shift = 60; shift >= 0; shift -= 4)
+			buffer.append(HEX[(int) (value >>> shift) & 0xF]);
+		return buffer.toString();
+	}
+
+	public void count(String text) {
+		String[] words = text.split(" ");
+		for (String word : words) {
+			Integer count = this.counts.get(word);
+			this.counts.put(word, count == null ? 1 : count + 1);
+		}
+	}
+
+	public int readAll(String text) {
+		int read = 0;
+		try (Reader reader = new StringReader(text)) {
+			char[] buffer = new char[64];
+			int length;
+			while ((length = reader.read(buffer)) != -1)
+				read += length;
+		} catch (IOException e) {
+			read = -1;
+		} finally {
+			this.total += read;
+		}
+		return read;
+	}
+
+	public synchronized long accumulate(long delta) {
+		this.total += delta;
+		return this.total;
+	}
+
+	public Object instanceTest(Object object) {
+		if (object instanceof String string && !string.isEmpty())
+			return string.charAt(0);
+		if (object instanceof Integer integer)
+			return integer + 1;
+		if (object instanceof Node node)
+			return node.length();
+		return null;
+	}
+
+	public int labels(int[][] matrix, int target) {
+		int found = -1;
+		outer: for (int i = 0; i < matrix.length; i++) {
+			for (int j = 0; j < matrix[i].length; j++) {
+				if (matrix[i][j] == target) {
+					found = i * matrix[i].length + j;
+					break outer;
+				}
+				if (matrix[i][j] > target)
+					continue outer;
+			}
+		}
+		return found;
+	}
+
+	public double arithmetic(int a, long b, float c, double d) {
+		int i = a * 3 + (a << 2) - (a >> 1) % 7;
+		long l = b * i - (b >>> 5) | (b & 0xFFL);
+		float f = c / 3f + i - l;
+		double x = d * f + Math.sqrt(Math.abs(d)) - this.ratio;
+		boolean positive = x > 0 && (i != 0 || l != 0) || !(f < 0);
+		return positive ? x : -x;
+	}
+
+	public int locals(int seed) {
+		int a = seed, b = a + 1, c = b + 2, d = c + 3, e = d + 4, f = e + 5, g = f + 6, h = g + 7;
+		String s1 = null, s2 = "x", s3;
+		if (seed > 0) {
+			s3 = "positive";
+			s1 = s2 + s3;
+		} else if (seed < 0) {
+			s3 = "negative";
+		} else {
+			s3 = s2;
+		}
+		int length = s1 != null ? s1.length() : s3.length();
+		return a + b + c + d + e + f + g + h + length;
+	}
+
+	public List<String> lines(String text) {
+		List<String> lines = new ArrayList<>();
+		int start = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '\n' || c == '\r') {
+				lines.add(text.substring(start, i));
+				if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n')
+					i++;
+				start = i + 1;
+			}
+		}
+		if (start < text.length())
+			lines.add(text.substring(start));
+		return lines;
+	}
+
+	public int removeEmpty(List<String> lines) {
+		int removed = 0;
+		for (Iterator<String> iterator = lines.iterator(); iterator.hasNext();) {
+			if (iterator.next().trim().isEmpty()) {
+				iterator.remove();
+				removed++;
+			}
+		}
+		return removed;
+	}
+
+	public Runnable task(final int repeat) {
+		class Counter implements Runnable {
+			int count;
+
+			@Override
+			public void run() {
+				for (int i = 0; i < repeat; i++)
+					this.count++;
+			}
+		}
+		return new Counter();
+	}
+
+	public Visitor printer(final StringBuilder out) {
+		return new Visitor() {
+			@Override
+			public boolean visit(Node node) {
+				out.append(node.value).append(' ');
+				return out.length() < SIZE;
+			}
+		};
+	}
+
+	public int[][] transpose(int[][] matrix) {
+		int[][] result = new int[matrix[0].length][matrix.length];
+		for (int i = 0; i < matrix.length; i++)
+			for (int j = 0; j < matrix[0].length; j++)
+				result[j][i] = matrix[i][j];
+		return result;
+	}
+
+	public String text(String name, int count) {
+		String text = """
+			Dear %s,
+			you have %d new messages.
+			""";
+		return String.format(text, name, count) + GREETING + (count > 1 ? "s" : "") + '!' + count + 1.5 + true;
+	}
+
+	public static void main(String[] args) {
+		Statements statements = new Statements();
+		assert statements.sum() != 0 : "empty";
+		statements.push("a");
+		statements.push(Integer.valueOf(1));
+		statements.walk(statements.printer(new StringBuilder()));
+		System.out.println(statements.describe(Color.RED.next()) + statements.toHex(statements.max()));
+	}
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Synthetic benchmark input: legacy code full of raw types, unchecked conversions and unused
+ * locals, half of it under <code>@SuppressWarnings</code>, as found in old code bases.
+ */
+public class Warnings {
+
+	static class Reported {
+
+		List names = new ArrayList();
+		Map index = new HashMap();
+		Set seen = new HashSet();
+
+		void add(String name) {
+			this.names.add(name);
+			this.index.put(name, Integer.valueOf(this.names.size()));
+			this.seen.add(name);
+			List copy = new ArrayList(this.names);
+			int unused = copy.size();
+		}
+
+		List<String> sorted(Comparator comparator) {
+			List<String> result = new ArrayList(this.names);
+			result.sort(comparator);
+			Iterator iterator = result.iterator();
+			Object first = iterator.hasNext() ? iterator.next() : null;
+			return result;
+		}
+
+		Map<String, Integer> counts(Collection words) {
+			Map<String, Integer> result = new HashMap();
+			for (Object word : words) {
+				Integer count = (Integer) this.index.get(word);
+				result.put((String) word, count);
+				Map previous = new HashMap(result);
+			}
+			return result;
+		}
+
+		Set<String> union(Set first, Set second) {
+			Set<String> result = new HashSet(first);
+			result.addAll(second);
+			Set removed = new HashSet(this.seen);
+			removed.removeAll(result);
+			String last = null;
+			return result;
+		}
+
+		List<List<String>> partition(List items, int size) {
+			List<List<String>> result = new ArrayList();
+			List current = new ArrayList();
+			for (Object item : items) {
+				current.add(item);
+				if (current.size() == size) {
+					result.add(current);
+					current = new ArrayList();
+				}
+			}
+			int remaining = current.size();
+			return result;
+		}
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked", "unused" })
+	static class Suppressed {
+
+		List names = new ArrayList();
+		Map index = new HashMap();
+		Set seen = new HashSet();
+
+		void add(String name) {
+			this.names.add(name);
+			this.index.put(name, Integer.valueOf(this.names.size()));
+			this.seen.add(name);
+			List copy = new ArrayList(this.names);
+			int unused = copy.size();
+		}
+
+		List<String> sorted(Comparator comparator) {
+			List<String> result = new ArrayList(this.names);
+			result.sort(comparator);
+			Iterator iterator = result.iterator();
+			Object first = iterator.hasNext() ? iterator.next() : null;
+			return result;
+		}
+
+		Map<String, Integer> counts(Collection words) {
+			Map<String, Integer> result = new HashMap();
+			for (Object word : words) {
+				Integer count = (Integer) this.index.get(word);
+				result.put((String) word, count);
+				Map previous = new HashMap(result);
+			}
+			return result;
+		}
+
+		Set<String> union(Set first, Set second) {
+			Set<String> result = new HashSet(first);
+			result.addAll(second);
+			Set removed = new HashSet(this.seen);
+			removed.removeAll(result);
+			String last = null;
+			return result;
+		}
+
+		List<List<String>> partition(List items, int size) {
+			List<List<String>> result = new ArrayList();
+			List current = new ArrayList();
+			for (Object item : items) {
+				current.add(item);
+				if (current.size() == size) {
+					result.add(current);
+					current = new ArrayList();
+				}
+			}
+			int remaining = current.size();
+			return result;
+		}
+	}
+}
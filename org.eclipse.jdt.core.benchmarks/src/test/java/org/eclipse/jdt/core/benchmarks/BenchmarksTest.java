@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.benchmarks;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.ast.AbstractMethodDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.flow.UnconditionalFlowInfo;
+import org.junit.Test;
+
+/**
+ * Runs the benchmarks once on their inputs, checking that they measure what they claim to: the inputs
+ * compile without errors and each benchmark does the full work on them.
+ */
+public class BenchmarksTest {
+
+	private static final String[] INPUTS = { BenchmarkSupport.STATEMENTS, BenchmarkSupport.GENERICS, BenchmarkSupport.WARNINGS };
+
+	private static String errors(CompilationResult result) {
+		CategorizedProblem[] errors = result.getErrors();
+		return errors == null ? "" : Arrays.toString(errors);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unknownInput() {
+		BenchmarkSupport.read("Missing.java");
+	}
+
+	@Test
+	public void inputsCompile() {
+		FileSystem nameEnvironment = BenchmarkSupport.nameEnvironment();
+		try {
+			Compiler compiler = BenchmarkSupport.compiler(nameEnvironment);
+			for (String input : INPUTS) {
+				compiler.reset();
+				CompilationUnitDeclaration unit = compiler.resolve(null, BenchmarkSupport.compilationUnit(input), true, true, true);
+				CompilationResult result = unit.compilationResult;
+				assertFalse(input + " has errors: " + errors(result), result.hasErrors());
+				assertTrue(input + " has no class files", result.getClassFiles().length > 0);
+			}
+			compiler.reset();
+			CompilationUnitDeclaration unit = compiler.resolve(null, BenchmarkSupport.compilationUnit(BenchmarkSupport.WARNINGS), true, true, false);
+			assertTrue("Should report warnings", unit.compilationResult.problemCount > 10);
+		} finally {
+			nameEnvironment.cleanup();
+		}
+	}
+
+	@Test
+	public void scanner() throws Exception {
+		ScannerBenchmark benchmark = new ScannerBenchmark();
+		benchmark.input = BenchmarkSupport.STATEMENTS;
+		benchmark.setUp();
+		int count = benchmark.getNextToken();
+		assertTrue("Should scan the whole source", count > 1000);
+		assertEquals("Should rescan from the start", count, benchmark.getNextToken());
+	}
+
+	@Test
+	public void parser() {
+		ParserBenchmark benchmark = new ParserBenchmark();
+		for (String input : new String[] { BenchmarkSupport.STATEMENTS, BenchmarkSupport.GENERICS }) {
+			benchmark.input = input;
+			benchmark.setUp();
+			// only the statements of the implicit record constructors are there after a diet parse
+			int dietCount = statementCount(benchmark.diet());
+			assertTrue(input + " diet parse should skip the method bodies", dietCount < 10);
+			assertTrue(input + " full parse should parse the method bodies", statementCount(benchmark.full()) > dietCount + 10);
+		}
+	}
+
+	private static int statementCount(CompilationUnitDeclaration unit) {
+		assertFalse(new String(unit.getFileName()) + " has syntax errors", unit.compilationResult.hasSyntaxError);
+		int count = 0;
+		for (TypeDeclaration type : unit.types)
+			count += statementCount(type);
+		return count;
+	}
+
+	private static int statementCount(TypeDeclaration type) {
+		int count = 0;
+		if (type.methods != null)
+			for (AbstractMethodDeclaration method : type.methods)
+				if (method.statements != null)
+					count += method.statements.length;
+		if (type.memberTypes != null)
+			for (TypeDeclaration memberType : type.memberTypes)
+				count += statementCount(memberType);
+		return count;
+	}
+
+	@Test
+	public void inference() {
+		InferenceBenchmark benchmark = new InferenceBenchmark();
+		benchmark.setUp();
+		try {
+			benchmark.reset();
+			CompilationUnitDeclaration unit = benchmark.resolve();
+			assertFalse(errors(unit.compilationResult), unit.compilationResult.hasErrors());
+			assertTrue("Should resolve the method bodies", statementCount(unit) > 10);
+		} finally {
+			benchmark.tearDown();
+		}
+	}
+
+	@Test
+	public void codeGeneration() {
+		CodeGenerationBenchmark benchmark = new CodeGenerationBenchmark();
+		benchmark.input = BenchmarkSupport.STATEMENTS;
+		benchmark.setUp();
+		try {
+			benchmark.resolve();
+			Map<String, byte[]> first = classFiles(benchmark.generateCode());
+			assertTrue(first.size() > 1);
+			// each invocation generates the code of a freshly resolved unit
+			benchmark.resolve();
+			Map<String, byte[]> second = classFiles(benchmark.generateCode());
+			assertEquals(first.keySet(), second.keySet());
+			for (String name : first.keySet())
+				assertArrayEquals(name, first.get(name), second.get(name));
+		} finally {
+			benchmark.tearDown();
+		}
+	}
+
+	private static Map<String, byte[]> classFiles(CompilationResult result) {
+		Map<String, byte[]> classFiles = new TreeMap<>();
+		for (ClassFile classFile : result.getClassFiles())
+			classFiles.put(new String(classFile.fileName()), classFile.getBytes());
+		return classFiles;
+	}
+
+	@Test
+	public void flowInfo() {
+		FlowInfoBenchmark benchmark = new FlowInfoBenchmark();
+		benchmark.localCount = 300;
+		benchmark.setUp();
+		UnconditionalFlowInfo copy = benchmark.copy();
+		assertNotNull("Should track the locals beyond 64", copy.extra);
+	}
+}
@@ -1003,15 +1003,11 @@ public static final char[][] arrayConcat(char[][] first, char[] second) {
  * @since 3.3
  */
 public static final int compareTo(char[] array1, char[] array2) {
-	int length1 = array1.length;
-	int length2 = array2.length;
-	int min = Math.min(length1, length2);
-	for (int i = 0; i < min; i++) {
-		if (array1[i] != array2[i]) {
-			return array1[i] - array2[i];
-		}
+	int i = Arrays.mismatch(array1, array2);
+	if (i >= 0 && i < array1.length && i < array2.length) {
+		return array1[i] - array2[i];
 	}
-	return length1 - length2;
+	return array1.length - array2.length;
 }
 /**
  * Compares the two char arrays lexicographically between the given start and end positions.
@@ -1035,9 +1031,10 @@ public static final int compareTo(char[] array1, char[] array2, int start, int e
 	int length2 = array2.length;
 	int min = Math.min(length1, length2);
 	min = Math.min(min, end);
-	for (int i = start; i < min; i++) {
-		if (array1[i] != array2[i]) {
-			return array1[i] - array2[i];
+	if (start < min) {
+		int i = Arrays.mismatch(array1, start, min, array2, start, min);
+		if (i >= 0) {
+			return array1[start + i] - array2[start + i];
 		}
 	}
 	return length1 - length2;
@@ -1100,14 +1097,10 @@ public static final int compareWith(char[] array, char[] prefix) {
 	int arrayLength = array.length;
 	int prefixLength = prefix.length;
 	int min = Math.min(arrayLength, prefixLength);
-	int i = 0;
-	while (min-- != 0) {
-		char c1 = array[i];
-		char c2 = prefix[i++];
-		if (c1 != c2)
-			return c1 - c2;
-	}
-	if (prefixLength == i)
+	int i = Arrays.mismatch(array, 0, min, prefix, 0, min);
+	if (i >= 0)
+		return array[i] - prefix[i];
+	if (prefixLength == min)
 		return 0;
 	return -1;	// array is shorter than prefix (e.g. array:'ab' < prefix:'abc').
 }
@@ -2047,10 +2040,7 @@ public static final boolean endsWith(char[] array, char[] toBeFound) {
 
 	if (j < 0)
 		return false;
-	while (--i >= 0)
-		if (toBeFound[i] != array[i + j])
-			return false;
-	return true;
+	return Arrays.equals(toBeFound, 0, i, array, j, j + i);
 }
 
 /**
@@ -2329,9 +2319,7 @@ public static final boolean equals(char[] first, char[] second, int secondStart,
 	if (first.length != secondEnd - secondStart)
 		return false;
 	if (isCaseSensitive) {
-		for (int i = first.length; --i >= 0;)
-			if (first[i] != second[i+secondStart])
-				return false;
+		return regionEquals(first, second, secondStart, first.length);
 	} else {
 		for (int i = first.length; --i >= 0;)
 			if (ScannerHelper.toLowerCase(first[i]) != ScannerHelper.toLowerCase(second[i+secondStart]))
@@ -2467,12 +2455,7 @@ public static final boolean fragmentEquals(
 	if (name.length < max + startIndex)
 		return false;
 	if (isCaseSensitive) {
-		for (int i = max;
-			--i >= 0;
-			) // assumes the prefix is not larger than the name
-			if (fragment[i] != name[i + startIndex])
-				return false;
-		return true;
+		return regionEquals(fragment, name, startIndex, max);
 	}
 	for (int i = max;
 		--i >= 0;
@@ -2483,6 +2466,19 @@ public static final boolean fragmentEquals(
 	return true;
 }
 
+/*
+ * Answers whether the first array equals the given region of the second array, comparing
+ * through Arrays.equals when the region lies within the second array. Otherwise compares
+ * from the last character down, the way the loops replaced by Arrays.equals did.
+ */
+private static boolean regionEquals(char[] first, char[] second, int secondStart, int length) {
+	if (secondStart >= 0 && secondStart + length <= second.length)
+		return Arrays.equals(first, 0, length, second, secondStart, secondStart + length);
+	for (int i = length; --i >= 0;)
+		if (first[i] != second[secondStart + i])
+			return false;
+	return true;
+}
 /**
  * Answers a hashcode for the array
  *
@@ -3458,12 +3454,7 @@ public static final boolean prefixEquals(char[] prefix, char[] name) {
 	int max = prefix.length;
 	if (name.length < max)
 		return false;
-	for (int i = max;
-		--i >= 0;
-		) // assumes the prefix is not larger than the name
-		if (prefix[i] != name[i])
-			return false;
-	return true;
+	return Arrays.equals(prefix, 0, max, name, 0, max);
 }
 
 /**
@@ -3546,10 +3537,7 @@ public static final boolean prefixEquals(
 	if (name.length - startIndex < max)
 		return false;
 	if (isCaseSensitive) {
-		for (int i = max; --i >= 0;) // assumes the prefix is not larger than the name
-			if (prefix[i] != name[startIndex + i])
-				return false;
-		return true;
+		return regionEquals(prefix, name, startIndex, max);
 	}
 
 	for (int i = max; --i >= 0;) // assumes the prefix is not larger than the name
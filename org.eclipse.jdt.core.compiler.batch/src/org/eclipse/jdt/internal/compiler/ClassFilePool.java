@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2017 IBM Corporation and others.
+ * Copyright (c) 2005, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,9 +19,27 @@ import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 
+/**
+ * Recycles the class files of the compiled types, along with their buffers, constant pool and code stream,
+ * which are only reset before being used for another type.
+ * <p>
+ * A class file acquired from the pool is given back by {@link #release(ClassFile)} once its bytes have been
+ * consumed, after the compiler requestor accepted the result of its unit. As many class files are acquired as
+ * are held at once, which depends on how far the compiler processes units ahead of the requestor, up to
+ * {@link #MAX_SIZE} ones. Beyond that, class files are created and left to the garbage collector.
+ * </p>
+ */
 public class ClassFilePool {
 	public static final int POOL_SIZE = 25; // need to have enough for 2 units
-	ClassFile[] classFiles;
+	/** Default of {@link #MAX_SIZE} */
+	public static final int DEFAULT_MAX_SIZE = 128;
+	/** System property overriding {@link #DEFAULT_MAX_SIZE} */
+	public static final String MAX_SIZE_PROPERTY = "jdt.compiler.classFilePoolSize"; //$NON-NLS-1$
+	public static final int MAX_SIZE = Math.max(POOL_SIZE, Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE).intValue());
+
+	ClassFile[] classFiles; // released class files, available for reuse
+	private int freeCount;
+	private int size; // class files acquired from this pool, released or not
 
 private ClassFilePool() {
 	// prevent instantiation
@@ -33,43 +51,52 @@ public static ClassFilePool newInstance() {
 }
 
 public synchronized ClassFile acquire(SourceTypeBinding typeBinding) {
-	for (int i = 0; i < POOL_SIZE; i++) {
-		ClassFile classFile = this.classFiles[i];
-		if (classFile == null) {
-			ClassFile newClassFile = new ClassFile(typeBinding);
-			this.classFiles[i] = newClassFile;
-			newClassFile.isShared = true;
-			return newClassFile;
-		}
-		if (!classFile.isShared) {
-			classFile.reset(typeBinding, typeBinding.scope.compilerOptions());
-			classFile.isShared = true;
-			return classFile;
-		}
+	if (this.freeCount > 0) {
+		ClassFile classFile = this.classFiles[--this.freeCount];
+		this.classFiles[this.freeCount] = null;
+		classFile.reset(typeBinding, typeBinding.scope.compilerOptions());
+		classFile.isShared = true;
+		return classFile;
+	}
+	ClassFile newClassFile = new ClassFile(typeBinding);
+	if (this.size < MAX_SIZE) {
+		this.size++;
+		newClassFile.isShared = true;
 	}
-	return new ClassFile(typeBinding);
+	return newClassFile;
 }
 public synchronized ClassFile acquireForModule(ModuleBinding moduleBinding, CompilerOptions options) {
-	for (int i = 0; i < POOL_SIZE; i++) {
-		ClassFile classFile = this.classFiles[i];
-		if (classFile == null) {
-			ClassFile newClassFile = new ClassFile(moduleBinding, options);
-			this.classFiles[i] = newClassFile;
-			newClassFile.isShared = true;
-			return newClassFile;
-		}
-		if (!classFile.isShared) {
-			classFile.reset(null, options);
-			classFile.isShared = true;
-			return classFile;
-		}
+	if (this.freeCount > 0) {
+		ClassFile classFile = this.classFiles[--this.freeCount];
+		this.classFiles[this.freeCount] = null;
+		classFile.reset(null, options);
+		classFile.isShared = true;
+		return classFile;
+	}
+	ClassFile newClassFile = new ClassFile(moduleBinding, options);
+	if (this.size < MAX_SIZE) {
+		this.size++;
+		newClassFile.isShared = true;
 	}
-	return new ClassFile(moduleBinding, options);
+	return newClassFile;
 }
+/**
+ * Make the given class file available for reuse, if it was acquired from this pool and not released yet.
+ * Its bytes must not be read afterwards.
+ */
 public synchronized void release(ClassFile classFile) {
+	if (!classFile.isShared)
+		return; // not pooled, or already released
 	classFile.isShared = false;
+	if (this.freeCount >= this.size)
+		return; // acquired before the pool was reset
+	if (this.freeCount == this.classFiles.length)
+		System.arraycopy(this.classFiles, 0, this.classFiles = new ClassFile[Math.min(this.freeCount * 2, MAX_SIZE)], 0, this.freeCount);
+	this.classFiles[this.freeCount++] = classFile;
 }
-public void reset() {
+public synchronized void reset() {
 	Arrays.fill(this.classFiles, null);
+	this.freeCount = 0;
+	this.size = 0;
 }
 }
@@ -34,6 +34,12 @@ import java.util.ArrayList;
  * It does <em>not</em> include finer grained dependencies such as information about
  * specific fields and methods which were referenced, but does contain their
  * declaring types and any other types used to locate such fields or methods.
+ *
+ * Problems may be recorded by a thread parsing method bodies ahead of processing
+ * (see CompilerOptions#parsingThreads) while the processing thread reports against
+ * the same unit, e.g. when resolving its method signatures on demand. Recording and
+ * reading the problems is hence synchronized. Everything else is only accessed once
+ * the parse of the unit is over, see ParseTaskManager.
  */
 import java.util.Arrays;
 import java.util.Comparator;
@@ -141,7 +147,7 @@ private int computePriority(CategorizedProblem problem){
 	return priority;
 }
 
-public CategorizedProblem[] getAllProblems() {
+public synchronized CategorizedProblem[] getAllProblems() {
 	CategorizedProblem[] onlyProblems = getProblems();
 	int onlyProblemCount = onlyProblems != null ? onlyProblems.length : 0;
 	CategorizedProblem[] onlyTasks = getTasks();
@@ -208,7 +214,7 @@ public ICompilationUnit getCompilationUnit(){
 /**
  * Answer the errors encountered during compilation.
  */
-public CategorizedProblem[] getErrors() {
+public synchronized CategorizedProblem[] getErrors() {
 	CategorizedProblem[] reportedProblems = getProblems();
 	int errorCount = 0;
 	for (int i = 0; i < this.problemCount; i++) {
@@ -243,7 +249,7 @@ public int[] getLineSeparatorPositions() {
  * and makes sure the problems slot as the exact size of the number of
  * problems.
  */
-public CategorizedProblem[] getProblems() {
+public synchronized CategorizedProblem[] getProblems() {
 	// Re-adjust the size of the problems if necessary.
 	if (this.problems != null) {
 		if (this.problemCount != this.problems.length) {
@@ -265,7 +271,7 @@ public CategorizedProblem[] getProblems() {
 /**
  * Same as getProblems() but don't answer problems that actually concern the enclosing package.
  */
-public CategorizedProblem[] getCUProblems() {
+public synchronized CategorizedProblem[] getCUProblems() {
 	// Re-adjust the size of the problems if necessary and filter package problems
 	if (this.problems != null) {
 		CategorizedProblem[] filteredProblems = new CategorizedProblem[this.problemCount];
@@ -306,7 +312,7 @@ public CategorizedProblem[] getCUProblems() {
  * and makes sure the problems slot as the exact size of the number of
  * problems.
  */
-public CategorizedProblem[] getTasks() {
+public synchronized CategorizedProblem[] getTasks() {
 	// Re-adjust the size of the tasks if necessary.
 	if (this.tasks != null) {
 
@@ -382,7 +388,7 @@ public void record(CategorizedProblem newProblem, ReferenceContext referenceCont
 	return;
 }
 
-public void record(CategorizedProblem newProblem, ReferenceContext referenceContext, boolean mandatoryError) {
+public synchronized void record(CategorizedProblem newProblem, ReferenceContext referenceContext, boolean mandatoryError) {
 	//new Exception("VERBOSE PROBLEM REPORTING").printStackTrace();
 	if(newProblem.getID() == IProblem.Task) {
 		recordTask(newProblem);
@@ -435,7 +441,7 @@ private void recordTask(CategorizedProblem newProblem) {
 	}
 	this.tasks[this.taskCount++] = newProblem;
 }
-public void removeProblem(CategorizedProblem problem) {
+public synchronized void removeProblem(CategorizedProblem problem) {
 	if (this.problemsMap != null) this.problemsMap.remove(problem);
 	if (this.firstErrors != null) this.firstErrors.remove(problem);
 	if (problem.isError()) {
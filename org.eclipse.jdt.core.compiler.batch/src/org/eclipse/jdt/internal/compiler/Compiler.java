@@ -23,6 +23,7 @@ import org.eclipse.jdt.internal.compiler.ast.*;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.lookup.*;
 import org.eclipse.jdt.internal.compiler.parser.*;
+import org.eclipse.jdt.internal.compiler.parser.Scanner;
 import org.eclipse.jdt.internal.compiler.problem.*;
 import org.eclipse.jdt.internal.compiler.util.*;
 
@@ -58,6 +59,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	public int annotationProcessorStartIndex = 0;
 	public ReferenceBinding[] referenceBindings;
 	public boolean useSingleThread = true; // by default the compiler will not use worker threads to read/process/write
+	private ParseTaskManager parseTaskManager; // only set while units are processed with CompilerOptions#parsingThreads
 
 	// number of initial units parsed at once (-1: none)
 
@@ -290,6 +292,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		this.lookupEnvironment = new LookupEnvironment(this, this.options, this.problemReporter, environment);
 		this.out = out == null ? new PrintWriter(System.out, true) : out;
 		this.stats = new CompilerStats();
+		this.lookupEnvironment.stats = this.stats;
 		initializeParser();
 	}
 
@@ -555,7 +558,10 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	protected void processCompiledUnits(int startingIndex, boolean lastRound) throws java.lang.Error {
 		CompilationUnitDeclaration unit = null;
 		ProcessTaskManager processingTask = null;
+		ParseTaskManager parsingTask = null;
 		try {
+			if (this.options.parsingThreads > 1 && this.parser.getClass() == Parser.class)
+				this.parseTaskManager = parsingTask = new ParseTaskManager(this, this.options.parsingThreads, startingIndex);
 			if (this.useSingleThread) {
 				// process all units (some more could be injected in the loop by the lookup environment)
 				for (int i = startingIndex; i < this.totalUnits; i++) {
@@ -623,6 +629,11 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 							}));
 				}
 			}
+			if (parsingTask != null) {
+				// no parse may overlap with annotation processing or the next round
+				parsingTask.shutdown();
+				parsingTask = this.parseTaskManager = null;
+			}
 			if (!lastRound) {
 				if (this.annotationProcessorManager != null && this.totalUnits > this.annotationProcessorStartIndex) {
 					int backup = this.annotationProcessorStartIndex;
@@ -645,6 +656,10 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				processingTask.shutdown();
 				processingTask = null;
 			}
+			if (parsingTask != null) {
+				parsingTask.shutdown();
+				this.parseTaskManager = null;
+			}
 			reset();
 			this.annotationProcessorStartIndex  = 0;
 			this.stats.endTime = System.currentTimeMillis();
@@ -804,6 +819,35 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		this.parser = new Parser(this.problemReporter, this.options.parseLiteralExpressionsAsConstants);
 	}
 
+	/**
+	 * Answer a new parser equivalent to {@link #parser}, for use by a worker thread parsing method bodies
+	 * concurrently with the processing of other units. It reports into its own problem reporter since
+	 * problem reporters are not thread safe.
+	 * <p>
+	 * Reference expressions keep the scanner they were parsed with and reparse with it when they get
+	 * copied during resolution, which happens on the processing thread while the worker keeps scanning
+	 * other units. The worker parser thus hands them a scanner of their own, in the same mode.
+	 */
+	protected Parser newWorkerParser() {
+		ProblemReporter reporter = new ProblemReporter(this.problemReporter.policy, this.options, this.problemReporter.problemFactory);
+		return new Parser(reporter, this.options.parseLiteralExpressionsAsConstants) {
+			// only ever used by the processing thread, when copying reference expressions
+			private Scanner copyScanner;
+
+			@Override
+			public ReferenceExpression newReferenceExpression() {
+				Scanner current = this.scanner;
+				if (current instanceof RecoveryScanner)
+					return new ReferenceExpression(new RecoveryScanner(current, ((RecoveryScanner) current).getData()));
+				if (this.copyScanner == null)
+					this.copyScanner = new Scanner(false, false, current.checkNonExternalizedStringLiterals,
+							current.sourceLevel, current.complianceLevel, current.taskTags, current.taskPriorities,
+							current.isTaskCaseSensitive, current.previewEnabled);
+				return new ReferenceExpression(this.copyScanner);
+			}
+		};
+	}
+
 	private  void abortIfPreviewNotAllowed(ICompilationUnit[] sourceUnits, int maxUnits) {
 		if (!this.options.enablePreviewFeatures)
 			return;
@@ -844,17 +888,24 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 					// diet parsing for large collection of units
 					CompilationUnitDeclaration parsedUnit;
 					unitResult = new CompilationResult(sourceUnits[i], i, maxUnits, this.options.maxProblemsPerUnit);
+					CompilerStats.UnitStats unitStats = this.stats.getUnitStats(sourceUnits[i].getFileName());
 					long parseStart = System.currentTimeMillis();
+					long parseStartNanos = unitStats == null ? 0 : System.nanoTime();
 					if (this.totalUnits < this.parseThreshold) {
 						parsedUnit = this.parser.parse(sourceUnits[i], unitResult);
 					} else {
 						parsedUnit = this.parser.dietParse(sourceUnits[i], unitResult);
 					}
 					long resolveStart = System.currentTimeMillis();
+					long resolveStartNanos = unitStats == null ? 0 : System.nanoTime();
 					this.stats.parseTime += resolveStart - parseStart;
 					// initial type binding creation
 					this.lookupEnvironment.buildTypeBindings(parsedUnit, null /*no access restriction*/);
 					this.stats.resolveTime += System.currentTimeMillis() - resolveStart;
+					if (unitStats != null) {
+						unitStats.parseTime += resolveStartNanos - parseStartNanos;
+						unitStats.resolveTime += System.nanoTime() - resolveStartNanos;
+					}
 					addCompilationUnit(sourceUnits[i], parsedUnit);
 					ImportReference currentPackage = parsedUnit.currentPackage;
 					if (currentPackage != null) {
@@ -886,11 +937,17 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	 */
 	public void process(CompilationUnitDeclaration unit, int i) {
 		this.lookupEnvironment.unitBeingCompleted = unit;
+		Object event = CompilerEvents.beginUnit();
+		CompilerStats.UnitStats unitStats = this.stats.getUnitStats(unit.getFileName());
 		long parseStart = System.currentTimeMillis();
+		long parseStartNanos = unitStats == null ? 0 : System.nanoTime();
 
+		if (this.parseTaskManager != null)
+			this.parseTaskManager.getMethodBodies(unit, i); // waits for the unit parsed ahead by a worker thread
 		this.parser.getMethodBodies(unit);
 
 		long resolveStart = System.currentTimeMillis();
+		long resolveStartNanos = unitStats == null ? 0 : System.nanoTime();
 		this.stats.parseTime += resolveStart - parseStart;
 
 		// fault in fields & methods
@@ -905,12 +962,14 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		unit.resolve();
 
 		long analyzeStart = System.currentTimeMillis();
+		long analyzeStartNanos = unitStats == null ? 0 : System.nanoTime();
 		this.stats.resolveTime += analyzeStart - resolveStart;
 
 		//No need of analysis or generation of code if statements are not required
 		if (!this.options.ignoreMethodBodies) unit.analyseCode(); // flow analysis
 
 		long generateStart = System.currentTimeMillis();
+		long generateStartNanos = unitStats == null ? 0 : System.nanoTime();
 		this.stats.analyzeTime += generateStart - analyzeStart;
 
 		if (!this.options.ignoreMethodBodies) unit.generateCode(); // code generation
@@ -923,6 +982,25 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		unit.finalizeProblems();
 
 		this.stats.generateTime += System.currentTimeMillis() - generateStart;
+		int classFileCount = 0;
+		long classFileBytes = 0;
+		for (ClassFile classFile : unit.compilationResult.getClassFiles()) {
+			classFileCount++;
+			classFileBytes += classFile.headerOffset + classFile.contentsOffset;
+		}
+		this.stats.classFileCount += classFileCount;
+		this.stats.classFileBytes += classFileBytes;
+		if (unitStats != null) {
+			unitStats.parseTime += resolveStartNanos - parseStartNanos;
+			unitStats.resolveTime += analyzeStartNanos - resolveStartNanos;
+			unitStats.analyzeTime += generateStartNanos - analyzeStartNanos;
+			unitStats.generateTime += System.nanoTime() - generateStartNanos;
+			int[] lineEnds = unit.compilationResult.lineSeparatorPositions; // null if the unit was not scanned through
+			unitStats.lineCount = lineEnds == null ? 0 : lineEnds.length;
+			unitStats.classFileCount += classFileCount;
+			unitStats.classFileBytes += classFileBytes;
+		}
+		CompilerEvents.endUnit(event, unit, classFileCount, classFileBytes);
 
 		// refresh the total number of units known at this stage
 		unit.compilationResult.totalUnitsKnown = this.totalUnits;
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.compiler;
+
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
+import org.eclipse.jdt.internal.compiler.lookup.Scope;
+
+/**
+ * Emits the JDK Flight Recorder events of the compiler: processing of a unit, parsing, type lookups,
+ * type inference and class file generation, all in the category "Eclipse Compiler".
+ * <p>
+ * Each <code>begin...</code> method answers an event in progress, or null when the event is not
+ * recorded, which the matching <code>end...</code> method expects back. The attributes of an event are
+ * only computed when it is committed, and nothing is retained when it is not recorded, so that the
+ * events can stay enabled in production. This class does not refer to the Flight Recorder API itself:
+ * the compiler still runs without it.
+ * </p>
+ */
+public final class CompilerEvents {
+
+	/** Whether the Flight Recorder API is available in this runtime */
+	public static final boolean AVAILABLE = isAvailable();
+
+	/** Kinds of parse events */
+	public static final String PARSE_DIET = "diet"; //$NON-NLS-1$
+	public static final String PARSE_FULL = "full"; //$NON-NLS-1$
+	public static final String PARSE_METHOD_BODIES = "method bodies"; //$NON-NLS-1$
+
+	private CompilerEvents() {
+		// no instance
+	}
+
+	private static boolean isAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, CompilerEvents.class.getClassLoader()); //$NON-NLS-1$
+			return JfrCompilerEvents.initialize();
+		} catch (ClassNotFoundException | LinkageError | SecurityException e) {
+			return false; // e.g. a runtime image without the jdk.jfr module
+		}
+	}
+
+public static Object beginUnit() {
+	return AVAILABLE ? JfrCompilerEvents.beginUnit() : null;
+}
+
+public static void endUnit(Object event, CompilationUnitDeclaration unit, int classFileCount, long classFileBytes) {
+	if (event != null)
+		JfrCompilerEvents.endUnit(event, unit, classFileCount, classFileBytes);
+}
+
+public static Object beginParse() {
+	return AVAILABLE ? JfrCompilerEvents.beginParse() : null;
+}
+
+/**
+ * @param kind one of {@link #PARSE_DIET}, {@link #PARSE_FULL} or {@link #PARSE_METHOD_BODIES}
+ */
+public static void endParse(Object event, CompilationUnitDeclaration unit, String kind) {
+	if (event != null)
+		JfrCompilerEvents.endParse(event, unit, kind);
+}
+
+public static Object beginTypeLookup() {
+	return AVAILABLE ? JfrCompilerEvents.beginTypeLookup() : null;
+}
+
+/**
+ * The name of the type looked up is the given compound name, followed by the given simple name if not null.
+ */
+public static void endTypeLookup(Object event, char[][] compoundName, char[] simpleName, Object result, CompilationUnitDeclaration unitBeingCompleted) {
+	if (event != null)
+		JfrCompilerEvents.endTypeLookup(event, compoundName, simpleName, result != null, unitBeingCompleted);
+}
+
+public static Object beginInference() {
+	return AVAILABLE ? JfrCompilerEvents.beginInference() : null;
+}
+
+/**
+ * @param scope the scope of the inference, or null
+ */
+public static void endInference(Object event, Scope scope, int variableCount, Object solution) {
+	if (event != null)
+		JfrCompilerEvents.endInference(event, scope, variableCount, solution != null);
+}
+
+public static Object beginClassFile() {
+	return AVAILABLE ? JfrCompilerEvents.beginClassFile() : null;
+}
+
+/**
+ * @param classFile the generated class file, or null if the type could not be generated
+ */
+public static void endClassFile(Object event, TypeDeclaration type, ClassFile classFile) {
+	if (event != null)
+		JfrCompilerEvents.endClassFile(event, type, classFile);
+}
+}
@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.compiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
+import org.eclipse.jdt.internal.compiler.lookup.Scope;
+
+/**
+ * The Flight Recorder events behind {@link CompilerEvents}, only loaded when the Flight Recorder API is available.
+ */
+@SuppressWarnings("nls")
+class JfrCompilerEvents {
+
+	static final String CATEGORY = "Eclipse Compiler";
+
+	@Name("org.eclipse.jdt.compiler.CompileUnit")
+	@Label("Compile Unit")
+	@Description("Completion, resolution, analysis and code generation of a compilation unit")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class UnitEvent extends Event {
+		@Label("Unit")
+		String unit;
+		@Label("Source Length")
+		@Description("Number of characters of the unit")
+		int sourceLength;
+		@Label("Line Count")
+		int lineCount;
+		@Label("Class File Count")
+		int classFileCount;
+		@Label("Class File Bytes")
+		@DataAmount
+		long classFileBytes;
+	}
+
+	@Name("org.eclipse.jdt.compiler.Parse")
+	@Label("Parse")
+	@Description("Parsing of a compilation unit, or of the method bodies of a diet parsed unit")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class ParseEvent extends Event {
+		@Label("Unit")
+		String unit;
+		@Label("Kind")
+		String kind;
+		@Label("Source Length")
+		@Description("Number of characters of the unit")
+		int sourceLength;
+		@Label("Type Count")
+		@Description("Number of top level types of the unit")
+		int typeCount;
+	}
+
+	@Threshold("1 ms") // frequent, only the slow ones by default
+	@Name("org.eclipse.jdt.compiler.TypeLookup")
+	@Label("Type Lookup")
+	@Description("Lookup of a type in the name environment, including the creation of its binding")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class TypeLookupEvent extends Event {
+		@Label("Type Name")
+		String typeName;
+		@Label("Found")
+		boolean found;
+		@Label("Unit")
+		@Description("Unit being completed when the type was looked up, if any")
+		String unit;
+	}
+
+	@Threshold("1 ms") // frequent, only the slow ones by default
+	@Name("org.eclipse.jdt.compiler.Inference")
+	@Label("Type Inference")
+	@Description("Resolution of an inference context")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class InferenceEvent extends Event {
+		@Label("Unit")
+		String unit;
+		@Label("Inference Variable Count")
+		int variableCount;
+		@Label("Solved")
+		boolean solved;
+	}
+
+	@Name("org.eclipse.jdt.compiler.ClassFile")
+	@Label("Class File Generation")
+	@Description("Code generation of a type, including its member types")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class ClassFileEvent extends Event {
+		@Label("Unit")
+		String unit;
+		@Label("Type Name")
+		String typeName;
+		@Label("Method Count")
+		int methodCount;
+		@Label("Class File Bytes")
+		@DataAmount
+		int classFileBytes;
+	}
+
+static boolean initialize() {
+	return true; // linked against the Flight Recorder API by then
+}
+
+private static String unitName(CompilationUnitDeclaration unit) {
+	if (unit == null)
+		return null;
+	char[] fileName = unit.getFileName();
+	return fileName == null ? null : new String(fileName);
+}
+
+static Object beginUnit() {
+	UnitEvent event = new UnitEvent();
+	if (!event.isEnabled())
+		return null; // not recording, the event does not escape
+	event.begin();
+	return event;
+}
+
+static void endUnit(Object object, CompilationUnitDeclaration unit, int classFileCount, long classFileBytes) {
+	UnitEvent event = (UnitEvent) object;
+	event.end();
+	if (event.shouldCommit()) {
+		event.unit = unitName(unit);
+		event.sourceLength = unit.sourceEnd + 1;
+		int[] lineEnds = unit.compilationResult.lineSeparatorPositions;
+		event.lineCount = lineEnds == null ? 0 : lineEnds.length + 1;
+		event.classFileCount = classFileCount;
+		event.classFileBytes = classFileBytes;
+		event.commit();
+	}
+}
+
+static Object beginParse() {
+	ParseEvent event = new ParseEvent();
+	if (!event.isEnabled())
+		return null; // not recording, the event does not escape
+	event.begin();
+	return event;
+}
+
+static void endParse(Object object, CompilationUnitDeclaration unit, String kind) {
+	ParseEvent event = (ParseEvent) object;
+	event.end();
+	if (event.shouldCommit()) {
+		event.unit = unitName(unit);
+		event.kind = kind;
+		if (unit != null) {
+			event.sourceLength = unit.sourceEnd + 1;
+			event.typeCount = unit.types == null ? 0 : unit.types.length;
+		}
+		event.commit();
+	}
+}
+
+static Object beginTypeLookup() {
+	TypeLookupEvent event = new TypeLookupEvent();
+	if (!event.isEnabled())
+		return null; // not recording, the event does not escape
+	event.begin();
+	return event;
+}
+
+static void endTypeLookup(Object object, char[][] compoundName, char[] simpleName, boolean found, CompilationUnitDeclaration unitBeingCompleted) {
+	TypeLookupEvent event = (TypeLookupEvent) object;
+	event.end();
+	if (event.shouldCommit()) {
+		char[] typeName = CharOperation.concatWith(compoundName, '.');
+		if (simpleName != null)
+			typeName = typeName.length == 0 ? simpleName : CharOperation.concat(typeName, simpleName, '.');
+		event.typeName = new String(typeName);
+		event.found = found;
+		event.unit = unitName(unitBeingCompleted);
+		event.commit();
+	}
+}
+
+static Object beginInference() {
+	InferenceEvent event = new InferenceEvent();
+	if (!event.isEnabled())
+		return null; // not recording, the event does not escape
+	event.begin();
+	return event;
+}
+
+static void endInference(Object object, Scope scope, int variableCount, boolean solved) {
+	InferenceEvent event = (InferenceEvent) object;
+	event.end();
+	if (event.shouldCommit()) {
+		event.unit = scope == null ? null : unitName(scope.referenceCompilationUnit());
+		event.variableCount = variableCount;
+		event.solved = solved;
+		event.commit();
+	}
+}
+
+static Object beginClassFile() {
+	ClassFileEvent event = new ClassFileEvent();
+	if (!event.isEnabled())
+		return null; // not recording, the event does not escape
+	event.begin();
+	return event;
+}
+
+static void endClassFile(Object object, TypeDeclaration type, ClassFile classFile) {
+	ClassFileEvent event = (ClassFileEvent) object;
+	event.end();
+	if (event.shouldCommit()) {
+		event.unit = type.scope == null ? null : unitName(type.scope.referenceCompilationUnit());
+		event.typeName = type.binding == null ? new String(type.name) : new String(type.binding.readableName());
+		if (classFile != null) {
+			event.methodCount = classFile.methodCount;
+			event.classFileBytes = classFile.headerOffset + classFile.contentsOffset;
+		}
+		event.commit();
+	}
+}
+}
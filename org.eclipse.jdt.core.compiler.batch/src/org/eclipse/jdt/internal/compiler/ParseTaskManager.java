@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.compiler;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.ast.ASTNode;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+
+/**
+ * Parses the method bodies of the compilation units waiting to be processed on a pool of
+ * worker threads, ahead of the thread running {@link Compiler#process(CompilationUnitDeclaration, int)}.
+ * <p>
+ * Parsing a method body only touches the AST and the compilation result of its own unit, so
+ * it can safely run concurrently. Everything which completes bindings (resolution, flow
+ * analysis and code generation) stays on the single processing thread, in unit order.
+ * </p><p>
+ * A worker finishes parsing a unit before the unit is handed to the processing thread:
+ * {@link #getMethodBodies(CompilationUnitDeclaration, int)} waits for the parse task of the unit,
+ * which also makes the statements, AST bits and compilation result flags set by the worker
+ * visible to the processing thread. Until then, the processing thread only reaches a unit being
+ * parsed through its bindings, which were built from the diet parse and which the worker does
+ * not touch, and through its compilation result when reporting problems against it, which is
+ * synchronized.
+ * </p>
+ */
+public class ParseTaskManager {
+
+	Compiler compiler;
+	private ExecutorService executor;
+	private ThreadLocal<Parser> parsers;
+	private int lookahead;
+	private int nextIndex;
+	// only accessed by the processing thread
+	private Map<CompilationUnitDeclaration, Future<?>> pendingUnits;
+
+	static final int LOOKAHEAD_PER_THREAD = 4;
+
+public ParseTaskManager(Compiler compiler, int threadCount, int startingIndex) {
+	this.compiler = compiler;
+	this.nextIndex = startingIndex;
+	this.lookahead = threadCount * LOOKAHEAD_PER_THREAD;
+	this.pendingUnits = new IdentityHashMap<>();
+	this.parsers = ThreadLocal.withInitial(compiler::newWorkerParser);
+	this.executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+		Thread thread = new Thread(runnable, "Compiler Parsing Task"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+}
+
+/**
+ * Ensure the method bodies of the given unit have been parsed, after scheduling the parse of
+ * the units following it. Any problem raised while parsing the unit is rethrown to the caller.
+ */
+public void getMethodBodies(CompilationUnitDeclaration unit, int index) throws Error {
+	schedule(index + 1, index + 1 + this.lookahead);
+	Future<?> parsing = this.pendingUnits.remove(unit);
+	if (parsing == null)
+		return; // not scheduled, the processing thread will parse it itself
+	boolean interrupted = false;
+	try {
+		while (true) {
+			try {
+				parsing.get();
+				return;
+			} catch (InterruptedException e) {
+				interrupted = true; // cannot proceed until the parse is done, retry
+			} catch (ExecutionException e) {
+				// rethrow the caught exception from the parsing thread in the processing thread
+				Throwable caughtException = e.getCause();
+				if (caughtException instanceof Error)
+					throw (Error) caughtException;
+				throw (RuntimeException) caughtException;
+			}
+		}
+	} finally {
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+}
+
+private void schedule(int start, int end) {
+	if (this.nextIndex < start)
+		this.nextIndex = start;
+	synchronized (this.compiler) { // units can be added while others are processed
+		if (end > this.compiler.totalUnits)
+			end = this.compiler.totalUnits;
+		for (; this.nextIndex < end; this.nextIndex++) {
+			CompilationUnitDeclaration unit = this.compiler.unitsToProcess[this.nextIndex];
+			if (unit == null || unit.compilationResult.hasBeenAccepted || (unit.bits & ASTNode.HasAllMethodBodies) != 0)
+				continue;
+			this.pendingUnits.put(unit, this.executor.submit(() -> this.parsers.get().getMethodBodies(unit)));
+		}
+	}
+}
+
+public void shutdown() {
+	this.pendingUnits.clear();
+	this.executor.shutdownNow();
+	// do not let a parse in progress overlap with whoever uses the units next (e.g. annotation processing)
+	boolean interrupted = false;
+	while (true) {
+		try {
+			if (this.executor.awaitTermination(250, TimeUnit.MILLISECONDS))
+				break;
+		} catch (InterruptedException e) {
+			interrupted = true;
+		}
+	}
+	if (interrupted)
+		Thread.currentThread().interrupt();
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 IBM Corporation and others.
+ * Copyright (c) 2008, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,123 +14,154 @@
 
 package org.eclipse.jdt.internal.compiler;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.util.Messages;
 
+/**
+ * Processes compilation units on a dedicated thread and hands them over to the thread accepting
+ * the compilation results (typically writing class files) through a bounded queue.
+ * <p>
+ * The queue is a lock-free ring buffer with exactly one producer (the processing thread) and one
+ * consumer (the thread which created this manager and calls {@link #removeNextUnit()}): each side
+ * only ever writes its own position, and a thread only parks when it cannot make progress.
+ * </p><p>
+ * Backpressure: when the queue is full, the processing thread parks until the accepting thread has
+ * freed at least {@link #resumeThreshold} slots (or emptied the queue), so that a slow writer does
+ * not wake it up for every single unit. The accepting thread is woken up as soon as one unit is
+ * available. The time each side spends stalled is recorded in {@link Compiler#stats}.
+ * </p>
+ */
 public class ProcessTaskManager implements Runnable {
 
 	Compiler compiler;
 	private int unitIndex;
-	private Thread processingThread;
+	private volatile Thread processingThread;
+	private final Thread acceptingThread;
 	CompilationUnitDeclaration unitToProcess;
-	private Throwable caughtException;
+	private volatile Throwable caughtException;
 
 	// queue
-	volatile int currentIndex, availableIndex, size, sleepCount;
-	CompilationUnitDeclaration[] units;
+	private final CompilationUnitDeclaration[] units;
+	private final int size;
+	private final int resumeThreshold;
+	private volatile long head; // next position to remove, only written by the accepting thread
+	private volatile long tail; // next position to add, only written by the processing thread
+	private volatile boolean processingThreadParked;
+	private volatile boolean acceptingThreadParked;
+
+	// stall statistics, each only written by its own thread
+	private volatile long processingStallNanos;
+	private volatile long acceptingStallNanos;
 
 	public static final int PROCESSED_QUEUE_SIZE = 100;
+	/** System property overriding {@link #PROCESSED_QUEUE_SIZE} */
+	public static final String PROCESSED_QUEUE_SIZE_PROPERTY = "jdt.compiler.processedQueueSize"; //$NON-NLS-1$
+	// bounded waits, as a safety net only: all waits are ended by an explicit unpark
+	private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
 
 public ProcessTaskManager(Compiler compiler, int startingIndex) {
+	this(compiler, startingIndex, Integer.getInteger(PROCESSED_QUEUE_SIZE_PROPERTY, PROCESSED_QUEUE_SIZE).intValue());
+}
+
+public ProcessTaskManager(Compiler compiler, int startingIndex, int queueSize) {
 	this.compiler = compiler;
 	this.unitIndex = startingIndex;
 
-	this.currentIndex = 0;
-	this.availableIndex = 0;
-	this.size = PROCESSED_QUEUE_SIZE;
-	this.sleepCount = 0; // 0 is no one, +1 is the processing thread & -1 is the writing/main thread
+	this.size = queueSize < 1 ? 1 : queueSize;
+	this.resumeThreshold = Math.max(1, this.size / 4);
 	this.units = new CompilationUnitDeclaration[this.size];
+	this.acceptingThread = Thread.currentThread();
 
-	synchronized (this) {
-		this.processingThread = new Thread(this, "Compiler Processing Task"); //$NON-NLS-1$
-		this.processingThread.setDaemon(true);
-		this.processingThread.start();
-	}
+	Thread thread = new Thread(this, "Compiler Processing Task"); //$NON-NLS-1$
+	thread.setDaemon(true);
+	this.processingThread = thread;
+	thread.start();
 }
 
-// add unit to the queue - wait if no space is available
-private synchronized void addNextUnit(CompilationUnitDeclaration newElement) {
-	while (this.units[this.availableIndex] != null) {
-		//System.out.print('a');
-		//if (this.sleepCount < 0) throw new IllegalStateException(Integer.valueOf(this.sleepCount).toString());
-		this.sleepCount = 1;
-		try {
-			wait(250);
-		} catch (InterruptedException ignore) {
-			// ignore
-		}
-		this.sleepCount = 0;
+// add unit to the queue - park if no space is available, until enough space is available
+private void addNextUnit(CompilationUnitDeclaration newElement) {
+	long position = this.tail;
+	if (position - this.head >= this.size) {
+		long stallStart = System.nanoTime();
+		do {
+			this.processingThreadParked = true;
+			// re-check once parked is visible, the accepting thread may have freed enough slots in between
+			if (!canResume(position) && this.processingThread != null)
+				LockSupport.parkNanos(this, PARK_NANOS);
+			this.processingThreadParked = false;
+			if (this.processingThread == null)
+				return; // shutting down
+		} while (!canResume(position)); // also after a timeout or a spurious wake up
+		this.processingStallNanos += System.nanoTime() - stallStart;
 	}
 
-	this.units[this.availableIndex++] = newElement;
-	if (this.availableIndex >= this.size)
-		this.availableIndex = 0;
-	if (this.sleepCount <= -1)
-		notify(); // wake up writing thread to accept next unit - could be the last one - must avoid deadlock
+	this.units[(int) (position % this.size)] = newElement;
+	this.tail = position + 1; // publish the unit
+	if (this.acceptingThreadParked)
+		LockSupport.unpark(this.acceptingThread); // wake up accepting thread - could be the last unit - must avoid deadlock
 }
 
 public CompilationUnitDeclaration removeNextUnit() throws Error {
-	CompilationUnitDeclaration next = null;
-	boolean yield = false;
-	synchronized (this) {
-		next = this.units[this.currentIndex];
-		if (next == null || this.caughtException != null) {
-			do {
+	long position = this.head;
+	if (position == this.tail || this.caughtException != null) {
+		long stallStart = System.nanoTime();
+		try {
+			while (true) {
 				if (this.processingThread == null) {
-					if (this.caughtException != null) {
+					Throwable exception = this.caughtException;
+					if (exception != null) {
 						// rethrow the caught exception from the processingThread in the main compiler thread
-						if (this.caughtException instanceof Error)
-							throw (Error) this.caughtException;
-						throw (RuntimeException) this.caughtException;
+						if (exception instanceof Error)
+							throw (Error) exception;
+						throw (RuntimeException) exception;
 					}
-					return null;
-				}
-				//System.out.print('r');
-				//if (this.sleepCount > 0) throw new IllegalStateException(Integer.valueOf(this.sleepCount).toString());
-				this.sleepCount = -1;
-				try {
-					wait(100);
-				} catch (InterruptedException ignore) {
-					// ignore
+					if (position == this.tail)
+						return null;
+					break;
 				}
-				this.sleepCount = 0;
-				next = this.units[this.currentIndex];
-			} while (next == null);
-		}
-
-		this.units[this.currentIndex++] = null;
-		if (this.currentIndex >= this.size)
-			this.currentIndex = 0;
-		if (this.sleepCount >= 1 && ++this.sleepCount > 4) {
-			notify(); // wake up processing thread to add next unit but only after removing some elements first
-			yield = this.sleepCount > 8;
+				if (position != this.tail)
+					break;
+				this.acceptingThreadParked = true;
+				// re-check once parked is visible, the processing thread may have added a unit or stopped in between
+				if (position == this.tail && this.processingThread != null)
+					LockSupport.parkNanos(this, PARK_NANOS);
+				this.acceptingThreadParked = false;
+			}
+		} finally {
+			this.acceptingStallNanos += System.nanoTime() - stallStart;
 		}
 	}
-	if (yield)
-		Thread.yield();
+
+	int index = (int) (position % this.size);
+	CompilationUnitDeclaration next = this.units[index];
+	this.units[index] = null;
+	this.head = position + 1; // free the slot
+	if (this.processingThreadParked && canResume(this.tail))
+		LockSupport.unpark(this.processingThread); // wake up processing thread but only once a few slots are free
 	return next;
 }
 
+// whether the processing thread, blocked on adding the unit at the given position, may go on
+private boolean canResume(long position) {
+	long free = this.size - (position - this.head);
+	return free >= this.resumeThreshold || free == this.size;
+}
+
 @Override
 public void run() {
 	boolean noAnnotations = this.compiler.annotationProcessorManager == null;
-	while (this.processingThread != null) {
-		this.unitToProcess = null;
-		int index = -1;
-		boolean cleanup = noAnnotations || this.compiler.shouldCleanup(this.unitIndex);
-		try {
-			synchronized (this) {
-				if (this.processingThread == null) return;
-
-				this.unitToProcess = this.compiler.getUnitToProcess(this.unitIndex);
-				if (this.unitToProcess == null) {
-					this.processingThread = null;
-					return;
-				}
-				index = this.unitIndex++;
-				if (this.unitToProcess.compilationResult.hasBeenAccepted)
-					continue;
-			}
+	try {
+		while (this.processingThread != null) {
+			boolean cleanup = noAnnotations || this.compiler.shouldCleanup(this.unitIndex);
+			this.unitToProcess = this.compiler.getUnitToProcess(this.unitIndex);
+			if (this.unitToProcess == null)
+				break;
+			int index = this.unitIndex++;
+			if (this.unitToProcess.compilationResult.hasBeenAccepted)
+				continue;
 
 			try {
 				this.compiler.reportProgress(Messages.bind(Messages.compilation_processing, new String(this.unitToProcess.getFileName())));
@@ -150,30 +181,27 @@ public void run() {
 			}
 
 			addNextUnit(this.unitToProcess);
-		} catch (Error | RuntimeException e) {
-			synchronized (this) {
-				this.processingThread = null;
-				this.caughtException = e;
-			}
-			return;
 		}
+	} catch (Error | RuntimeException e) {
+		this.caughtException = e;
+	} finally {
+		this.processingThread = null;
+		LockSupport.unpark(this.acceptingThread); // the accepting thread must notice the end of processing
 	}
 }
 
 public void shutdown() {
 	try {
-		Thread t = null;
-		synchronized (this) {
-			if (this.processingThread != null) {
-				t = this.processingThread;
-				this.processingThread = null;
-				notifyAll();
-			}
-		}
-		if (t != null)
+		Thread t = this.processingThread;
+		if (t != null) {
+			this.processingThread = null;
+			LockSupport.unpark(t);
 			t.join(250); // do not wait forever
+		}
 	} catch (InterruptedException ignored) {
 		// ignore
 	}
+	this.compiler.stats.processStallTime += TimeUnit.NANOSECONDS.toMillis(this.processingStallNanos);
+	this.compiler.stats.acceptStallTime += TimeUnit.NANOSECONDS.toMillis(this.acceptingStallNanos);
 }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2013 IBM Corporation and others.
+ * Copyright (c) 2008, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,15 @@ package org.eclipse.jdt.internal.compiler;
 
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 
+/**
+ * Reads the contents of the source files on background threads, ahead of the parser asking for them.
+ * <p>
+ * The number of files read ahead adapts to the speed of the parser: it grows each time the parser has
+ * to wait for a file, and shrinks while the parser is slower than the reading threads, so that no more
+ * contents than useful are kept in memory. It never exceeds the cache size, which can be tuned with the
+ * {@link #READ_CACHE_SIZE_PROPERTY} system property.
+ * </p>
+ */
 public class ReadManager implements Runnable {
 	ICompilationUnit[] units;
 	int nextFileToRead;
@@ -26,19 +35,31 @@ public class ReadManager implements Runnable {
 	Thread[] readingThreads;
 	char[] readInProcessMarker = new char[0];
 	int sleepingThreadCount;
+	int cacheSize;
+	int cachedCount; // number of positions taken in the cache, whether read yet or not
+	int readAhead; // maximum number of positions the reading threads may currently take
 	private Throwable caughtException;
 
 	static final int START_CUSHION = 5;
 	public static final int THRESHOLD = 10;
 	static final int CACHE_SIZE = 15; // do not waste memory by keeping too many files in memory
+	/** System property overriding {@link #CACHE_SIZE} */
+	public static final String READ_CACHE_SIZE_PROPERTY = "jdt.compiler.readCacheSize"; //$NON-NLS-1$
+	static final int MIN_READ_AHEAD = 2;
+	static final int READ_AHEAD_INCREMENT = 2;
 
 public ReadManager(ICompilationUnit[] files, int length) {
+	this(files, length, Integer.getInteger(READ_CACHE_SIZE_PROPERTY, CACHE_SIZE).intValue());
+}
+
+public ReadManager(ICompilationUnit[] files, int length, int cacheSize) {
+	this.cacheSize = cacheSize < MIN_READ_AHEAD ? MIN_READ_AHEAD : cacheSize;
 	// start the background threads to read the file's contents
 	int threadCount = Runtime.getRuntime().availableProcessors() + 1;
 	if (threadCount < 2) {
 		threadCount = 0;
-	} else if (threadCount > CACHE_SIZE) {
-		threadCount = CACHE_SIZE;
+	} else if (threadCount > this.cacheSize) {
+		threadCount = this.cacheSize;
 	}
 
 	if (threadCount > 0) {
@@ -46,11 +67,13 @@ public ReadManager(ICompilationUnit[] files, int length) {
 			this.units = new ICompilationUnit[length];
 			System.arraycopy(files, 0, this.units, 0, length);
 			this.nextFileToRead = START_CUSHION; // skip some files to reduce the number of times we have to wait
-			this.filesRead = new ICompilationUnit[CACHE_SIZE];
-			this.contentsRead = new char[CACHE_SIZE][];
+			this.filesRead = new ICompilationUnit[this.cacheSize];
+			this.contentsRead = new char[this.cacheSize][];
 			this.readyToReadPosition = 0;
 			this.nextAvailablePosition = 0;
 			this.sleepingThreadCount = 0;
+			this.cachedCount = 0;
+			this.readAhead = Math.min(Math.max(threadCount, MIN_READ_AHEAD), this.cacheSize);
 			this.readingThreads = new Thread[threadCount];
 			for (int i = threadCount; --i >= 0;) {
 				this.readingThreads[i] = new Thread(this, "Compiler Source File Reader"); //$NON-NLS-1$
@@ -78,6 +101,16 @@ public char[] getContents(ICompilationUnit unit) throws Error {
 	synchronized (this) {
 		if (unit == this.filesRead[this.readyToReadPosition]) {
 			result = this.contentsRead[this.readyToReadPosition];
+			if (result == this.readInProcessMarker || result == null) {
+				// the reading threads are not far enough ahead
+				if (this.readAhead < this.cacheSize) {
+					this.readAhead = Math.min(this.readAhead + READ_AHEAD_INCREMENT, this.cacheSize);
+					notifyAll();
+				}
+			} else if (this.sleepingThreadCount > 0 && this.readAhead > MIN_READ_AHEAD && this.cachedCount >= this.readAhead) {
+				// the reading threads are waiting for the parser, keep fewer files in memory
+				this.readAhead--;
+			}
 			while (result == this.readInProcessMarker || result == null) {
 				// let the readingThread know we're waiting
 				//System.out.print('|');
@@ -97,9 +130,10 @@ public char[] getContents(ICompilationUnit unit) throws Error {
 			// free spot for next file
 			this.filesRead[this.readyToReadPosition] = null;
 			this.contentsRead[this.readyToReadPosition] = null;
+			this.cachedCount--;
 			if (++this.readyToReadPosition >= this.contentsRead.length)
 				this.readyToReadPosition = 0;
-			if (this.sleepingThreadCount > 0) {
+			if (this.sleepingThreadCount > 0 && this.cachedCount < this.readAhead) {
 				//System.out.print('+');
 				//System.out.print(this.nextFileToRead);
 				notify();
@@ -118,8 +152,9 @@ public char[] getContents(ICompilationUnit unit) throws Error {
 				this.nextFileToRead = unitIndex + START_CUSHION;
 				this.readyToReadPosition = 0;
 				this.nextAvailablePosition = 0;
-				this.filesRead = new ICompilationUnit[CACHE_SIZE];
-				this.contentsRead = new char[CACHE_SIZE][];
+				this.filesRead = new ICompilationUnit[this.cacheSize];
+				this.contentsRead = new char[this.cacheSize][];
+				this.cachedCount = 0;
 				notifyAll();
 			}
 		}
@@ -141,7 +176,7 @@ public void run() {
 			synchronized (this) {
 				if (this.readingThreads == null) return;
 
-				while (this.filesRead[this.nextAvailablePosition] != null) {
+				while (this.filesRead[this.nextAvailablePosition] != null || this.cachedCount >= this.readAhead) {
 					this.sleepingThreadCount++;
 					try {
 						wait(250); // wait until a spot in contents is available
@@ -158,6 +193,7 @@ public void run() {
 					this.nextAvailablePosition = 0;
 				this.filesRead[position] = unit;
 				this.contentsRead[position] = this.readInProcessMarker; // mark the spot so we know its being read
+				this.cachedCount++;
 			}
 			char[] result = unit.getContents();
 			synchronized (this) {
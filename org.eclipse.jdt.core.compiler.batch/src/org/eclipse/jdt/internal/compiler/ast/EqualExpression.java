@@ -224,7 +224,8 @@ public class EqualExpression extends BinaryExpression {
 			result = FlowInfo.conditional(result.copy(), result.copy());
 			// TODO (maxime) check, reintroduced copy
 		}
-	  checkNullComparison(currentScope, flowContext, result, result.initsWhenTrue(), result.initsWhenFalse());
+	  if (currentScope.compilerOptions().analyseNullStatus)
+		  checkNullComparison(currentScope, flowContext, result, result.initsWhenTrue(), result.initsWhenFalse());
 	  return result;
 	}
 
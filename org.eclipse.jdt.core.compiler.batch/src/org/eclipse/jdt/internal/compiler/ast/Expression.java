@@ -629,6 +629,8 @@ public boolean checkNPE(BlockScope scope, FlowContext flowContext, FlowInfo flow
 	if (local != null &&
 			(local.type.tagBits & TagBits.IsBaseType) == 0) {
 		// 2. priority: local with flow analysis (via the FlowContext)
+		if (!scope.compilerOptions().analyseNullStatus)
+			return true; // nobody would observe the outcome
 		if ((this.bits & ASTNode.IsNonNull) == 0) {
 			flowContext.recordUsingNullReference(scope, local, this,
 					FlowContext.MAY_NULL, flowInfo);
@@ -657,6 +659,7 @@ protected void checkNPEbyUnboxing(BlockScope scope, FlowContext flowContext, Flo
 	int status;
 	if ((this.implicitConversion & UNBOXING) != 0
 			&& (this.bits & ASTNode.IsNonNull) == 0
+			&& scope.compilerOptions().analyseNullStatus
 			&& (status = nullStatus(flowInfo, flowContext)) != FlowInfo.NON_NULL)
 	{
 		flowContext.recordUnboxing(scope, this, status, flowInfo);
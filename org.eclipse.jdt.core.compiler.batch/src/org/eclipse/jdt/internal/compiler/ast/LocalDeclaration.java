@@ -102,14 +102,17 @@ public FlowInfo analyseCode(BlockScope currentScope, FlowContext flowContext, Fl
 	else
 		FakedTrackingVariable.cleanUpAfterAssignment(currentScope, Binding.LOCAL, this.initialization);
 
-	int nullStatus = this.initialization.nullStatus(flowInfo, flowContext);
+	CompilerOptions compilerOptions = currentScope.compilerOptions();
+	int nullStatus = compilerOptions.analyseNullStatus ? this.initialization.nullStatus(flowInfo, flowContext) : FlowInfo.UNKNOWN;
 	if (!flowInfo.isDefinitelyAssigned(this.binding)){// for local variable debug attributes
 		this.bits |= FirstAssignmentToLocal;
 	} else {
 		this.bits &= ~FirstAssignmentToLocal;  // int i = (i = 0);
 	}
 	flowInfo.markAsDefinitelyAssigned(this.binding);
-	if (currentScope.compilerOptions().isAnnotationBasedNullAnalysisEnabled) {
+	if (!compilerOptions.analyseNullStatus)
+		return flowInfo;
+	if (compilerOptions.isAnnotationBasedNullAnalysisEnabled) {
 		nullStatus = NullAnnotationMatching.checkAssignment(currentScope, flowContext, this.binding, flowInfo, nullStatus, this.initialization, this.initialization.resolvedType);
 	}
 	if ((this.binding.type.tagBits & TagBits.IsBaseType) == 0) {
@@ -249,7 +249,8 @@ private void checkInternalNPE(BlockScope scope, FlowContext flowContext, FlowInf
 		LocalVariableBinding local = (LocalVariableBinding) this.binding;
 		if (local != null &&
 			(local.type.tagBits & TagBits.IsBaseType) == 0 &&
-			(checkString || local.type.id != TypeIds.T_JavaLangString)) {
+			(checkString || local.type.id != TypeIds.T_JavaLangString) &&
+			scope.compilerOptions().analyseNullStatus) {
 			if ((this.bits & ASTNode.IsNonNull) == 0) {
 				flowContext.recordUsingNullReference(scope, local, this,
 					FlowContext.MAY_NULL, flowInfo);
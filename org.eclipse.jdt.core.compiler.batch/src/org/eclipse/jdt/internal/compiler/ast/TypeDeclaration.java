@@ -722,9 +722,11 @@ public void generateCode(ClassFile enclosingClassFile) {
 			this.scope.referenceCompilationUnit().compilationResult);
 		return;
 	}
+	Object event = CompilerEvents.beginClassFile();
+	ClassFile classFile = null;
 	try {
 		// create the result for a compiled type
-		ClassFile classFile = ClassFile.getNewInstance(this.binding);
+		classFile = ClassFile.getNewInstance(this.binding);
 		classFile.initialize(this.binding, enclosingClassFile, false);
 		if (this.binding.isMemberType()) {
 			classFile.recordInnerClasses(this.binding);
@@ -776,11 +778,14 @@ public void generateCode(ClassFile enclosingClassFile) {
 			this.binding.constantPoolName(),
 			classFile);
 	} catch (AbortType e) {
+		classFile = null;
 		if (this.binding == null)
 			return;
 		ClassFile.createProblemType(
 			this,
 			this.scope.referenceCompilationUnit().compilationResult);
+	} finally {
+		CompilerEvents.endClassFile(event, this, classFile);
 	}
 }
 
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Writes the class files of a batch compilation into a jar, when the destination path names a jar
+ * rather than a directory: <code>-d out.jar</code>.
+ * <p>
+ * The class files are handed to a writer thread, which deflates them into a temporary file next to the
+ * jar while the compiler goes on, and the temporary file replaces the jar once closed. The entries follow
+ * the order in which the compiler produced the class files, preceded by the manifest and by the directory
+ * of their package, and all of them carry the same {@link #ENTRY_TIME}: compiling the same sources
+ * with the same command line produces the same jar.
+ * </p>
+ */
+final class ClassFileJarWriter implements Closeable {
+
+	/** Time of all the entries, the first day of the zip format that no time zone turns into 1979 */
+	static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 2, 1, 0, 0);
+	private static final int QUEUE_SIZE = 256;
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final byte[] MANIFEST = "Manifest-Version: 1.0\r\n\r\n".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+	private static final Object END = new Object();
+
+	private static final class Entry {
+		final String name;
+		final byte[] bytes; // null for a directory
+
+		Entry(String name, byte[] bytes) {
+			this.name = name;
+			this.bytes = bytes;
+		}
+	}
+
+	private final Path jar;
+	private final Path temporaryJar;
+	private final JarOutputStream output;
+	private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+	private final Set<String> names = new HashSet<>();
+	private final Thread writer;
+	private volatile IOException failure;
+	private boolean closed;
+
+/**
+ * Answer whether the given destination path names a jar.
+ */
+static boolean isJar(String destinationPath) {
+	return destinationPath.regionMatches(true, destinationPath.length() - 4, ".jar", 0, 4); //$NON-NLS-1$
+}
+
+ClassFileJarWriter(String jarPath) throws IOException {
+	this.jar = Paths.get(jarPath).toAbsolutePath();
+	Files.createDirectories(this.jar.getParent());
+	this.temporaryJar = this.jar.resolveSibling(this.jar.getFileName() + ".tmp"); //$NON-NLS-1$
+	this.output = new JarOutputStream(new BufferedOutputStream(Files.newOutputStream(this.temporaryJar), BUFFER_SIZE));
+	addEntry(new Entry("META-INF/", null)); //$NON-NLS-1$
+	addEntry(new Entry(JarFile.MANIFEST_NAME, MANIFEST));
+	this.writer = new Thread(this::writeEntries, "Compiler Jar Writer"); //$NON-NLS-1$
+	this.writer.setDaemon(true);
+	this.writer.start();
+}
+
+/**
+ * Queue the given class file bytes for the entry of the given name, using '/' as separator.
+ * The bytes must not be modified afterwards.
+ * @throws IOException if the jar already has that entry, or if writing the jar failed
+ */
+void write(String entryName, byte[] bytes) throws IOException {
+	IOException e = this.failure;
+	if (e != null)
+		throw e;
+	if (!this.names.add(entryName))
+		throw new ZipException("duplicate entry: " + entryName); //$NON-NLS-1$
+	for (int i = entryName.indexOf('/'); i != -1; i = entryName.indexOf('/', i + 1)) {
+		String directory = entryName.substring(0, i + 1);
+		if (this.names.add(directory))
+			put(new Entry(directory, null));
+	}
+	put(new Entry(entryName, bytes));
+}
+
+private void put(Object entry) throws IOException {
+	try {
+		this.queue.put(entry);
+	} catch (InterruptedException e) {
+		Thread.currentThread().interrupt();
+		throw new IOException(e);
+	}
+}
+
+private void writeEntries() {
+	try {
+		for (Object next = this.queue.take(); next != END; next = this.queue.take()) {
+			if (this.failure == null) {
+				try {
+					addEntry((Entry) next);
+				} catch (IOException e) {
+					this.failure = e; // keep draining, so that the compiler does not block
+				}
+			}
+		}
+	} catch (InterruptedException e) {
+		this.failure = new IOException(e);
+	}
+}
+
+private void addEntry(Entry entry) throws IOException {
+	ZipEntry zipEntry = new ZipEntry(entry.name);
+	zipEntry.setTimeLocal(ENTRY_TIME);
+	this.output.putNextEntry(zipEntry);
+	if (entry.bytes != null)
+		this.output.write(entry.bytes);
+	this.output.closeEntry();
+}
+
+/**
+ * Write the queued entries, then replace the jar with the written one if all went well.
+ * @throws IOException if writing the jar failed, in which case the jar is left unchanged
+ */
+@Override
+public void close() throws IOException {
+	if (this.closed)
+		return;
+	this.closed = true;
+	try {
+		put(END);
+		this.writer.join();
+	} catch (InterruptedException e) {
+		Thread.currentThread().interrupt();
+		this.failure = new IOException(e);
+	} catch (IOException e) {
+		this.failure = e;
+	}
+	try {
+		this.output.close();
+	} catch (IOException e) {
+		if (this.failure == null)
+			this.failure = e;
+	}
+	if (this.failure != null) {
+		Files.deleteIfExists(this.temporaryJar);
+		throw this.failure;
+	}
+	try {
+		Files.move(this.temporaryJar, this.jar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	} catch (AtomicMoveNotSupportedException e) {
+		Files.move(this.temporaryJar, this.jar, StandardCopyOption.REPLACE_EXISTING);
+	}
+}
+
+@Override
+public String toString() {
+	return this.jar.toString();
+}
+}
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.internal.compiler.util.ArchiveRegistry;
+
+/**
+ * Maps package names to the archives of a class path which contain them, so that the lookup of a type
+ * only queries the archives which can answer it.
+ * <p>
+ * The index of a class path is stored in the directory given by the {@link #DIRECTORY_PROPERTY} system
+ * property, in a file named after the <em>fingerprint</em> of the class path: the ordered list of its
+ * archives, along with their time stamps and sizes. It is computed by the first compilation using that
+ * class path and memory-mapped by the following ones, which then only scan the archives containing the
+ * packages they look up.
+ * </p><p>
+ * File format, big-endian: the magic number, the version, the number of archives and the number of
+ * packages as ints, then the offsets of the package records as ints, in the order of the package names.
+ * Each package record holds the UTF-8 bytes of the package name preceded by their length as a short,
+ * the number of archives containing the package as an int and the positions of these archives as ints.
+ * </p>
+ */
+public class ClasspathIndex {
+
+	/** System property giving the directory where class path indexes are stored, no index is used if not set */
+	public static final String DIRECTORY_PROPERTY = "jdt.compiler.classpathIndexDir"; //$NON-NLS-1$
+	static final int MAGIC = 0x45434A49; // ECJI
+	static final int VERSION = 1;
+	private static final int HEADER_SIZE = 16;
+	private static final int[] NO_ENTRIES = new int[0];
+
+	private final ByteBuffer buffer;
+	private final int entryCount;
+	private final int packageCount;
+
+private ClasspathIndex(ByteBuffer buffer) {
+	this.buffer = buffer;
+	if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+		throw new IllegalArgumentException("Not a class path index"); //$NON-NLS-1$
+	this.entryCount = buffer.getInt(8);
+	this.packageCount = buffer.getInt(12);
+}
+
+/**
+ * Answer the index of the given archives, in the given directory, building and storing it if needed.
+ * @return the index, read or built
+ */
+public static ClasspathIndex get(File directory, List<ArchiveRegistry.Archive> archives) {
+	String fingerprint = fingerprint(archives);
+	Path indexFile = new File(directory, fingerprint + ".idx").toPath(); //$NON-NLS-1$
+	if (Files.isRegularFile(indexFile)) {
+		try {
+			ClasspathIndex index = new ClasspathIndex(map(indexFile));
+			if (index.entryCount == archives.size())
+				return index;
+		} catch (IOException | RuntimeException e) {
+			// unreadable or corrupted, build it again
+		}
+	}
+	byte[] bytes = build(archives);
+	store(indexFile, bytes);
+	return new ClasspathIndex(ByteBuffer.wrap(bytes));
+}
+
+/**
+ * Map the given index file in memory.
+ */
+public static ByteBuffer map(Path file) throws IOException {
+	try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+		return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+	}
+}
+
+/**
+ * Write the given index into the given file, if possible: the in memory index still serves this compilation otherwise.
+ */
+public static void store(Path indexFile, byte[] bytes) {
+	try {
+		// written aside then moved in place, so that concurrent compilations never read a partial file
+		Files.createDirectories(indexFile.getParent());
+		Path temporaryFile = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp"); //$NON-NLS-1$
+		Files.write(temporaryFile, bytes);
+		try {
+			Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			Files.deleteIfExists(temporaryFile); // e.g. stored by a concurrent compilation, which is in use
+		}
+	} catch (IOException e) {
+		// not stored
+	}
+}
+
+static String fingerprint(List<ArchiveRegistry.Archive> archives) {
+	String[] identities = new String[archives.size()];
+	for (int i = 0; i < identities.length; i++)
+		identities[i] = archives.get(i).getIdentity();
+	return fingerprint(identities);
+}
+
+/**
+ * Answer the name of the index of the given identities, e.g. of files along with their time stamps and sizes.
+ */
+public static String fingerprint(String... identities) {
+	// two 64 bit hashes rather than a message digest, whose provider takes longer to set up than the index saves
+	long first = 0xCBF29CE484222325L; // FNV-1a
+	long second = 0x9E3779B97F4A7C15L;
+	for (String identity : identities) {
+		byte[] bytes = identity.getBytes(StandardCharsets.UTF_8);
+		for (int i = 0; i <= bytes.length; i++) {
+			int b = i < bytes.length ? bytes[i] & 0xFF : '\n';
+			first = (first ^ b) * 0x100000001B3L;
+			second = Long.rotateLeft(second ^ b, 23) * 0xBF58476D1CE4E5B9L;
+		}
+	}
+	second ^= second >>> 31;
+	StringBuilder result = new StringBuilder(32);
+	for (long hash : new long[] { first, second }) {
+		for (int shift = 60; shift >= 0; shift -= 4)
+			result.append(Character.forDigit((int) (hash >>> shift) & 0xF, 16));
+	}
+	return result.toString();
+}
+
+static byte[] build(List<ArchiveRegistry.Archive> archives) {
+	// ordered by the UTF-8 bytes of the names, as expected by the binary search
+	Map<byte[], List<Integer>> entriesByPackage = new TreeMap<>(Arrays::compareUnsigned);
+	for (int i = 0, length = archives.size(); i < length; i++) {
+		Set<String> packages = archives.get(i).getPackages();
+		for (String packageName : packages)
+			entriesByPackage.computeIfAbsent(packageName.getBytes(StandardCharsets.UTF_8), p -> new ArrayList<>()).add(Integer.valueOf(i));
+	}
+	try {
+		ByteArrayOutputStream records = new ByteArrayOutputStream();
+		DataOutputStream recordsOut = new DataOutputStream(records);
+		int[] offsets = new int[entriesByPackage.size()];
+		int recordsStart = HEADER_SIZE + 4 * offsets.length;
+		int count = 0;
+		for (Map.Entry<byte[], List<Integer>> entry : entriesByPackage.entrySet()) {
+			offsets[count++] = recordsStart + recordsOut.size();
+			recordsOut.writeShort(entry.getKey().length);
+			recordsOut.write(entry.getKey());
+			recordsOut.writeInt(entry.getValue().size());
+			for (Integer position : entry.getValue())
+				recordsOut.writeInt(position.intValue());
+		}
+		ByteArrayOutputStream result = new ByteArrayOutputStream(recordsStart + records.size());
+		DataOutputStream out = new DataOutputStream(result);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(archives.size());
+		out.writeInt(offsets.length);
+		for (int offset : offsets)
+			out.writeInt(offset);
+		records.writeTo(out);
+		out.flush();
+		return result.toByteArray();
+	} catch (IOException e) {
+		throw new IllegalStateException(e); // not on a byte array
+	}
+}
+
+/**
+ * Answer the positions, in the indexed list of archives, of the archives containing the given package
+ * (e.g. <code>"java/lang"</code>), or null if the index cannot tell.
+ */
+public int[] getEntries(String qualifiedPackageName) {
+	byte[] name = qualifiedPackageName.getBytes(StandardCharsets.UTF_8);
+	try {
+		int low = 0, high = this.packageCount - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int offset = this.buffer.getInt(HEADER_SIZE + 4 * middle);
+			int comparison = compare(this.buffer, offset, name);
+			if (comparison < 0) {
+				low = middle + 1;
+			} else if (comparison > 0) {
+				high = middle - 1;
+			} else {
+				int entriesOffset = offset + 2 + name.length;
+				int[] entries = new int[this.buffer.getInt(entriesOffset)];
+				for (int i = 0; i < entries.length; i++)
+					entries[i] = this.buffer.getInt(entriesOffset + 4 + 4 * i);
+				return entries;
+			}
+		}
+		return NO_ENTRIES;
+	} catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+		return null; // corrupted index
+	}
+}
+
+/** Number of archives covered by the index */
+public int getEntryCount() {
+	return this.entryCount;
+}
+
+static int compare(ByteBuffer buffer, int offset, byte[] name) {
+	int length = buffer.getShort(offset) & 0xFFFF;
+	int min = Math.min(length, name.length);
+	for (int i = 0; i < min; i++) {
+		int difference = (buffer.get(offset + 2 + i) & 0xFF) - (name[i] & 0xFF);
+		if (difference != 0)
+			return difference;
+	}
+	return length - name.length;
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,7 @@ import java.util.zip.ZipFile;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeCache;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationDecorator;
@@ -40,9 +41,9 @@ import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
 import org.eclipse.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.lookup.BinaryTypeBinding.ExternalAnnotationStatus;
+import org.eclipse.jdt.internal.compiler.util.ArchiveRegistry;
 import org.eclipse.jdt.internal.compiler.util.ManifestAnalyzer;
 import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
-import org.eclipse.jdt.internal.compiler.util.Util;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class ClasspathJar extends ClasspathLocation {
@@ -53,6 +54,7 @@ protected ZipFile annotationZipFile;
 protected boolean closeZipFileAtEnd;
 protected Set<String> packageCache;
 protected List<String> annotationPaths;
+protected ArchiveRegistry.Archive archive;
 
 public ClasspathJar(File file, boolean closeZipFileAtEnd,
 		AccessRuleSet accessRuleSet, String destinationPath) {
@@ -120,16 +122,11 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 		return null; // most common case
 
 	try {
-		IBinaryType reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		char[] modName = this.module == null ? null : this.module.name();
+		IBinaryType reader = readClassFile(qualifiedBinaryFileName, modName);
 		if (reader != null) {
-			char[] modName = this.module == null ? null : this.module.name();
-			if (reader instanceof ClassFileReader) {
-				ClassFileReader classReader = (ClassFileReader) reader;
-				if (classReader.moduleName == null)
-					classReader.moduleName = modName;
-				else
-					modName = classReader.moduleName;
-			}
+			if (((ClassFileReader) reader).moduleName != null)
+				modName = ((ClassFileReader) reader).moduleName;
 			searchPaths:
 			if (this.annotationPaths != null) {
 				String qualifiedClassName = qualifiedBinaryFileName.substring(0, qualifiedBinaryFileName.length()-SuffixConstants.EXTENSION_CLASS.length()-1);
@@ -157,6 +154,22 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 	}
 	return null;
 }
+/**
+ * Answer the reader of the given entry, attributed to the given module unless it declares its own.
+ * Readers of shared archives are shared with the other compilations reading the same version of the archive.
+ */
+protected ClassFileReader readClassFile(String entryName, char[] modName) throws ClassFormatException, IOException {
+	if (this.archive == null)
+		return readClassFile(entryName, modName, false);
+	String location = modName == null ? this.archive.getIdentity() : this.archive.getIdentity() + '|' + new String(modName);
+	return BinaryTypeCache.get(location, entryName, fullyInitialize -> readClassFile(entryName, modName, fullyInitialize));
+}
+private ClassFileReader readClassFile(String entryName, char[] modName, boolean fullyInitialize) throws ClassFormatException, IOException {
+	ClassFileReader reader = ClassFileReader.read(this.zipFile, entryName, fullyInitialize);
+	if (reader != null && reader.moduleName == null)
+		reader.moduleName = modName;
+	return reader;
+}
 @Override
 public boolean hasAnnotationFileFor(String qualifiedTypeName) {
 	if (this.zipFile == null)
@@ -169,16 +182,9 @@ public char[][][] findTypeNames(final String qualifiedPackageName, String module
 		return null; // most common case
 	final char[] packageArray = qualifiedPackageName.toCharArray();
 	final ArrayList answers = new ArrayList();
-	nextEntry : for (Enumeration e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = ((ZipEntry) e.nextElement()).getName();
-
-		// add the package name & all of its parent packages
-		int last = fileName.lastIndexOf('/');
-		if (last > 0) {
-			// extract the package name
-			String packageName = fileName.substring(0, last);
-			if (!qualifiedPackageName.equals(packageName))
-				continue nextEntry;
+	if (qualifiedPackageName.length() > 0) {
+		for (String fileName : this.archive.getEntries(qualifiedPackageName)) {
+			int last = fileName.lastIndexOf('/');
 			int indexOfDot = fileName.lastIndexOf('.');
 			if (indexOfDot != -1) {
 				String typeName = fileName.substring(last + 1, indexOfDot);
@@ -201,7 +207,8 @@ public char[][][] findTypeNames(final String qualifiedPackageName, String module
 @Override
 public void initialize() throws IOException {
 	if (this.zipFile == null) {
-		this.zipFile = new ZipFile(this.file);
+		this.archive = ArchiveRegistry.acquire(this.file);
+		this.zipFile = this.archive.zipFile;
 	}
 }
 void acceptModule(ClassFileReader reader) {
@@ -235,30 +242,17 @@ protected void addToPackageCache(String fileName, boolean endsWithSep) {
 }
 @Override
 public synchronized char[][] getModulesDeclaringPackage(String qualifiedPackageName, String moduleName) {
-	if (this.packageCache != null)
-		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
-
-	this.packageCache = new HashSet<>(41);
-	this.packageCache.add(Util.EMPTY_STRING);
-
-	for (Enumeration e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = ((ZipEntry) e.nextElement()).getName();
-		addToPackageCache(fileName, false);
-	}
+	if (this.packageCache == null)
+		this.packageCache = this.archive.getPackages(); // shared, computed once per archive
 	return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
 }
 @Override
 public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName) {
-	qualifiedPackageName += '/';
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
-		if (fileName.startsWith(qualifiedPackageName) && fileName.length() > qualifiedPackageName.length()) {
-			String tail = fileName.substring(qualifiedPackageName.length());
-			if (tail.indexOf('/') != -1)
-				continue;
-			if (tail.toLowerCase().endsWith(SUFFIX_STRING_class))
-				return true;
-		}
+	if (qualifiedPackageName.length() == 0)
+		return false; // entries at the root are not in the default package
+	for (String fileName : this.archive.getEntries(qualifiedPackageName)) {
+		if (fileName.toLowerCase().endsWith(SUFFIX_STRING_class))
+			return true;
 	}
 	return false;
 }
@@ -279,12 +273,9 @@ public char[][] listPackages() {
 public void reset() {
 	super.reset();
 	if (this.closeZipFileAtEnd) {
-		if (this.zipFile != null) {
-			try {
-				this.zipFile.close();
-			} catch(IOException e) {
-				// ignore
-			}
+		if (this.archive != null) {
+			ArchiveRegistry.release(this.archive);
+			this.archive = null;
 			this.zipFile = null;
 		}
 		if (this.annotationZipFile != null) {
@@ -45,6 +45,8 @@ public class ClasspathJep247Jdk12 extends ClasspathJep247 {
 
 	Map<String, IModule> modules;
 	static String MODULE_INFO = "module-info.sig"; //$NON-NLS-1$
+	/** Index of the release in ct.sym, if a directory of indexes is given, in which case no file system is opened */
+	CtSymIndex index;
 
 	public ClasspathJep247Jdk12(File jdkHome, String release, AccessRuleSet accessRuleSet) {
 		super(jdkHome, release, accessRuleSet);
@@ -68,6 +70,15 @@ public class ClasspathJep247Jdk12 extends ClasspathJep247 {
 			byte[] content = null;
 			char[] foundModName = null;
 			qualifiedBinaryFileName = qualifiedBinaryFileName.replace(".class", ".sig"); //$NON-NLS-1$ //$NON-NLS-2$
+			if (this.index != null) {
+				CtSymIndex.Stub stub = this.index.getStub(qualifiedBinaryFileName, moduleName);
+				if (stub == null)
+					return null;
+				content = stub.getBytes();
+				reader = new ClassFileReader(stub.getURI(), content, qualifiedBinaryFileName.toCharArray());
+				reader = maybeDecorateForExternalAnnotations(qualifiedBinaryFileName, reader);
+				return new NameEnvironmentAnswer(reader, fetchAccessRestriction(qualifiedBinaryFileName), stub.moduleName.toCharArray());
+			}
 			if (this.subReleases != null && this.subReleases.length > 0) {
 				done: for (String rel : this.subReleases) {
 					if (moduleName == null) {
@@ -113,6 +124,10 @@ public class ClasspathJep247Jdk12 extends ClasspathJep247 {
 		if (this.compliance == null) {
 			return;
 		}
+		if (this.index != null) {
+			loadModules();
+			return;
+		}
 		if (this.fs != null) {
 			super.initialize();
 			return;
@@ -122,6 +137,14 @@ public class ClasspathJep247Jdk12 extends ClasspathJep247 {
 		if (!Files.exists(filePath)) {
 			return;
 		}
+		String indexDirectory = System.getProperty(ClasspathIndex.DIRECTORY_PROPERTY);
+		if (indexDirectory != null) {
+			this.index = CtSymIndex.get(new File(indexDirectory), filePath, this.releaseInHex);
+			if (this.index != null) {
+				loadModules();
+				return;
+			}
+		}
 		this.fs = JRTUtil.getJarFileSystem(filePath);
 		this.releasePath = this.fs.getPath("/"); //$NON-NLS-1$
 		if (!Files.exists(this.fs.getPath(this.releaseInHex))) {
@@ -153,10 +176,25 @@ public class ClasspathJep247Jdk12 extends ClasspathJep247 {
 			super.loadModules();
 			return;
 		}
-		final Path modPath = this.fs.getPath(this.releaseInHex);
-		this.modulePath = this.file.getPath() + "|" + modPath.toString(); //$NON-NLS-1$
+		this.modulePath = this.file.getPath() + "|" + this.releaseInHex; //$NON-NLS-1$
 		Map<String, IModule> cache = ModulesCache.computeIfAbsent(this.modulePath, key -> {
 			HashMap<String,IModule> newCache = new HashMap<>();
+			if (this.index != null) {
+				for (CtSymIndex.Stub stub : this.index.getStubs(MODULE_INFO)) {
+					try {
+						acceptModule(stub.moduleName, stub.getBytes(), newCache);
+					} catch (IOException e) {
+						String error = "Failed to read module " + stub.moduleName + " for " + key; //$NON-NLS-1$ //$NON-NLS-2$
+						if (JRTUtil.PROPAGATE_IO_ERRORS) {
+							throw new IllegalStateException(error, e);
+						} else {
+							System.err.println(error);
+							e.printStackTrace();
+						}
+					}
+				}
+				return newCache.isEmpty() ? null : Collections.unmodifiableMap(newCache);
+			}
 			try (DirectoryStream<java.nio.file.Path> stream = Files.newDirectoryStream(this.releasePath)) {
 				for (final java.nio.file.Path subdir: stream) {
 					String rel = JRTUtil.sanitizedFileName(subdir);
@@ -267,6 +305,10 @@ public class ClasspathJep247Jdk12 extends ClasspathJep247 {
 			List<String> mods = JRTUtil.getModulesDeclaringPackage(this.file, qualifiedPackageName, moduleName);
 			return CharOperation.toCharArrays(mods);
 		}
+		if (this.packageCache == null && this.index != null) {
+			this.packageCache = this.index.getPackageNames();
+			this.packageCache.add(Util.EMPTY_STRING);
+		}
 		if (this.packageCache == null) {
 			this.packageCache = new HashSet<>(41);
 			this.packageCache.add(Util.EMPTY_STRING);
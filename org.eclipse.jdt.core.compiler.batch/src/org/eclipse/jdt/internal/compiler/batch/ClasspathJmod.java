@@ -57,16 +57,11 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 
 	try {
 		qualifiedBinaryFileName = new String(CharOperation.append(CLASSES_FOLDER, qualifiedBinaryFileName.toCharArray()));
-		IBinaryType reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		char[] modName = this.module == null ? null : this.module.name();
+		IBinaryType reader = readClassFile(qualifiedBinaryFileName, modName);
 		if (reader != null) {
-			char[] modName = this.module == null ? null : this.module.name();
-			if (reader instanceof ClassFileReader) {
-				ClassFileReader classReader = (ClassFileReader) reader;
-				if (classReader.moduleName == null)
-					classReader.moduleName = modName;
-				else
-					modName = classReader.moduleName;
-			}
+			if (((ClassFileReader) reader).moduleName != null)
+				modName = ((ClassFileReader) reader).moduleName;
 			searchPaths:
 			if (this.annotationPaths != null) {
 				String qualifiedClassName = qualifiedBinaryFileName.substring(0, qualifiedBinaryFileName.length()-SuffixConstants.EXTENSION_CLASS.length()-1);
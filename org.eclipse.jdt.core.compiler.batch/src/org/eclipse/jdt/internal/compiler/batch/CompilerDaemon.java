@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.jdt.internal.compiler.util.ArchiveRegistry;
+
+/**
+ * A batch compiler which stays alive between compilations, so that successive compilations do not pay
+ * again for the JVM warm-up, the JRT image and the archives on the class path: archives are kept open
+ * until their time stamp or size changes.
+ * <p>
+ * The daemon only accepts connections from the local host, from clients presenting the secret it wrote
+ * along with its port into the <em>daemon file</em>, which only the user running the daemon can read.
+ * Compilations run one at a time, with relative paths resolved against the working directory of the
+ * daemon, hence clients must run from that same directory.
+ * </p>
+ * <pre>
+ * java -cp ecj.jar org.eclipse.jdt.internal.compiler.batch.CompilerDaemon start &lt;daemon file&gt;
+ * java -cp ecj.jar org.eclipse.jdt.internal.compiler.batch.CompilerDaemon compile &lt;daemon file&gt; &lt;compiler arguments&gt;
+ * java -cp ecj.jar org.eclipse.jdt.internal.compiler.batch.CompilerDaemon stop &lt;daemon file&gt;
+ * </pre>
+ * <p>
+ * Protocol, using {@link DataOutputStream} encodings: the client sends the length of the secret as a short
+ * and its bytes, its working directory as a UTF string, the number of arguments as an int
+ * ({@link #STOP_REQUEST} to stop the daemon) and the arguments as UTF strings. The daemon answers with the exit code of the compilation as an int,
+ * then the standard output and the standard error of the compilation as UTF-8 byte arrays preceded by
+ * their length.
+ * </p>
+ */
+public class CompilerDaemon {
+
+	private final Path daemonFile;
+	private final byte[] secret;
+	private final String workingDirectory;
+	private boolean running;
+
+	static final int STOP_REQUEST = -1;
+	static final int EXIT_FAILURE = -1; // same as Main
+	private static final int SECRET_LENGTH = 32;
+	private static final int REQUEST_TIMEOUT = 30000; // ms to read a request, a stuck client must not block the daemon
+
+public CompilerDaemon(Path daemonFile) {
+	this.daemonFile = daemonFile;
+	this.secret = new byte[SECRET_LENGTH];
+	new SecureRandom().nextBytes(this.secret);
+	this.workingDirectory = canonicalPath(new File("")); //$NON-NLS-1$
+}
+
+public static void main(String[] args) {
+	if (args.length < 2) {
+		System.err.println(bind("daemon.usage")); //$NON-NLS-1$
+		System.exit(EXIT_FAILURE);
+	}
+	Path daemonFile = new File(args[1]).toPath();
+	int exitCode;
+	switch (args[0]) {
+		case "start" : //$NON-NLS-1$
+			exitCode = new CompilerDaemon(daemonFile).run(System.out, System.err);
+			break;
+		case "compile" : //$NON-NLS-1$
+			exitCode = request(daemonFile, Arrays.copyOfRange(args, 2, args.length), System.out, System.err);
+			break;
+		case "stop" : //$NON-NLS-1$
+			exitCode = request(daemonFile, null, System.out, System.err);
+			break;
+		default :
+			System.err.println(bind("daemon.usage")); //$NON-NLS-1$
+			exitCode = EXIT_FAILURE;
+	}
+	System.exit(exitCode);
+}
+
+/**
+ * Accept compilation requests until a stop request is received.
+ * @return the exit code of the daemon
+ */
+public int run(PrintStream out, PrintStream err) {
+	try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+		writeDaemonFile(serverSocket.getLocalPort());
+		ArchiveRegistry.setKeepOpen(true);
+		out.println(bind("daemon.listening", String.valueOf(serverSocket.getLocalPort()), this.workingDirectory)); //$NON-NLS-1$
+		out.flush();
+		this.running = true;
+		while (this.running) {
+			try (Socket socket = serverSocket.accept()) {
+				socket.setSoTimeout(REQUEST_TIMEOUT);
+				serve(socket);
+			} catch (IOException e) {
+				// client went away, carry on with the next one
+			}
+		}
+		return 0;
+	} catch (IOException e) {
+		err.println(bind("daemon.failure", e.toString())); //$NON-NLS-1$
+		return EXIT_FAILURE;
+	} finally {
+		ArchiveRegistry.setKeepOpen(false);
+		try {
+			Files.deleteIfExists(this.daemonFile);
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+}
+
+private void serve(Socket socket) throws IOException {
+	DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+	DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+	byte[] clientSecret = new byte[in.readUnsignedShort()];
+	in.readFully(clientSecret);
+	if (!MessageDigest.isEqual(this.secret, clientSecret))
+		return; // not one of ours, close silently
+	String clientDirectory = in.readUTF();
+	int argc = in.readInt();
+	if (argc == STOP_REQUEST) {
+		this.running = false;
+		writeResponse(out, 0, "", ""); //$NON-NLS-1$ //$NON-NLS-2$
+		return;
+	}
+	String[] args = new String[argc];
+	for (int i = 0; i < argc; i++)
+		args[i] = in.readUTF();
+	socket.setSoTimeout(0); // the compilation itself may take a while
+
+	if (!this.workingDirectory.equals(canonicalPath(new File(clientDirectory)))) {
+		writeResponse(out, EXIT_FAILURE, "", bind("daemon.workingDirectory", this.workingDirectory, clientDirectory) + System.lineSeparator()); //$NON-NLS-1$ //$NON-NLS-2$
+		return;
+	}
+	StringWriter output = new StringWriter();
+	StringWriter errors = new StringWriter();
+	boolean succeeded;
+	try {
+		succeeded = Main.compile(args, new PrintWriter(output), new PrintWriter(errors), null);
+	} catch (RuntimeException | LinkageError | AssertionError e) {
+		// keep the daemon alive, this compilation alone failed
+		e.printStackTrace(new PrintWriter(errors, true));
+		succeeded = false;
+	}
+	writeResponse(out, succeeded ? 0 : EXIT_FAILURE, output.toString(), errors.toString());
+}
+
+private static void writeResponse(DataOutputStream out, int exitCode, String output, String errors) throws IOException {
+	out.writeInt(exitCode);
+	writeBytes(out, output.getBytes(StandardCharsets.UTF_8));
+	writeBytes(out, errors.getBytes(StandardCharsets.UTF_8));
+	out.flush();
+}
+
+private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+	out.writeInt(bytes.length);
+	out.write(bytes);
+}
+
+private static byte[] readBytes(DataInputStream in) throws IOException {
+	byte[] bytes = new byte[in.readInt()];
+	in.readFully(bytes);
+	return bytes;
+}
+
+private void writeDaemonFile(int port) throws IOException {
+	// written aside then moved in place, so that clients never read a partial file
+	Path directory = this.daemonFile.toAbsolutePath().getParent();
+	Path temporaryFile;
+	if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) { //$NON-NLS-1$
+		temporaryFile = Files.createTempFile(directory, "ecj", ".tmp", PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	} else {
+		temporaryFile = Files.createTempFile(directory, "ecj", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+	StringBuilder secretHex = new StringBuilder(2 * this.secret.length);
+	for (byte b : this.secret)
+		secretHex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+	Files.write(temporaryFile, Arrays.asList(String.valueOf(port), secretHex.toString()), StandardCharsets.UTF_8);
+	Files.move(temporaryFile, this.daemonFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+}
+
+/**
+ * Send a compilation request to the daemon described by the given daemon file, and print its output.
+ * @param args the compiler arguments, or null to stop the daemon
+ * @return the exit code of the compilation
+ */
+public static int request(Path daemonFile, String[] args, PrintStream out, PrintStream err) {
+	int port;
+	byte[] secret;
+	try {
+		List<String> lines = Files.readAllLines(daemonFile, StandardCharsets.UTF_8);
+		port = Integer.parseInt(lines.get(0).trim());
+		String secretHex = lines.get(1).trim();
+		secret = new byte[secretHex.length() / 2];
+		for (int i = 0; i < secret.length; i++)
+			secret[i] = (byte) Integer.parseInt(secretHex.substring(2 * i, 2 * i + 2), 16);
+	} catch (IOException | RuntimeException e) {
+		err.println(bind("daemon.notRunning", daemonFile.toString(), e.toString())); //$NON-NLS-1$
+		return EXIT_FAILURE;
+	}
+	try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+		DataOutputStream request = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+		request.writeShort(secret.length);
+		request.write(secret);
+		request.writeUTF(new File("").getAbsolutePath()); //$NON-NLS-1$
+		if (args == null) {
+			request.writeInt(STOP_REQUEST);
+		} else {
+			request.writeInt(args.length);
+			for (String arg : args)
+				request.writeUTF(arg);
+		}
+		request.flush();
+
+		DataInputStream response = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		int exitCode = response.readInt();
+		out.print(new String(readBytes(response), StandardCharsets.UTF_8));
+		out.flush();
+		err.print(new String(readBytes(response), StandardCharsets.UTF_8));
+		err.flush();
+		return exitCode;
+	} catch (IOException e) {
+		err.println(bind("daemon.notRunning", daemonFile.toString(), e.toString())); //$NON-NLS-1$
+		return EXIT_FAILURE;
+	}
+}
+
+private static String canonicalPath(File file) {
+	try {
+		return file.getCanonicalPath();
+	} catch (IOException e) {
+		return file.getAbsolutePath();
+	}
+}
+
+private static String bind(String id, String... arguments) {
+	String message = Main.ResourceBundleFactory.getBundle(Locale.getDefault()).getString(id);
+	return arguments.length == 0 ? message : MessageFormat.format(message, (Object[]) arguments);
+}
+}
@@ -0,0 +1,377 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import org.eclipse.jdt.internal.compiler.util.CtSym;
+
+/**
+ * Maps the signature files of one release in the ct.sym file of a JDK (see {@link CtSym}) to their module
+ * and to their compressed bytes in ct.sym, so that a compilation with <code>--release</code> reads the class
+ * stubs of that release from the memory-mapped ct.sym without opening it as a zip file system.
+ * <p>
+ * The index is stored along with the class path indexes, in the directory given by the
+ * {@link ClasspathIndex#DIRECTORY_PROPERTY} system property, in a file named after the path, time stamp
+ * and size of ct.sym and after the release. It is computed from the central directory of ct.sym by the
+ * first compilation for that release and memory-mapped by the following ones.
+ * </p><p>
+ * File format, big-endian: the magic number, the version, the number of release directories, of modules
+ * and of signature files as ints, then the offsets of the signature file records as ints, in the order of
+ * their names, then the names of the release directories and of the modules. Names are stored as their
+ * UTF-8 bytes preceded by their length as a short. Each record holds the name of a signature file within
+ * its module (e.g. <code>java/lang/Object.sig</code>), thus records are grouped by package, then the number
+ * of modules containing that file as an int and, for each of them in the order of ct.sym, the positions of
+ * its release directory and of the module as shorts, the offset of its data in ct.sym, its compressed size
+ * and size as ints, and its compression method as a short.
+ * </p>
+ */
+public class CtSymIndex {
+
+	static final int MAGIC = 0x45434A53; // ECJS
+	static final int VERSION = 1;
+	private static final int HEADER_SIZE = 20;
+	private static final int ENTRY_SIZE = 18;
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+	// zip format
+	private static final int LOCAL_SIGNATURE = 0x04034b50;
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int CENTRAL_SIGNATURE = 0x02014b50;
+	private static final int CENTRAL_HEADER_SIZE = 46;
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int END_SIZE = 22;
+
+	/**
+	 * A signature file of the indexed release.
+	 */
+	public final class Stub {
+		/** Name of the module containing the signature file */
+		public final String moduleName;
+		private final int record; // offset of the record in the index
+		private final int entry; // offset of the module entry in the record
+
+		Stub(String moduleName, int record, int entry) {
+			this.moduleName = moduleName;
+			this.record = record;
+			this.entry = entry;
+		}
+
+		/**
+		 * Answer the uncompressed bytes of the signature file, read from ct.sym.
+		 * @throws IOException if ct.sym does not match the index
+		 */
+		public byte[] getBytes() throws IOException {
+			ByteBuffer index = CtSymIndex.this.buffer;
+			try {
+				byte[] bytes = new byte[index.getInt(this.entry + 12)];
+				ByteBuffer data = CtSymIndex.this.ctSym.slice(index.getInt(this.entry + 4), index.getInt(this.entry + 8));
+				if (index.getShort(this.entry + 16) == STORED) {
+					data.get(bytes);
+					return bytes;
+				}
+				Inflater inflater = new Inflater(true);
+				try {
+					inflater.setInput(data);
+					boolean ended = false;
+					for (int length = 0; length < bytes.length;) {
+						int read = inflater.inflate(bytes, length, bytes.length - length);
+						if (read == 0) {
+							if (ended || inflater.finished() || inflater.needsDictionary() || !inflater.needsInput())
+								throw new ZipException("Truncated " + getEntryName()); //$NON-NLS-1$
+							inflater.setInput(new byte[1]); // the dummy byte expected by the nowrap mode
+							ended = true;
+						}
+						length += read;
+					}
+					return bytes;
+				} finally {
+					inflater.end();
+				}
+			} catch (IndexOutOfBoundsException | DataFormatException e) {
+				throw new ZipException("Corrupted " + getEntryName() + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+
+		/**
+		 * Answer the name of the signature file in ct.sym, e.g. <code>9ABCDEFGHIJK/java.base/java/lang/Object.sig</code>.
+		 */
+		public String getEntryName() {
+			return CtSymIndex.this.releaseDirectories[CtSymIndex.this.buffer.getShort(this.entry)] + '/' + this.moduleName + '/' + nameAt(this.record);
+		}
+
+		/**
+		 * Answer the URI of the signature file, as answered by the zip file system of ct.sym.
+		 */
+		public URI getURI() {
+			return URI.create("jar:" + CtSymIndex.this.ctSymFile.toUri() + "!/" + getEntryName()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private final ByteBuffer buffer;
+	private final ByteBuffer ctSym;
+	private final Path ctSymFile;
+	private final int stubCount;
+	private final String[] releaseDirectories;
+	private final String[] modules;
+
+private CtSymIndex(ByteBuffer buffer, ByteBuffer ctSym, Path ctSymFile) {
+	this.buffer = buffer;
+	this.ctSym = ctSym;
+	this.ctSymFile = ctSymFile;
+	if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+		throw new IllegalArgumentException("Not a ct.sym index"); //$NON-NLS-1$
+	this.releaseDirectories = new String[buffer.getInt(8)];
+	this.modules = new String[buffer.getInt(12)];
+	this.stubCount = buffer.getInt(16);
+	int offset = HEADER_SIZE + 4 * this.stubCount;
+	for (int i = 0; i < this.releaseDirectories.length; i++) {
+		this.releaseDirectories[i] = nameAt(offset);
+		offset += 2 + (buffer.getShort(offset) & 0xFFFF);
+	}
+	for (int i = 0; i < this.modules.length; i++) {
+		this.modules[i] = nameAt(offset);
+		offset += 2 + (buffer.getShort(offset) & 0xFFFF);
+	}
+}
+
+/**
+ * Answer the index of the given release in the given ct.sym file, in the given directory, building and storing it if needed.
+ * @param releaseCode release number encoded as in ct.sym (see {@link CtSym#getReleaseCode(String)})
+ * @return the index, or null if it can neither be read nor built or if ct.sym has no such release
+ */
+public static CtSymIndex get(File directory, Path ctSymFile, String releaseCode) {
+	try {
+		File file = ctSymFile.toFile();
+		String fingerprint = ClasspathIndex.fingerprint(file.getCanonicalPath() + '|' + file.lastModified() + '|' + file.length(), releaseCode);
+		ByteBuffer ctSym = ClasspathIndex.map(ctSymFile);
+		Path indexFile = new File(directory, fingerprint + ".idx").toPath(); //$NON-NLS-1$
+		if (Files.isRegularFile(indexFile)) {
+			try {
+				return new CtSymIndex(ClasspathIndex.map(indexFile), ctSym, ctSymFile);
+			} catch (IOException | RuntimeException e) {
+				// unreadable or corrupted, build it again
+			}
+		}
+		byte[] bytes = build(ctSym, releaseCode);
+		if (bytes == null)
+			return null;
+		ClasspathIndex.store(indexFile, bytes);
+		return new CtSymIndex(ByteBuffer.wrap(bytes), ctSym, ctSymFile);
+	} catch (IOException | RuntimeException e) {
+		return null; // let the zip file system answer
+	}
+}
+
+static byte[] build(ByteBuffer ctSym, String releaseCode) throws ZipException {
+	ByteBuffer zip = ctSym.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+	int end = zip.limit() - END_SIZE;
+	int stop = Math.max(0, end - 0xFFFF); // before the longest comment
+	while (end >= stop && zip.getInt(end) != END_SIGNATURE)
+		end--;
+	if (end < stop)
+		throw new ZipException("No central directory"); //$NON-NLS-1$
+	int count = zip.getShort(end + 10) & 0xFFFF;
+	int position = zip.getInt(end + 16);
+	if (count == 0xFFFF || position == -1)
+		throw new ZipException("Zip64 not supported"); //$NON-NLS-1$
+
+	boolean hasRelease = false;
+	Map<String, Integer> releaseDirectories = new LinkedHashMap<>();
+	Map<String, Integer> modules = new LinkedHashMap<>();
+	// ordered by the UTF-8 bytes of the names, as expected by the binary search
+	Map<byte[], List<int[]>> entriesByName = new TreeMap<>(Arrays::compareUnsigned);
+	for (int i = 0; i < count; i++) {
+		if (zip.getInt(position) != CENTRAL_SIGNATURE)
+			throw new ZipException("Invalid central directory"); //$NON-NLS-1$
+		int flags = zip.getShort(position + 8) & 0xFFFF;
+		int method = zip.getShort(position + 10) & 0xFFFF;
+		int compressedSize = zip.getInt(position + 20);
+		int size = zip.getInt(position + 24);
+		int nameLength = zip.getShort(position + 28) & 0xFFFF;
+		int extraLength = zip.getShort(position + 30) & 0xFFFF;
+		int commentLength = zip.getShort(position + 32) & 0xFFFF;
+		int local = zip.getInt(position + 42);
+		byte[] nameBytes = new byte[nameLength];
+		zip.get(position + CENTRAL_HEADER_SIZE, nameBytes);
+		position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+
+		String name = new String(nameBytes, StandardCharsets.UTF_8);
+		int moduleStart = name.indexOf('/') + 1;
+		if (moduleStart == 0)
+			continue;
+		String releaseDirectory = name.substring(0, moduleStart - 1);
+		if (releaseDirectory.equals(releaseCode))
+			hasRelease = true;
+		int nameStart = name.indexOf('/', moduleStart) + 1;
+		// only the files within a module of a release directory of the release
+		if (nameStart <= moduleStart + 1 || nameStart == name.length() || name.endsWith("/") || !releaseDirectory.contains(releaseCode)) //$NON-NLS-1$
+			continue;
+		if ((flags & 1) != 0 || (method != STORED && method != DEFLATED) || compressedSize < 0 || size < 0)
+			throw new ZipException("Unsupported entry " + name); //$NON-NLS-1$
+		if (zip.getInt(local) != LOCAL_SIGNATURE)
+			throw new ZipException("Invalid local header of " + name); //$NON-NLS-1$
+		int offset = local + LOCAL_HEADER_SIZE + (zip.getShort(local + 26) & 0xFFFF) + (zip.getShort(local + 28) & 0xFFFF);
+
+		int module = modules.computeIfAbsent(name.substring(moduleStart, nameStart - 1), m -> Integer.valueOf(modules.size())).intValue();
+		List<int[]> entries = entriesByName.computeIfAbsent(Arrays.copyOfRange(nameBytes, nameStart, nameLength), n -> new ArrayList<>(1));
+		if (entries.stream().anyMatch(e -> e[1] == module))
+			continue; // the first one in ct.sym
+		int release = releaseDirectories.computeIfAbsent(releaseDirectory, r -> Integer.valueOf(releaseDirectories.size())).intValue();
+		entries.add(new int[] { release, module, offset, compressedSize, size, method });
+	}
+	if (!hasRelease)
+		return null;
+
+	try {
+		ByteArrayOutputStream records = new ByteArrayOutputStream();
+		DataOutputStream recordsOut = new DataOutputStream(records);
+		for (String releaseDirectory : releaseDirectories.keySet())
+			writeName(recordsOut, releaseDirectory);
+		for (String module : modules.keySet())
+			writeName(recordsOut, module);
+		int[] offsets = new int[entriesByName.size()];
+		int recordsStart = HEADER_SIZE + 4 * offsets.length;
+		int stubCount = 0;
+		for (Map.Entry<byte[], List<int[]>> entry : entriesByName.entrySet()) {
+			offsets[stubCount++] = recordsStart + recordsOut.size();
+			recordsOut.writeShort(entry.getKey().length);
+			recordsOut.write(entry.getKey());
+			recordsOut.writeInt(entry.getValue().size());
+			for (int[] location : entry.getValue()) {
+				recordsOut.writeShort(location[0]);
+				recordsOut.writeShort(location[1]);
+				recordsOut.writeInt(location[2]);
+				recordsOut.writeInt(location[3]);
+				recordsOut.writeInt(location[4]);
+				recordsOut.writeShort(location[5]);
+			}
+		}
+		ByteArrayOutputStream result = new ByteArrayOutputStream(recordsStart + records.size());
+		DataOutputStream out = new DataOutputStream(result);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(releaseDirectories.size());
+		out.writeInt(modules.size());
+		out.writeInt(offsets.length);
+		for (int offset : offsets)
+			out.writeInt(offset);
+		records.writeTo(out);
+		out.flush();
+		return result.toByteArray();
+	} catch (IOException e) {
+		throw new IllegalStateException(e); // not on a byte array
+	}
+}
+
+private static void writeName(DataOutputStream out, String name) throws IOException {
+	byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+	out.writeShort(bytes.length);
+	out.write(bytes);
+}
+
+/**
+ * Answer the given signature file (e.g. <code>java/lang/Object.sig</code>) in the given module, or in the
+ * first module containing it if the module is null, or null if the release has no such file.
+ */
+public Stub getStub(String qualifiedSignatureFileName, String moduleName) {
+	int record = find(qualifiedSignatureFileName);
+	if (record < 0)
+		return null;
+	int entries = record + 2 + (this.buffer.getShort(record) & 0xFFFF);
+	for (int i = 0, length = this.buffer.getInt(entries); i < length; i++) {
+		int entry = entries + 4 + ENTRY_SIZE * i;
+		String module = this.modules[this.buffer.getShort(entry + 2)];
+		if (moduleName == null || moduleName.equals(module))
+			return new Stub(module, record, entry);
+	}
+	return null;
+}
+
+/**
+ * Answer the given signature file (e.g. <code>module-info.sig</code>) in all the modules containing it.
+ */
+public List<Stub> getStubs(String qualifiedSignatureFileName) {
+	int record = find(qualifiedSignatureFileName);
+	if (record < 0)
+		return List.of();
+	int entries = record + 2 + (this.buffer.getShort(record) & 0xFFFF);
+	int length = this.buffer.getInt(entries);
+	List<Stub> stubs = new ArrayList<>(length);
+	for (int i = 0; i < length; i++) {
+		int entry = entries + 4 + ENTRY_SIZE * i;
+		stubs.add(new Stub(this.modules[this.buffer.getShort(entry + 2)], record, entry));
+	}
+	return stubs;
+}
+
+/**
+ * Answer the names of the packages containing signature files, along with their enclosing packages,
+ * e.g. <code>java</code> and <code>java/lang</code>.
+ */
+public Set<String> getPackageNames() {
+	Set<String> packageNames = new HashSet<>();
+	for (int i = 0; i < this.stubCount; i++) {
+		String name = nameAt(this.buffer.getInt(HEADER_SIZE + 4 * i));
+		for (int end = name.lastIndexOf('/'); end > 0 && packageNames.add(name.substring(0, end)); end = name.lastIndexOf('/', end - 1)) {
+			// enclosing packages
+		}
+	}
+	return packageNames;
+}
+
+private int find(String qualifiedSignatureFileName) {
+	byte[] name = qualifiedSignatureFileName.getBytes(StandardCharsets.UTF_8);
+	int low = 0, high = this.stubCount - 1;
+	while (low <= high) {
+		int middle = (low + high) >>> 1;
+		int offset = this.buffer.getInt(HEADER_SIZE + 4 * middle);
+		int comparison = ClasspathIndex.compare(this.buffer, offset, name);
+		if (comparison < 0) {
+			low = middle + 1;
+		} else if (comparison > 0) {
+			high = middle - 1;
+		} else {
+			return offset;
+		}
+	}
+	return -1;
+}
+
+private String nameAt(int offset) {
+	byte[] bytes = new byte[this.buffer.getShort(offset) & 0xFFFF];
+	this.buffer.get(offset + 2, bytes);
+	return new String(bytes, StandardCharsets.UTF_8);
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -52,6 +52,7 @@ import org.eclipse.jdt.internal.compiler.env.IUpdatableModule;
 import org.eclipse.jdt.internal.compiler.env.IUpdatableModule.UpdateKind;
 import org.eclipse.jdt.internal.compiler.env.IUpdatableModule.UpdatesByKind;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.util.ArchiveRegistry;
 import org.eclipse.jdt.internal.compiler.util.JRTUtil;
 import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
 import org.eclipse.jdt.internal.compiler.util.Util;
@@ -176,6 +177,11 @@ public class FileSystem implements IModuleAwareNameEnvironment, SuffixConstants
 
 	private boolean hasLimitModules = false;
 
+	// when the class path is indexed, the class path entries to query for each package
+	private ClasspathIndex classpathIndex;
+	private int[] classpathIndexPositions; // position of each class path entry in the index, -1 if not indexed
+	private Map<String, Classpath[]> classpathsByPackage;
+
 	static {
 		try {
 			isJRE12Plus = SourceVersion.valueOf("RELEASE_12") != null; //$NON-NLS-1$
@@ -222,6 +228,7 @@ protected FileSystem(String[] classpathNames, String[] initialFileNames, String
 	if (counter != classpathSize) {
 		System.arraycopy(this.classpaths, 0, (this.classpaths = new Classpath[counter]), 0, counter);
 	}
+	initializeClasspathIndex();
 	initializeKnownFileNames(initialFileNames);
 }
 protected FileSystem(Classpath[] paths, String[] initialFileNames, boolean annotationsFromClasspath, Set<String> limitedModules) {
@@ -254,6 +261,7 @@ protected FileSystem(Classpath[] paths, String[] initialFileNames, boolean annot
 		System.arraycopy(this.classpaths, 0, (this.classpaths = new FileSystem.Classpath[counter]), 0, counter);
 	}
 	initializeModuleLocations(limitedModules);
+	initializeClasspathIndex();
 	initializeKnownFileNames(initialFileNames);
 	this.annotationsFromClasspath = annotationsFromClasspath;
 }
@@ -354,6 +362,58 @@ public static Classpath getClasspath(String classpathName, String encoding,
 	}
 	return result;
 }
+private void initializeClasspathIndex() {
+	String directory = System.getProperty(ClasspathIndex.DIRECTORY_PROPERTY);
+	if (directory == null)
+		return;
+	List<ArchiveRegistry.Archive> archives = new ArrayList<>();
+	int[] positions = new int[this.classpaths.length];
+	for (int i = 0, length = this.classpaths.length; i < length; i++) {
+		Classpath classpath = this.classpaths[i];
+		// only plain jars, whose packages are exactly those of their archive
+		if (classpath.getClass() == ClasspathJar.class && ((ClasspathJar) classpath).archive != null) {
+			positions[i] = archives.size();
+			archives.add(((ClasspathJar) classpath).archive);
+		} else {
+			positions[i] = -1;
+		}
+	}
+	if (archives.size() < 2)
+		return; // nothing to skip
+	this.classpathIndex = ClasspathIndex.get(new File(directory), archives);
+	if (this.classpathIndex != null) {
+		this.classpathIndexPositions = positions;
+		this.classpathsByPackage = new HashMap<>();
+	}
+}
+/**
+ * Answer the class path entries which may contain the given package, in class path order:
+ * all the entries unless the class path is indexed.
+ */
+private Classpath[] getClasspaths(String qualifiedPackageName) {
+	if (this.classpathIndex == null)
+		return this.classpaths;
+	Classpath[] result = this.classpathsByPackage.get(qualifiedPackageName);
+	if (result == null) {
+		int[] entries = this.classpathIndex.getEntries(qualifiedPackageName);
+		if (entries == null) {
+			result = this.classpaths;
+		} else {
+			boolean[] containsPackage = new boolean[this.classpathIndex.getEntryCount()];
+			for (int entry : entries)
+				containsPackage[entry] = true;
+			List<Classpath> candidates = new ArrayList<>();
+			for (int i = 0, length = this.classpaths.length; i < length; i++) {
+				int position = this.classpathIndexPositions[i];
+				if (position == -1 || containsPackage[position])
+					candidates.add(this.classpaths[i]);
+			}
+			result = candidates.toArray(new Classpath[candidates.size()]);
+		}
+		this.classpathsByPackage.put(qualifiedPackageName, result);
+	}
+	return result;
+}
 private void initializeKnownFileNames(String[] initialFileNames) {
 	if (initialFileNames == null) {
 		this.knownFileNames = new HashSet<>(0);
@@ -486,11 +546,12 @@ private NameEnvironmentAnswer internalFindClass(String qualifiedTypeName, char[]
 	}
 	String qp2 = File.separatorChar == '/' ? qualifiedPackageName : qualifiedPackageName.replace('/', File.separatorChar);
 	NameEnvironmentAnswer suggestedAnswer = null;
+	Classpath[] candidates = getClasspaths(qualifiedPackageName);
 	if (qualifiedPackageName == qp2) {
-		for (int i = 0, length = this.classpaths.length; i < length; i++) {
-			if (!strategy.matches(this.classpaths[i], Classpath::hasModule))
+		for (int i = 0, length = candidates.length; i < length; i++) {
+			if (!strategy.matches(candidates[i], Classpath::hasModule))
 				continue;
-			NameEnvironmentAnswer answer = this.classpaths[i].findClass(typeName, qualifiedPackageName, null, qualifiedBinaryFileName, asBinaryOnly);
+			NameEnvironmentAnswer answer = candidates[i].findClass(typeName, qualifiedPackageName, null, qualifiedBinaryFileName, asBinaryOnly);
 			if (answer != null) {
 				if (answer.moduleName() != null && !this.moduleLocations.containsKey(String.valueOf(answer.moduleName())))
 					continue; // type belongs to an unobservable module
@@ -504,8 +565,8 @@ private NameEnvironmentAnswer internalFindClass(String qualifiedTypeName, char[]
 		}
 	} else {
 		String qb2 = qualifiedBinaryFileName.replace('/', File.separatorChar);
-		for (int i = 0, length = this.classpaths.length; i < length; i++) {
-			Classpath p = this.classpaths[i];
+		for (int i = 0, length = candidates.length; i < length; i++) {
+			Classpath p = candidates[i];
 			if (!strategy.matches(p, Classpath::hasModule))
 				continue;
 			NameEnvironmentAnswer answer = !(p instanceof ClasspathDirectory)
@@ -610,7 +671,7 @@ public char[][] getModulesDeclaringPackage(char[][] packageName, char[] moduleNa
 	// search the entire environment and answer which modules declare that package:
 	char[][] allNames = null;
 	boolean hasUnobserable = false;
-	for (Classpath cp : this.classpaths) {
+	for (Classpath cp : getClasspaths(qualifiedPackageName)) {
 		if (strategy.matches(cp, Classpath::hasModule)) {
 			if (strategy == LookupStrategy.Unnamed) {
 				// short-cut
@@ -48,9 +48,11 @@ import java.io.PrintWriter;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.DateFormat;
@@ -72,6 +74,7 @@ import java.util.Properties;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
@@ -89,6 +92,7 @@ import org.eclipse.jdt.internal.compiler.IProblemFactory;
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
 import org.eclipse.jdt.internal.compiler.batch.ModuleFinder.AddExport;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeCache;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
@@ -112,6 +116,7 @@ import org.eclipse.jdt.internal.compiler.problem.DefaultProblem;
 import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.compiler.problem.ProblemSeverities;
+import org.eclipse.jdt.internal.compiler.util.CharDeduplication;
 import org.eclipse.jdt.internal.compiler.util.GenericXMLWriter;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfInt;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
@@ -740,6 +745,26 @@ public class Main implements ProblemSeverities, SuffixConstants {
 				}));
 		}
 
+		public void logNoJarCreated(String jarPath, IOException e) {
+			String message = this.main.bind("output.noJarCreated", jarPath, e.getMessage()); //$NON-NLS-1$
+			if ((this.tagBits & Logger.XML) != 0) {
+				HashMap<String, Object> parameters = new HashMap<>();
+				parameters.put(Logger.MESSAGE, message);
+				printTag(Logger.ERROR_TAG, parameters, true, true);
+			}
+			this.printlnErr(message);
+		}
+
+		public void logNoStatsFileCreated(String statsFileName, IOException e) {
+			String message = this.main.bind("output.noStatsFileCreated", statsFileName, e.getMessage()); //$NON-NLS-1$
+			if ((this.tagBits & Logger.XML) != 0) {
+				HashMap<String, Object> parameters = new HashMap<>();
+				parameters.put(Logger.MESSAGE, message);
+				printTag(Logger.ERROR_TAG, parameters, true, true);
+			}
+			this.printlnErr(message);
+		}
+
 		/**
 		 * @param exportedClassFilesCounter
 		 */
@@ -1060,6 +1085,50 @@ public class Main implements ProblemSeverities, SuffixConstants {
 								String.valueOf(compilerStats.generateTime),
 								String.valueOf(((int) (compilerStats.generateTime * 1000.0 / time)) / 10.0),
 							}));
+				if (!this.main.batchCompiler.useSingleThread) {
+					printlnOut(
+						this.main.bind("compile.queueTime", //$NON-NLS-1$
+							new String[] {
+								String.valueOf(compilerStats.processStallTime),
+								String.valueOf(compilerStats.acceptStallTime),
+							}));
+				}
+				if (compilerStats.inferenceMemoHits + compilerStats.inferenceMemoMisses > 0) {
+					printlnOut(
+						this.main.bind("compile.inferenceMemo", //$NON-NLS-1$
+							new String[] {
+								String.valueOf(compilerStats.inferenceMemoHits),
+								String.valueOf(compilerStats.inferenceMemoMisses),
+								String.valueOf(TimeUnit.NANOSECONDS.toMillis(compilerStats.inferenceMemoSavedTime)),
+							}));
+				}
+				if (compilerStats.methodLookupCacheHits + compilerStats.methodLookupCacheMisses > 0) {
+					printlnOut(
+						this.main.bind("compile.methodLookupCache", //$NON-NLS-1$
+							new String[] {
+								String.valueOf(compilerStats.methodLookupCacheHits),
+								String.valueOf(compilerStats.methodLookupCacheMisses),
+							}));
+				}
+				if (BinaryTypeCache.CAPACITY > 0) {
+					printlnOut(
+						this.main.bind("compile.binaryTypeCache", //$NON-NLS-1$
+							new String[] {
+								String.valueOf(BinaryTypeCache.getHits()),
+								String.valueOf(BinaryTypeCache.getMisses()),
+								String.valueOf(BinaryTypeCache.getEvictions()),
+								String.valueOf(BinaryTypeCache.size()),
+							}));
+				}
+				if (CharDeduplication.getDuplicates() > 0) {
+					printlnOut(
+						this.main.bind("compile.charDeduplication", //$NON-NLS-1$
+							new String[] {
+								String.valueOf(CharDeduplication.getDuplicates()),
+								String.valueOf(CharDeduplication.getSavedBytes() / 1024),
+								String.valueOf(CharDeduplication.getInternedCount()),
+							}));
+				}
 			}
 		}
 
@@ -1423,6 +1492,8 @@ public class Main implements ProblemSeverities, SuffixConstants {
 	private boolean didSpecifyTarget;
 	public String[] encodings;
 	public int exportedClassFilesCounter;
+	// writers of the destination paths naming a jar, closed at the end of each compilation
+	private Map<String, ClassFileJarWriter> jarWriters;
 	public String[] filenames;
 	public String[] modNames;
 	public String[] classNames;
@@ -1463,6 +1534,8 @@ public class Main implements ProblemSeverities, SuffixConstants {
 
 	public int timing = TIMING_DISABLED;
 	public CompilerStats[] compilerStats;
+	public String statsFileName; // JSON report of the statistics of each repetition
+	private List<CompilerStats> statsReports;
 	public boolean verbose = false;
 	private String[] expandedCommandLine;
 
@@ -1804,6 +1877,9 @@ public boolean compile(String[] argv) {
 			if (this.compilerStats != null) {
 				this.logger.logAverage();
 			}
+			if (this.statsFileName != null) {
+				writeStatsFile();
+			}
 			if (this.showProgress) this.logger.printNewLine();
 		}
 		if (this.systemExitWhenFinished) {
@@ -2261,6 +2337,23 @@ public void configure(String[] argv) {
 					this.failOnWarning = true;
 					continue;
 				}
+				if (currentArg.equals("-parallelParsing") || currentArg.startsWith("-parallelParsing:")) { //$NON-NLS-1$ //$NON-NLS-2$
+					mode = DEFAULT;
+					int threadCount = Runtime.getRuntime().availableProcessors();
+					if (currentArg.length() > 16) {
+						try {
+							threadCount = Integer.parseInt(currentArg.substring(17));
+						} catch (NumberFormatException e) {
+							threadCount = 0;
+						}
+						if (threadCount <= 0) {
+							throw new IllegalArgumentException(
+								this.bind("configure.parsingThreads", currentArg)); //$NON-NLS-1$
+						}
+					}
+					this.options.put(CompilerOptions.OPTION_ParsingThreads, String.valueOf(threadCount));
+					continue;
+				}
 				if (currentArg.equals("-time")) { //$NON-NLS-1$
 					mode = DEFAULT;
 					this.timing = TIMING_ENABLED;
@@ -2271,6 +2364,15 @@ public void configure(String[] argv) {
 					this.timing = TIMING_ENABLED|TIMING_DETAILED;
 					continue;
 				}
+				if (currentArg.startsWith("-stats:json=")) { //$NON-NLS-1$
+					mode = DEFAULT;
+					this.statsFileName = currentArg.substring("-stats:json=".length()); //$NON-NLS-1$
+					if (this.statsFileName.length() == 0) {
+						throw new IllegalArgumentException(
+							this.bind("configure.invalidStatsFile", currentArg)); //$NON-NLS-1$
+					}
+					continue;
+				}
 				if (currentArg.equals("-version") //$NON-NLS-1$
 						|| currentArg.equals("-v")) { //$NON-NLS-1$
 					this.logger.logVersion(true);
@@ -4653,7 +4755,7 @@ protected void initializeAnnotationProcessorManager() {
 	try {
 		Class<?> c = Class.forName(className);
 		AbstractAnnotationProcessorManager annotationManager = (AbstractAnnotationProcessorManager) c.getDeclaredConstructor().newInstance();
-		annotationManager.configure(this, this.expandedCommandLine);
+		annotationManager.configure(this, withoutJarDestination(this.expandedCommandLine));
 		annotationManager.setErr(this.err);
 		annotationManager.setOut(this.out);
 		this.batchCompiler.annotationProcessorManager = annotationManager;
@@ -4668,6 +4770,24 @@ protected void initializeAnnotationProcessorManager() {
 		this.logger.logIncorrectVMVersionForAnnotationProcessing();
 	}
 }
+/*
+ * The file manager of the annotation processors only accepts a directory as destination path. When it names a jar,
+ * the class files of the sources generated by processors go into the jar like the other ones, but the processors
+ * themselves get no class output location.
+ */
+private static String[] withoutJarDestination(String[] commandLine) {
+	if (commandLine == null)
+		return null;
+	for (int i = 0, length = commandLine.length - 1; i < length; i++) {
+		if ("-d".equals(commandLine[i]) && ClassFileJarWriter.isJar(commandLine[i + 1])) { //$NON-NLS-1$
+			String[] result = new String[length - 1];
+			System.arraycopy(commandLine, 0, result, 0, i);
+			System.arraycopy(commandLine, i + 2, result, i, length - i - 1);
+			return result;
+		}
+	}
+	return commandLine;
+}
 private static boolean isParentOf(char[] folderName, char[] fileName) {
 	if (folderName.length >= fileName.length) {
 		return false;
@@ -4684,8 +4804,13 @@ private static boolean isParentOf(char[] folderName, char[] fileName) {
 }
 // Dump classfiles onto disk for all compilation units that where successful
 // and do not carry a -d none spec, either directly or inherited from Main.
+// All the classfiles are given back to the pool of the lookup environment.
 public void outputClassFiles(CompilationResult unitResult) {
-	if (!((unitResult == null) || (unitResult.hasErrors() && !this.proceedOnError))) {
+	if (unitResult != null && unitResult.hasErrors() && !this.proceedOnError) {
+		this.batchCompiler.lookupEnvironment.releaseClassFiles(unitResult.getClassFiles());
+		return;
+	}
+	if (unitResult != null) {
 		ClassFile[] classFiles = unitResult.getClassFiles();
 		String currentDestinationPath = null;
 		boolean generateClasspathStructure = false;
@@ -4704,6 +4829,10 @@ public void outputClassFiles(CompilationResult unitResult) {
 			generateClasspathStructure = true;
 		} // else leave currentDestinationPath null
 		if (currentDestinationPath != null) {
+			if (generateClasspathStructure && ClassFileJarWriter.isJar(currentDestinationPath)) {
+				outputClassFilesToJar(currentDestinationPath, classFiles);
+				return;
+			}
 			for (int i = 0, fileCount = classFiles.length; i < fileCount; i++) {
 				// retrieve the key and the corresponding classfile
 				ClassFile classFile = classFiles[i];
@@ -4737,10 +4866,55 @@ public void outputClassFiles(CompilationResult unitResult) {
 					this.logger.logNoClassFileCreated(currentDestinationPath, relativeStringName, e);
 				}
 			}
-			this.batchCompiler.lookupEnvironment.releaseClassFiles(classFiles);
 		}
+		this.batchCompiler.lookupEnvironment.releaseClassFiles(classFiles);
 	}
 }
+/*
+ * Stream the class files into the jar named by the destination path, without creating any file per class.
+ */
+private void outputClassFilesToJar(String jarPath, ClassFile[] classFiles) {
+	if (this.jarWriters == null)
+		this.jarWriters = new HashMap<>();
+	ClassFileJarWriter writer = this.jarWriters.get(jarPath);
+	for (int i = 0, fileCount = classFiles.length; i < fileCount; i++) {
+		ClassFile classFile = classFiles[i];
+		String entryName = new String(CharOperation.concat(classFile.fileName(), SuffixConstants.SUFFIX_class));
+		try {
+			if (writer == null)
+				this.jarWriters.put(jarPath, writer = new ClassFileJarWriter(jarPath));
+			if (this.compilerOptions.verbose)
+				this.out.println(
+					Messages.bind(
+						Messages.compilation_write,
+						new String[] {
+							String.valueOf(this.exportedClassFilesCounter+1),
+							entryName
+						}));
+			writer.write(entryName, classFile.getBytes()); // a copy, the class file gets reused
+			this.logger.logClassFile(true, jarPath, entryName);
+			this.exportedClassFilesCounter++;
+		} catch (IOException e) {
+			this.logger.logNoClassFileCreated(jarPath, entryName, e);
+		}
+	}
+	this.batchCompiler.lookupEnvironment.releaseClassFiles(classFiles);
+}
+/*
+ * Complete the jars written by the compilation, see outputClassFilesToJar(String, ClassFile[]).
+ */
+private void closeJarWriters() {
+	if (this.jarWriters == null)
+		return;
+	for (ClassFileJarWriter writer : this.jarWriters.values()) {
+		try {
+			writer.close();
+		} catch (IOException e) {
+			this.logger.logNoJarCreated(writer.toString(), e);
+		}
+	}
+	this.jarWriters = null;
+}
 /*
  *  Low-level API performing the actual compilation
  */
@@ -4765,6 +4939,9 @@ public void performCompilation() {
 		// temporary code to allow the compiler to revert to a single thread
 		String setting = System.getProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
 		this.batchCompiler.useSingleThread = setting != null && setting.equals("true"); //$NON-NLS-1$
+		if (this.statsFileName != null) {
+			this.batchCompiler.stats.collectUnitStats();
+		}
 
 		if (this.compilerOptions.complianceLevel >= ClassFileConstants.JDK1_6
 				&& this.compilerOptions.processAnnotations) {
@@ -4789,6 +4966,7 @@ public void performCompilation() {
 			this.logger.startLoggingSources();
 			this.batchCompiler.compile(getCompilationUnits());
 		} finally {
+			closeJarWriters();
 			this.logger.endLoggingSources();
 		}
 
@@ -4799,6 +4977,11 @@ public void performCompilation() {
 		if (this.compilerStats != null) {
 			this.compilerStats[this.currentRepetition] = this.batchCompiler.stats;
 		}
+		if (this.statsFileName != null) {
+			if (this.statsReports == null)
+				this.statsReports = new ArrayList<>(this.maxRepetition);
+			this.statsReports.add(this.batchCompiler.stats);
+		}
 		this.logger.printStats();
 	}
 	finally {
@@ -4806,6 +4989,79 @@ public void performCompilation() {
 		environment.cleanup();
 	}
 }
+/**
+ * Write the statistics of all the repetitions as JSON into {@link #statsFileName}: overall times are
+ * in milliseconds, the times of each compilation unit in nanoseconds.
+ */
+protected void writeStatsFile() {
+	if (this.statsReports == null)
+		return;
+	StringBuilder json = new StringBuilder(1024);
+	json.append("{\"compilations\":["); //$NON-NLS-1$
+	for (int i = 0, length = this.statsReports.size(); i < length; i++) {
+		CompilerStats stats = this.statsReports.get(i);
+		if (i > 0)
+			json.append(',');
+		json.append("\n{\"timeMillis\":").append(stats.overallTime) //$NON-NLS-1$
+			.append(",\"parseTimeMillis\":").append(stats.parseTime) //$NON-NLS-1$
+			.append(",\"resolveTimeMillis\":").append(stats.resolveTime) //$NON-NLS-1$
+			.append(",\"analyzeTimeMillis\":").append(stats.analyzeTime) //$NON-NLS-1$
+			.append(",\"generateTimeMillis\":").append(stats.generateTime) //$NON-NLS-1$
+			.append(",\"lineCount\":").append(stats.lineCount) //$NON-NLS-1$
+			.append(",\"binaryTypeCount\":").append(stats.binaryTypeCount) //$NON-NLS-1$
+			.append(",\"inferenceCount\":").append(stats.inferenceCount) //$NON-NLS-1$
+			.append(",\"inferenceMemoHits\":").append(stats.inferenceMemoHits) //$NON-NLS-1$
+			.append(",\"inferenceMemoMisses\":").append(stats.inferenceMemoMisses) //$NON-NLS-1$
+			.append(",\"inferenceMemoSavedTimeMillis\":").append(TimeUnit.NANOSECONDS.toMillis(stats.inferenceMemoSavedTime)) //$NON-NLS-1$
+			.append(",\"methodLookupCacheHits\":").append(stats.methodLookupCacheHits) //$NON-NLS-1$
+			.append(",\"methodLookupCacheMisses\":").append(stats.methodLookupCacheMisses) //$NON-NLS-1$
+			.append(",\"classFileCount\":").append(stats.classFileCount) //$NON-NLS-1$
+			.append(",\"classFileBytes\":").append(stats.classFileBytes) //$NON-NLS-1$
+			.append(",\"units\":["); //$NON-NLS-1$
+		List<CompilerStats.UnitStats> allUnitStats = stats.getAllUnitStats();
+		for (int j = 0, unitCount = allUnitStats == null ? 0 : allUnitStats.size(); j < unitCount; j++) {
+			CompilerStats.UnitStats unitStats = allUnitStats.get(j);
+			if (j > 0)
+				json.append(',');
+			json.append("\n {\"file\":"); //$NON-NLS-1$
+			appendJsonString(json, unitStats.fileName);
+			json.append(",\"parseTimeNanos\":").append(unitStats.parseTime) //$NON-NLS-1$
+				.append(",\"resolveTimeNanos\":").append(unitStats.resolveTime) //$NON-NLS-1$
+				.append(",\"analyzeTimeNanos\":").append(unitStats.analyzeTime) //$NON-NLS-1$
+				.append(",\"generateTimeNanos\":").append(unitStats.generateTime) //$NON-NLS-1$
+				.append(",\"lineCount\":").append(unitStats.lineCount) //$NON-NLS-1$
+				.append(",\"classFileCount\":").append(unitStats.classFileCount) //$NON-NLS-1$
+				.append(",\"classFileBytes\":").append(unitStats.classFileBytes) //$NON-NLS-1$
+				.append('}');
+		}
+		json.append("]}"); //$NON-NLS-1$
+	}
+	json.append("\n]}\n"); //$NON-NLS-1$
+	try (Writer writer = new OutputStreamWriter(new FileOutputStream(this.statsFileName), StandardCharsets.UTF_8)) {
+		writer.write(json.toString());
+	} catch (IOException e) {
+		this.logger.logNoStatsFileCreated(this.statsFileName, e);
+	}
+}
+private static void appendJsonString(StringBuilder json, String value) {
+	json.append('"');
+	for (int i = 0, length = value.length(); i < length; i++) {
+		char c = value.charAt(i);
+		switch (c) {
+			case '"' :
+			case '\\' :
+				json.append('\\').append(c);
+				break;
+			default :
+				if (c < 0x20) {
+					json.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+				} else {
+					json.append(c);
+				}
+		}
+	}
+	json.append('"');
+}
 protected void loggingExtraProblems() {
 	this.logger.loggingExtraProblems(this);
 }
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.classfmt;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process wide cache of the class file readers decoded from the class path, so that the types of the
+ * platform and of the libraries are not decoded again by every lookup environment (batch compilations,
+ * builders and reconcilers alike).
+ * <p>
+ * Cached readers are fully initialized, hence immutable and free of their class file bytes, and can be
+ * shared by concurrent compilations. A reader is identified by the <em>location</em> it was read from,
+ * which must change whenever the location changes on disk (e.g. an archive path along with its time
+ * stamp and size), and by its file name in that location.
+ * </p><p>
+ * The cache holds at most {@link #CAPACITY} readers, least recently used first out, and only softly
+ * references them so that the garbage collector can reclaim them under memory pressure. Setting the
+ * capacity to <code>0</code> disables the cache.
+ * </p>
+ */
+public final class BinaryTypeCache {
+
+	/** Reads a class file, answering null if it does not exist */
+	public interface Loader {
+		ClassFileReader load(boolean fullyInitialize) throws ClassFormatException, IOException;
+	}
+
+	public static final int DEFAULT_CAPACITY = 10000;
+	/** System property overriding {@link #DEFAULT_CAPACITY} */
+	public static final String CAPACITY_PROPERTY = "jdt.compiler.binaryTypeCacheSize"; //$NON-NLS-1$
+	public static final int CAPACITY = Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY).intValue();
+
+	private static final LongAdder Hits = new LongAdder();
+	private static final LongAdder Misses = new LongAdder();
+	private static final LongAdder Evictions = new LongAdder();
+
+	// access ordered, guarded by itself
+	private static final Map<String, SoftReference<ClassFileReader>> Readers = new LinkedHashMap<String, SoftReference<ClassFileReader>>(1024, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, SoftReference<ClassFileReader>> eldest) {
+			if (size() > CAPACITY) {
+				Evictions.increment();
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private BinaryTypeCache() {
+		// no instance
+	}
+
+/**
+ * Answer the reader of the given file in the given location, using the given loader if it is not cached yet.
+ * Loading happens outside of any lock: concurrent first requests for the same reader may both load it.
+ * @return the cached reader, or null if the loader did not find the file
+ */
+public static ClassFileReader get(String location, String fileName, Loader loader) throws ClassFormatException, IOException {
+	if (CAPACITY <= 0)
+		return loader.load(false);
+	String key = location + '|' + fileName;
+	synchronized (Readers) {
+		SoftReference<ClassFileReader> reference = Readers.get(key);
+		if (reference != null) {
+			ClassFileReader reader = reference.get();
+			if (reader != null) {
+				Hits.increment();
+				return reader;
+			}
+			// reclaimed by the garbage collector
+			Readers.remove(key);
+			Evictions.increment();
+		}
+	}
+	ClassFileReader reader = loader.load(true);
+	if (reader != null) {
+		Misses.increment(); // lookups of missing files are not cached, hence not counted either
+		synchronized (Readers) {
+			Readers.put(key, new SoftReference<>(reader));
+		}
+	}
+	return reader;
+}
+
+/** Forget all the cached readers, along with the statistics */
+public static void clear() {
+	synchronized (Readers) {
+		Readers.clear();
+	}
+	Hits.reset();
+	Misses.reset();
+	Evictions.reset();
+}
+
+/** Number of readers answered from the cache */
+public static long getHits() {
+	return Hits.sum();
+}
+
+/** Number of readers which had to be loaded, i.e. decoded from their class file */
+public static long getMisses() {
+	return Misses.sum();
+}
+
+/** Number of readers dropped from the cache, either when it is full or when reclaimed by the garbage collector */
+public static long getEvictions() {
+	return Evictions.sum();
+}
+
+/** Number of readers currently cached, including those which have been reclaimed but not noticed yet */
+public static int size() {
+	synchronized (Readers) {
+		return Readers.size();
+	}
+}
+}
@@ -47,6 +47,7 @@ import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
 import org.eclipse.jdt.internal.compiler.lookup.TagBits;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
+import org.eclipse.jdt.internal.compiler.util.CharDeduplication;
 import org.eclipse.jdt.internal.compiler.util.JRTUtil;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
@@ -197,7 +198,18 @@ public ClassFileReader(byte classFileBytes[], char[] fileName) throws ClassForma
  * @exception ClassFormatException
  */
 public ClassFileReader(URI path, byte classFileBytes[], char[] fileName) throws ClassFormatException {
-	this(classFileBytes, fileName, false);
+	this(path, classFileBytes, fileName, false);
+}
+/**
+ * @param path URI pointing to the resource of the .class file
+ * @param classFileBytes Actual bytes of a .class file
+ * @param fileName	Actual name of the file that contains the bytes, can be null
+ * @param fullyInitialize Flag to fully initialize the new object
+ *
+ * @exception ClassFormatException
+ */
+public ClassFileReader(URI path, byte classFileBytes[], char[] fileName, boolean fullyInitialize) throws ClassFormatException {
+	this(classFileBytes, fileName, fullyInitialize);
 	this.path = path;
 	if (this.moduleDeclaration != null)
 		this.moduleDeclaration.path = this.path;
@@ -658,7 +670,7 @@ public IBinaryTypeAnnotation[] getTypeAnnotations() {
  */
 private char[] getConstantClassNameAt(int constantPoolIndex) {
 	int utf8Offset = this.constantPoolOffsets[u2At(this.constantPoolOffsets[constantPoolIndex] + 1)];
-	return utf8At(utf8Offset + 3, u2At(utf8Offset + 1));
+	return CharDeduplication.intern(utf8At(utf8Offset + 3, u2At(utf8Offset + 1)));
 }
 
 /**
@@ -13,12 +13,22 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.codegen;
 
-import org.eclipse.jdt.core.compiler.CharOperation;
+import java.util.Arrays;
 
+/**
+ * Hashtable from char arrays to positive ints, such as the indexes of the constant pool entries.
+ * <p>
+ * The table size is a power of two and collisions probe the next slots. The hash of each key
+ * is stored beside it, so that probes compare the hashes before comparing the keys, and so
+ * that growing the table does not hash the keys again. Removing a key moves the following
+ * keys of its probe sequence back, which keeps them reachable.
+ * </p>
+ */
 public class CharArrayCache {
 	// to avoid using Enumerations, walk the individual tables skipping nulls
 	public char[] keyTable[];
 	public int valueTable[];
+	int hashTable[];
 	int elementSize; // number of elements in the table
 	int threshold;
 /**
@@ -32,39 +42,56 @@ public CharArrayCache() {
  * Constructs a new, empty hashtable with the specified initial
  * capacity.
  * @param initialCapacity int
- *	the initial number of buckets; must be less than Integer.MAX_VALUE / 2
+ *	the initial number of buckets, rounded up to a power of two; must be less than 2^30
  */
 public CharArrayCache(int initialCapacity) {
+	int capacity = 4;
+	while (capacity < initialCapacity)
+		capacity <<= 1;
 	this.elementSize = 0;
-	this.threshold = (initialCapacity * 2) / 3; // faster than float operation
-	this.keyTable = new char[initialCapacity][];
-	this.valueTable = new int[initialCapacity];
+	this.threshold = (capacity * 2) / 3; // faster than float operation
+	this.keyTable = new char[capacity][];
+	this.valueTable = new int[capacity];
+	this.hashTable = new int[capacity];
 }
 /**
  * Clears the hash table so that it has no more elements in it.
  */
 public void clear() {
-	for (int i = this.keyTable.length; --i >= 0;) {
-		this.keyTable[i] = null;
-		this.valueTable[i] = 0;
-	}
+	if (this.elementSize == 0)
+		return;
+	Arrays.fill(this.keyTable, null);
+	Arrays.fill(this.valueTable, 0);
 	this.elementSize = 0;
 }
+/**
+ * Spreads the hashes of similar names, which differ in their low bits only, over the whole table.
+ */
+private static int indexFor(int hash, int mask) {
+	int h = hash * 0x9E3779B9;
+	return (h ^ (h >>> 16)) & mask;
+}
+/**
+ * Answers the slot of the given key, or the complement of the free slot where it would be added.
+ */
+private int slotOf(char[] key, int hash) {
+	char[][] keys = this.keyTable;
+	int mask = keys.length - 1, index = indexFor(hash, mask);
+	char[] currentKey;
+	while ((currentKey = keys[index]) != null) {
+		if (this.hashTable[index] == hash && Arrays.equals(currentKey, key))
+			return index;
+		index = (index + 1) & mask; // faster than modulo
+	}
+	return ~index;
+}
 /** Returns true if the collection contains an element for the key.
  *
  * @param key char[] the key that we are looking for
  * @return boolean
  */
 public boolean containsKey(char[] key) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
-			return true;
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
-	}
-	return false;
+	return slotOf(key, Arrays.hashCode(key)) >= 0;
 }
 /** Gets the object associated with the specified key in the
  * hashtable.
@@ -73,15 +100,8 @@ public boolean containsKey(char[] key) {
  *	defined in the hash table.
  */
 public int get(char[] key) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
-			return this.valueTable[index];
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
-	}
-	return -1;
+	int slot = slotOf(key, Arrays.hashCode(key));
+	return slot >= 0 ? this.valueTable[slot] : -1;
 }
 /**
  * Puts the specified element into the hashtable if it wasn't there already,
@@ -93,80 +113,68 @@ public int get(char[] key) {
  * @return int the old value of the key, or -value if it did not have one.
  */
 public int putIfAbsent(char[] key, int value) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
-			return this.valueTable[index];
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
-	}
-	this.keyTable[index] = key;
-	this.valueTable[index] = value;
+	int hash = Arrays.hashCode(key);
+	int slot = slotOf(key, hash);
+	if (slot >= 0)
+		return this.valueTable[slot];
+	slot = ~slot;
+	this.keyTable[slot] = key;
+	this.valueTable[slot] = value;
+	this.hashTable[slot] = hash;
 
 	// assumes the threshold is never equal to the size of the table
 	if (++this.elementSize > this.threshold)
 		rehash();
 	return -value; // negative when added (value is assumed to be > 0)
 }
-
-/**
- * Puts the specified element into the hashtable, using the specified
- * key.  The element may be retrieved by doing a get() with the same key.
- * The key and the element cannot be null.
- *
- * @param key <CODE>Object</CODE> the specified key in the hashtable
- * @param value <CODE>int</CODE> the specified element
- * @return int the old value of the key, or -1 if it did not have one.
- */
-private int put(char[] key, int value) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
-			return this.valueTable[index] = value;
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
-	}
-	this.keyTable[index] = key;
-	this.valueTable[index] = value;
-
-	// assumes the threshold is never equal to the size of the table
-	if (++this.elementSize > this.threshold)
-		rehash();
-	return value;
-}
 /**
  * Rehashes the content of the table into a bigger table.
  * This method is called automatically when the hashtable's
  * size exceeds the threshold.
  */
 private void rehash() {
-	CharArrayCache newHashtable = new CharArrayCache(this.keyTable.length * 2);
-	for (int i = this.keyTable.length; --i >= 0;)
-		if (this.keyTable[i] != null)
-			newHashtable.put(this.keyTable[i], this.valueTable[i]);
-
-	this.keyTable = newHashtable.keyTable;
-	this.valueTable = newHashtable.valueTable;
-	this.threshold = newHashtable.threshold;
+	char[][] oldKeys = this.keyTable;
+	int[] oldValues = this.valueTable;
+	int[] oldHashes = this.hashTable;
+	int capacity = oldKeys.length * 2, mask = capacity - 1;
+	this.keyTable = new char[capacity][];
+	this.valueTable = new int[capacity];
+	this.hashTable = new int[capacity];
+	this.threshold = (capacity * 2) / 3;
+	for (int i = 0, length = oldKeys.length; i < length; i++) {
+		if (oldKeys[i] == null)
+			continue;
+		int hash = oldHashes[i], index = indexFor(hash, mask);
+		while (this.keyTable[index] != null)
+			index = (index + 1) & mask;
+		this.keyTable[index] = oldKeys[i];
+		this.valueTable[index] = oldValues[i];
+		this.hashTable[index] = hash;
+	}
 }
 /** Remove the object associated with the specified key in the
  * hashtable.
  * @param key <CODE>char[]</CODE> the specified key
  */
 public void remove(char[] key) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key)) {
-			this.valueTable[index] = 0;
-			this.keyTable[index] = null;
-			return;
-		}
-		if (++index == length) { // faster than modulo
-			index = 0;
+	int hole = slotOf(key, Arrays.hashCode(key));
+	if (hole < 0)
+		return;
+	char[][] keys = this.keyTable;
+	int mask = keys.length - 1;
+	// move back the following keys which can no longer be reached from their home slot
+	for (int index = (hole + 1) & mask; keys[index] != null; index = (index + 1) & mask) {
+		int home = indexFor(this.hashTable[index], mask);
+		if (((index - home) & mask) >= ((index - hole) & mask)) {
+			keys[hole] = keys[index];
+			this.valueTable[hole] = this.valueTable[index];
+			this.hashTable[hole] = this.hashTable[index];
+			hole = index;
 		}
 	}
+	keys[hole] = null;
+	this.valueTable[hole] = 0;
+	this.elementSize--;
 }
 /**
  * Returns the key corresponding to the value. Returns null if the
@@ -176,7 +184,7 @@ public void remove(char[] key) {
  */
 public char[] returnKeyFor(int value) {
 	for (int i = this.keyTable.length; i-- > 0;) {
-		if (this.valueTable[i] == value) {
+		if (this.keyTable[i] != null && this.valueTable[i] == value) {
 			return this.keyTable[i];
 		}
 	}
@@ -197,15 +205,13 @@ public int size() {
  */
 @Override
 public String toString() {
-	int max = size();
 	StringBuilder buf = new StringBuilder();
 	buf.append("{"); //$NON-NLS-1$
-	for (int i = 0; i < max; ++i) {
+	String separator = ""; //$NON-NLS-1$
+	for (int i = 0, length = this.keyTable.length; i < length; ++i) {
 		if (this.keyTable[i] != null) {
-			buf.append(this.keyTable[i]).append("->").append(this.valueTable[i]); //$NON-NLS-1$
-		}
-		if (i < max) {
-			buf.append(", "); //$NON-NLS-1$
+			buf.append(separator).append(this.keyTable[i]).append("->").append(this.valueTable[i]); //$NON-NLS-1$
+			separator = ", "; //$NON-NLS-1$
 		}
 	}
 	buf.append("}"); //$NON-NLS-1$
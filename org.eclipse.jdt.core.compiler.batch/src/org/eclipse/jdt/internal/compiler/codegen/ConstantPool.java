@@ -29,8 +29,8 @@ import org.eclipse.jdt.internal.compiler.lookup.TagBits;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
+import org.eclipse.jdt.internal.compiler.util.CharArrayHashMap;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfInteger;
-import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
 import org.eclipse.jdt.internal.compiler.util.Util;
 /**
  * This type is used to store all the constant pool entries.
@@ -40,11 +40,11 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	public static final int FLOAT_INITIAL_SIZE = 3;
 	public static final int INT_INITIAL_SIZE = 248;
 	public static final int LONG_INITIAL_SIZE = 5;
-	public static final int UTF8_INITIAL_SIZE = 778;
-	public static final int STRING_INITIAL_SIZE = 761;
-	public static final int METHODS_AND_FIELDS_INITIAL_SIZE = 450;
-	public static final int CLASS_INITIAL_SIZE = 86;
-	public static final int NAMEANDTYPE_INITIAL_SIZE = 272;
+	public static final int UTF8_INITIAL_SIZE = 512;
+	public static final int STRING_INITIAL_SIZE = 512;
+	public static final int METHODS_AND_FIELDS_INITIAL_SIZE = 256;
+	public static final int CLASS_INITIAL_SIZE = 64;
+	public static final int NAMEANDTYPE_INITIAL_SIZE = 256;
 	public static final int CONSTANTPOOL_INITIAL_SIZE = 2000;
 	public static final int CONSTANTPOOL_GROW_SIZE = 6000;
 	public static final int DYNAMIC_INITIAL_SIZE = 10;
@@ -54,11 +54,11 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	protected LongCache longCache;
 	public CharArrayCache UTF8Cache;
 	protected CharArrayCache stringCache;
-	protected HashtableOfObject methodsAndFieldsCache;
+	protected CharArrayHashMap<CharArrayHashMap<Object>> methodsAndFieldsCache;
 	protected CharArrayCache classCache;
 	protected CharArrayCache moduleCache;
 	protected CharArrayCache packageCache;
-	protected HashtableOfObject nameAndTypeCacheForFieldsAndMethods;
+	protected CharArrayHashMap<Object> nameAndTypeCacheForFieldsAndMethods;
 	protected HashtableOfInteger dynamicCache;
 	public byte[] poolContent;
 	public int currentIndex = 1;
@@ -333,11 +333,11 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	public ConstantPool(ClassFile classFile) {
 		this.UTF8Cache = new CharArrayCache(UTF8_INITIAL_SIZE);
 		this.stringCache = new CharArrayCache(STRING_INITIAL_SIZE);
-		this.methodsAndFieldsCache = new HashtableOfObject(METHODS_AND_FIELDS_INITIAL_SIZE);
+		this.methodsAndFieldsCache = new CharArrayHashMap<>(METHODS_AND_FIELDS_INITIAL_SIZE);
 		this.classCache = new CharArrayCache(CLASS_INITIAL_SIZE);
 		this.moduleCache = new CharArrayCache(5);
 		this.packageCache = new CharArrayCache(5);
-		this.nameAndTypeCacheForFieldsAndMethods = new HashtableOfObject(NAMEANDTYPE_INITIAL_SIZE);
+		this.nameAndTypeCacheForFieldsAndMethods = new CharArrayHashMap<>(NAMEANDTYPE_INITIAL_SIZE);
 		this.dynamicCache = new HashtableOfInteger(DYNAMIC_INITIAL_SIZE);
 		this.offsets = new int[5];
 		initialize(classFile);
@@ -1150,9 +1150,10 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	 * @return the given index
 	 */	private int putInDynamicCacheIfAbsent(int bootstrapIndex, final char[] selector, final char[] descriptor, final int value) {
 		int index;
-		HashtableOfObject key1Value = (HashtableOfObject) this.dynamicCache.get(bootstrapIndex);
+		@SuppressWarnings("unchecked")
+		CharArrayHashMap<Object> key1Value = (CharArrayHashMap<Object>) this.dynamicCache.get(bootstrapIndex);
 		if (key1Value == null) {
-			key1Value = new HashtableOfObject();
+			key1Value = new CharArrayHashMap<>(1);
 			this.dynamicCache.put(bootstrapIndex, key1Value);
 			CachedIndexEntry cachedIndexEntry = new CachedIndexEntry(descriptor, value);
 			index = -value;
@@ -1191,9 +1192,9 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	 */
 	private int putInCacheIfAbsent(final char[] key1, final char[] key2, final char[] key3, int value) {
 		int index;
-		HashtableOfObject key1Value = (HashtableOfObject) this.methodsAndFieldsCache.get(key1);
+		CharArrayHashMap<Object> key1Value = this.methodsAndFieldsCache.get(key1);
 		if (key1Value == null) {
-			key1Value = new HashtableOfObject();
+			key1Value = new CharArrayHashMap<>(1);
 			this.methodsAndFieldsCache.put(key1, key1Value);
 			CachedIndexEntry cachedIndexEntry = new CachedIndexEntry(key3, value);
 			index = -value;
@@ -102,6 +102,9 @@ public class UnconditionalFlowInfo extends FlowInfo {
 		// extra[INN] is iNNBit
 		// lifecycle is extra == null or else all extra[]'s are allocated
 		// arrays which have the same size
+	private int sharedExtra;
+		// copy on write: bit j is set when extra[j] may be shared with other
+		// flow infos, and must be cloned before this flow info writes into it
 
 	public int maxFieldCount; // limit between fields and locals
 
@@ -109,6 +112,11 @@ public class UnconditionalFlowInfo extends FlowInfo {
 	public static final int BitCacheSize = 64; // 64 bits in a long.
 	public static final int IN = 6;
 	public static final int INN = 7;
+	// masks of extra[]'s, as used by sharedExtra
+	private static final int INITS_EXTRA = 1 << 0 | 1 << 1;
+	private static final int NULL_EXTRA = 1 << 2 | 1 << 3 | 1 << 4 | 1 << 5;
+	private static final int INCOMING_EXTRA = 1 << IN | 1 << INN;
+	private static final int ALL_EXTRA = (1 << extraLength) - 1;
 
 /* fakeInitializedFlowInfo: For Lambda expressions tentative analysis during overload resolution.
    We presume that any and all outer locals touched by the lambda are definitely assigned and
@@ -267,6 +275,7 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 			// shortcut regular copy because array copy is better
 			int otherLength;
 			this.extra = new long[extraLength][];
+			this.sharedExtra = 0;
 			this.extra[0] = new long[otherLength = otherInits.extra[0].length];
 			this.extra[1] = new long[otherLength];
 			if (handleInits) {
@@ -305,8 +314,16 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 		if (handleInits) {
 			// manage definite assignment info
 			for (i = 0; i < mergeLimit; i++) {
-				this.extra[0][i] |= otherInits.extra[0][i];
-				this.extra[1][i] |= otherInits.extra[1][i];
+				long definite = this.extra[0][i] | otherInits.extra[0][i];
+				long potential = this.extra[1][i] | otherInits.extra[1][i];
+				if (definite != this.extra[0][i] || potential != this.extra[1][i]) {
+					ownExtra(INITS_EXTRA);
+					this.extra[0][i] = definite;
+					this.extra[1][i] = potential;
+				}
+			}
+			if (i < copyLimit) {
+				ownExtra(INITS_EXTRA);
 			}
 			for (; i < copyLimit; i++) {
 				this.extra[0][i] = otherInits.extra[0][i];
@@ -325,6 +342,9 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 		  	copyLimit = 0;
 		  	mergeLimit = 0;
 		}
+		if (mergeLimit > 0 || copyLimit > 0) {
+			ownExtra(NULL_EXTRA | INCOMING_EXTRA);
+		}
 		for (i = 0; i < mergeLimit; i++) {
 			a1 = this.extra[1 + 1][i];
 			a2 = this.extra[2 + 1][i];
@@ -428,7 +448,11 @@ public FlowInfo addPotentialInitializationsFrom(FlowInfo inits) {
 			else {
 				// current storage is longer
 				for (; i < otherLength; i++) {
-					this.extra[1][i] |= otherInits.extra[1][i];
+					long potential = this.extra[1][i] | otherInits.extra[1][i];
+					if (potential != this.extra[1][i]) {
+						ownExtra(1 << 1);
+						this.extra[1][i] = potential;
+					}
 				}
 			}
 		}
@@ -544,6 +568,7 @@ public UnconditionalFlowInfo addPotentialNullInfoFrom(
 			}
 		}
 		// PREMATURE skip operations for fields
+		ownExtra(NULL_EXTRA);
 		int i;
 		for (i = 0 ; i < mergeLimit ; i++) {
     		this.extra[1 + 1][i]  = (a1 = this.extra[1 + 1][i])
@@ -713,26 +738,18 @@ public FlowInfo copy() {
 	copy.tagBits = this.tagBits;
 	copy.maxFieldCount = this.maxFieldCount;
 	if (this.extra != null) {
-		int length;
+		// share the extra bits, both flow infos will copy them on write
 		copy.extra = new long[extraLength][];
-		System.arraycopy(this.extra[0], 0,
-			(copy.extra[0] = new long[length = this.extra[0].length]), 0,
-			length);
-		System.arraycopy(this.extra[1], 0,
-			(copy.extra[1] = new long[length]), 0, length);
-		if (hasNullInfo) {
-			for (int j = 2; j < 6; j++) {
-				System.arraycopy(this.extra[j], 0,
-					(copy.extra[j] = new long[length]), 0, length);
-			}
-		}
-		else {
-			for (int j = 2; j < 6; j++) {
+		System.arraycopy(this.extra, 0, copy.extra, 0, extraLength);
+		int shared = ALL_EXTRA;
+		if (!hasNullInfo) {
+			for (int j = 2, length = this.extra[0].length; j < 6; j++) {
 				copy.extra[j] = new long[length];
 			}
+			shared &= ~NULL_EXTRA;
 		}
-		System.arraycopy(this.extra[IN], 0, (copy.extra[IN] = new long[length]), 0, length);
-		System.arraycopy(this.extra[INN], 0, (copy.extra[INN] = new long[length]), 0, length);
+		this.sharedExtra |= shared;
+		copy.sharedExtra = shared;
 	}
 	return copy;
 }
@@ -749,6 +766,7 @@ public UnconditionalFlowInfo discardInitializationInfo() {
 	this.definiteInits =
 		this.potentialInits = 0;
 	if (this.extra != null) {
+		ownExtra(INITS_EXTRA);
 		for (int i = 0, length = this.extra[0].length; i < length; i++) {
 			this.extra[0][i] = this.extra[1][i] = 0;
 		}
@@ -781,6 +799,7 @@ public UnconditionalFlowInfo discardNonFieldInitializations() {
 	if ((vectorIndex = (limit / BitCacheSize) - 1) >= length) {
 		return this; // not enough room yet
 	}
+	ownExtra(ALL_EXTRA);
 	if (vectorIndex >= 0) {
 		// else we only have complete non field array items left
 		long mask = (1L << (limit % BitCacheSize))-1;
@@ -1203,6 +1222,7 @@ public void markAsComparedEqualToNonNull(LocalVariableBinding local) {
 					}
 				}
 			}
+			ownExtra(NULL_EXTRA | INCOMING_EXTRA);
 			// MACRO :'b,'es/nullBit\(.\)/extra[\1 + 1][vectorIndex]/gc
 			if (((mask = 1L << (position % BitCacheSize))
   				& (a1 = this.extra[1 + 1][vectorIndex])
@@ -1295,6 +1315,7 @@ public void markAsComparedEqualToNull(LocalVariableBinding local) {
 					}
 				}
 			}
+			ownExtra(NULL_EXTRA | INCOMING_EXTRA);
 			if ((mask & this.extra[1 + 1][vectorIndex]) != 0) {
   			  	if ((mask
   			  		& (~this.extra[2 + 1][vectorIndex] | this.extra[3 + 1][vectorIndex]
@@ -1345,10 +1366,12 @@ final private void markAsDefinitelyAssigned(int position) {
 					growSpace(vectorIndex + 1, 0, oldLength);
 				}
 			}
-			long mask;
-			this.extra[0][vectorIndex] |=
-				(mask = 1L << (position % BitCacheSize));
-			this.extra[1][vectorIndex] |= mask;
+			long mask = 1L << (position % BitCacheSize);
+			if ((this.extra[0][vectorIndex] & this.extra[1][vectorIndex] & mask) == 0) {
+				ownExtra(INITS_EXTRA);
+				this.extra[0][vectorIndex] |= mask;
+				this.extra[1][vectorIndex] |= mask;
+			}
 		}
 	}
 }
@@ -1402,6 +1425,7 @@ public void markAsDefinitelyNonNull(LocalVariableBinding local) {
     				growSpace(vectorIndex + 1, 0, oldLength);
     			}
     		}
+    		ownExtra(NULL_EXTRA | INCOMING_EXTRA);
     		this.extra[2][vectorIndex]
     		    |= (mask = 1L << (position % BitCacheSize));
     		this.extra[4][vectorIndex] |= mask;
@@ -1456,6 +1480,7 @@ public void markAsDefinitelyNull(LocalVariableBinding local) {
     				growSpace(vectorIndex + 1, 0, oldLength);
     			}
     		}
+    		ownExtra(NULL_EXTRA | INCOMING_EXTRA);
     		this.extra[2][vectorIndex]
     		    |= (mask = 1L << (position % BitCacheSize));
     		this.extra[3][vectorIndex] |= mask;
@@ -1517,6 +1542,7 @@ public void markAsDefinitelyUnknown(LocalVariableBinding local) {
 					growSpace(vectorIndex+1, 0, oldLength);
 				}
 			}
+			ownExtra(NULL_EXTRA | INCOMING_EXTRA);
 			this.extra[2][vectorIndex]
 			    |= (mask = 1L << (position % BitCacheSize));
 			this.extra[5][vectorIndex] |= mask;
@@ -1556,6 +1582,7 @@ public void resetNullInfo(LocalVariableBinding local) {
     			// before and for which no null bits exist.
     			return;
     		}
+    		ownExtra(NULL_EXTRA | INCOMING_EXTRA);
     		this.extra[2][vectorIndex]
     		    &= (mask = ~(1L << (position % BitCacheSize)));
     		this.extra[3][vectorIndex] &= mask;
@@ -1601,6 +1628,7 @@ public void markPotentiallyUnknownBit(LocalVariableBinding local) {
     				growSpace(vectorIndex + 1, 0, oldLength);
 				}
 			}
+    		ownExtra(NULL_EXTRA);
     		mask = 1L << (position % BitCacheSize);
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'unknown' mark in unexpected state"); //$NON-NLS-1$
     		this.extra[5][vectorIndex] |= mask;
@@ -1645,6 +1673,7 @@ public void markPotentiallyNullBit(LocalVariableBinding local) {
     				growSpace(vectorIndex + 1, 0, oldLength);
 				}
 			}
+    		ownExtra(NULL_EXTRA);
     		mask = 1L << (position % BitCacheSize);
     		this.extra[3][vectorIndex] |= mask;
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'potentially null' mark in unexpected state"); //$NON-NLS-1$
@@ -1689,6 +1718,7 @@ public void markPotentiallyNonNullBit(LocalVariableBinding local) {
 					growSpace(vectorIndex + 1, 0, oldLength);
 				}
 			}
+    		ownExtra(NULL_EXTRA);
     		mask = 1L << (position % BitCacheSize);
     		isTrue((this.extra[2][vectorIndex] & mask) == 0, "Adding 'potentially non-null' mark in unexpected state"); //$NON-NLS-1$
     		this.extra[4][vectorIndex] |= mask;
@@ -1860,6 +1890,7 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 			// no storage here, but other has extra storage.
 			int otherLength = otherInits.extra[0].length;
 			this.extra = new long[extraLength][];
+			this.sharedExtra = 0;
 			for (int j = 0; j < extraLength; j++) {
 				this.extra[j] = new long[otherLength];
 			}
@@ -1875,10 +1906,18 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 			}
 		}
         // MACRO :'b,'es/nullBit\(.\)/extra[\1 + 1][i]/g
-		// manage definite assignment
+		// manage definite assignment, only touching the words that change
 		for (i = 0; i < mergeLimit; i++) {
-	  		this.extra[0][i] &= otherInits.extra[0][i];
-	  		this.extra[1][i] |= otherInits.extra[1][i];
+			long definite = this.extra[0][i] & otherInits.extra[0][i];
+			long potential = this.extra[1][i] | otherInits.extra[1][i];
+			if (definite != this.extra[0][i] || potential != this.extra[1][i]) {
+				ownExtra(INITS_EXTRA);
+				this.extra[0][i] = definite;
+				this.extra[1][i] = potential;
+			}
+		}
+		if (i < copyLimit || i < resetLimit) {
+			ownExtra(INITS_EXTRA);
 		}
 		for (; i < copyLimit; i++) {
 		  	this.extra[1][i] = otherInits.extra[1][i];
@@ -1900,6 +1939,7 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 		}
 		i = 0;
 		if (thisWasUnreachable) {
+			ownExtra(NULL_EXTRA);
 			if (otherInits.extra != null) {
 				// take null info only from other, as much as available and without shedding doubt:
 				for (; i < mergeLimit; i++) {
@@ -1917,19 +1957,20 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 				this.extra[4 + 1][i] = 0;
 			}
 		} else {
-			// compose nulls
+			// compose nulls, only touching the words that change
 			for (; i < mergeLimit; i++) {
-	    		this.extra[1 + 1][i] = (a1=this.extra[1+1][i]) & (b1=otherInits.extra[1+1][i]) & (
+				long n1, n2, n3, n4, in, inn;
+	    		n1 = (a1=this.extra[1+1][i]) & (b1=otherInits.extra[1+1][i]) & (
 	    				((a2=this.extra[2+1][i]) & (((b2=otherInits.extra[2+1][i]) &
 	    												~(((a3=this.extra[3+1][i]) & (a4=this.extra[4+1][i])) ^ ((b3=otherInits.extra[3+1][i]) & (b4=otherInits.extra[4+1][i]))))
 	    											|(a3 & a4 & (nb2=~b2))))
 	    				|((na2=~a2) & ((b2 & b3 & b4)
 	    						|(nb2 & ((na3=~a3) ^ b3)))));
-	    		this.extra[2 + 1][i] = b2 & ((nb3=~b3) | (nb1 = ~b1) | a3 & (a4 | (na1 = ~a1)) & (nb4=~b4))
+	    		n2 = b2 & ((nb3=~b3) | (nb1 = ~b1) | a3 & (a4 | (na1 = ~a1)) & (nb4=~b4))
 	        			| a2 & (b2 | (na4=~a4) & b3 & (b4 | nb1) | na3 | na1);
-	    		this.extra[3 + 1][i] =   a3 & (na1 | a1 & na2 | b3 & (na4 ^ b4))
+	    		n3 =   a3 & (na1 | a1 & na2 | b3 & (na4 ^ b4))
 									   | b3 & (nb1 | b1 & nb2);
-	    		this.extra[4 + 1][i] = na3 & (nb1 & nb3 & b4
+	    		n4 = na3 & (nb1 & nb3 & b4
 	              			| b1 & (nb2 & nb3 | a4 & b2 & nb4)
 	              			| na1 & a4 & (nb3 | b1 & b2))
 	        			| a3 & a4 & (b3 & b4 | b1 & nb2 | na1 & a2)
@@ -1940,18 +1981,34 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 	                			| na2 & b3 & b4
 	                			| a2 & (nb1 & b4 | a3 & na4 & b1) & nb3)
 	                	|nb1 & b2 & b3 & b4;
-	    		this.extra[IN][i] |= otherInits.extra[IN][i];
-	    		this.extra[INN][i] |= otherInits.extra[INN][i];
+	    		if (n1 != a1 || n2 != a2 || n3 != a3 || n4 != a4) {
+	    			ownExtra(NULL_EXTRA);
+	    			this.extra[1 + 1][i] = n1;
+	    			this.extra[2 + 1][i] = n2;
+	    			this.extra[3 + 1][i] = n3;
+	    			this.extra[4 + 1][i] = n4;
+	    		}
+	    		in = this.extra[IN][i] | otherInits.extra[IN][i];
+	    		inn = this.extra[INN][i] | otherInits.extra[INN][i];
+	    		if (in != this.extra[IN][i] || inn != this.extra[INN][i]) {
+	    			ownExtra(INCOMING_EXTRA);
+	    			this.extra[IN][i] = in;
+	    			this.extra[INN][i] = inn;
+	    		}
 				thisHasNulls = thisHasNulls ||
-					this.extra[3][i] != 0 ||
-					this.extra[4][i] != 0 ||
-					this.extra[5][i] != 0 ;
+					n2 != 0 ||
+					n3 != 0 ||
+					n4 != 0 ;
 				if (COVERAGE_TEST_FLAG) {
 					if(CoverageTestId == 37) {
+						ownExtra(NULL_EXTRA);
 						this.extra[5][i] = ~0;
 					}
 				}
 			}
+			if (i < copyLimit || i < resetLimit) {
+				ownExtra(NULL_EXTRA | INCOMING_EXTRA);
+			}
 			for (; i < copyLimit; i++) {
 	    		this.extra[1 + 1][i] = 0;
 	    		this.extra[2 + 1][i] = (b2 = otherInits.extra[2 + 1][i]) & (nb3 = ~(b3 = otherInits.extra[3 + 1][i]) | (nb1 = ~(b1 = otherInits.extra[1 + 1][i])));
@@ -2028,13 +2085,13 @@ public UnconditionalFlowInfo nullInfoLessUnconditionalCopy() {
 	copy.tagBits |= UNROOTED;
 	copy.maxFieldCount = this.maxFieldCount;
 	if (this.extra != null) {
-		int length;
+		int length = this.extra[0].length;
 		copy.extra = new long[extraLength][];
-		System.arraycopy(this.extra[0], 0,
-			(copy.extra[0] =
-				new long[length = this.extra[0].length]), 0, length);
-		System.arraycopy(this.extra[1], 0,
-			(copy.extra[1] = new long[length]), 0, length);
+		// share the assignment bits, both flow infos will copy them on write
+		copy.extra[0] = this.extra[0];
+		copy.extra[1] = this.extra[1];
+		this.sharedExtra |= INITS_EXTRA;
+		copy.sharedExtra = INITS_EXTRA;
 		for (int j = 2; j < extraLength; j++) {
 			copy.extra[j] = new long[length];
 		}
@@ -2065,6 +2122,7 @@ public FlowInfo setReachMode(int reachMode) {
 			// see InitializationTest#test090 (and others)
 			this.potentialInits = 0;
 			if (this.extra != null) {
+				ownExtra(1 << 1);
 				for (int i = 0, length = this.extra[0].length;
 						i < length; i++) {
 					this.extra[1][i] = 0;
@@ -2242,13 +2300,21 @@ public UnconditionalFlowInfo mergeDefiniteInitsWith(UnconditionalFlowInfo otherI
 			else {
 				// current storage is longer
 				for (; i < otherLength; i++) {
-					this.extra[0][i] &= otherInits.extra[0][i];
+					long definite = this.extra[0][i] & otherInits.extra[0][i];
+					if (definite != this.extra[0][i]) {
+						ownExtra(1 << 0);
+						this.extra[0][i] = definite;
+					}
+				}
+				if (i < length) {
+					ownExtra(1 << 0);
 				}
 				for (; i < length; i++) {
 					this.extra[0][i] = 0; // absent otherInit.extra means: all are 0
 				}
 			}
 		} else {
+			ownExtra(1 << 0);
 			for (int i = 0; i < this.extra[0].length; i++) {
 				this.extra[0][i] = 0;
 			}
@@ -2280,6 +2346,7 @@ public void resetAssignmentInfo(int position) {
 			// use extra vector
 			int vectorIndex = (position / BitCacheSize) - 1;
 			if (this.extra == null || vectorIndex >= this.extra[0].length) return;	// variable doesnt exist in flow info
+			ownExtra(INITS_EXTRA);
 			long mask;
 			this.extra[0][vectorIndex] &=
 				(mask = ~(1L << (position % BitCacheSize)));
@@ -2293,6 +2360,7 @@ private void createExtraSpace(int length) {
 	for (int j = 0; j < extraLength; j++) {
 		this.extra[j] = new long[length];
 	}
+	this.sharedExtra = 0;
 	if ((this.tagBits & UNROOTED) != 0) {
 		Arrays.fill(this.extra[IN], -1L);
 		Arrays.fill(this.extra[INN], -1L);
@@ -2305,6 +2373,7 @@ public void growSpace(int newLength, int copyStart, int copyLength) {
 			(this.extra[j] = new long[newLength]), copyStart,
 			copyLength);
 	}
+	this.sharedExtra = 0;
 	if ((this.tagBits & UNROOTED) != 0) {
 		Arrays.fill(this.extra[IN], copyStart+copyLength, newLength, -1);
 		Arrays.fill(this.extra[INN], copyStart+copyLength, newLength, -1);
@@ -2315,9 +2384,26 @@ public void acceptAllIncomingNullness() {
 	this.iNBit = -1L;
 	this.iNNBit = -1L;
 	if (this.extra != null) {
+		ownExtra(INCOMING_EXTRA);
 		Arrays.fill(this.extra[IN], -1L);
 		Arrays.fill(this.extra[INN], -1L);
 	}
 }
+
+/*
+ * Make sure that the given extra[]'s are not shared with other flow infos any more,
+ * before writing into them.
+ */
+private void ownExtra(int rows) {
+	int shared = this.sharedExtra & rows;
+	if (shared != 0) {
+		for (int j = 0; j < extraLength; j++) {
+			if ((shared & (1 << j)) != 0) {
+				this.extra[j] = this.extra[j].clone();
+			}
+		}
+		this.sharedExtra &= ~shared;
+	}
+}
 }
 
@@ -155,6 +155,7 @@ public class CompilerOptions {
 	// OPTION_Store_Annotations: undocumented option for testing purposes
 	public static final String OPTION_Store_Annotations = "org.eclipse.jdt.core.compiler.storeAnnotations"; //$NON-NLS-1$
 	public static final String OPTION_EmulateJavacBug8031744 = "org.eclipse.jdt.core.compiler.emulateJavacBug8031744"; //$NON-NLS-1$
+	public static final String OPTION_ParsingThreads = "org.eclipse.jdt.core.compiler.parsingThreads"; //$NON-NLS-1$
 	public static final String OPTION_ReportRedundantSuperinterface =  "org.eclipse.jdt.core.compiler.problem.redundantSuperinterface"; //$NON-NLS-1$
 	public static final String OPTION_ReportComparingIdentical =  "org.eclipse.jdt.core.compiler.problem.comparingIdentical"; //$NON-NLS-1$
 	public static final String OPTION_ReportMissingSynchronizedOnInheritedMethod =  "org.eclipse.jdt.core.compiler.problem.missingSynchronizedOnInheritedMethod"; //$NON-NLS-1$
@@ -489,6 +490,8 @@ public class CompilerOptions {
 	public boolean generateClassFiles;
 	/** Indicate if method bodies should be ignored */
 	public boolean ignoreMethodBodies;
+	/** Number of worker threads parsing the method bodies of compilation units ahead of their processing (0 meaning none) */
+	public int parsingThreads;
 	/** Raise null related warnings for variables tainted inside an assert statement (java 1.4 and above)*/
 	public boolean includeNullInfoFromAsserts;
 	/** Controls whether forced generic type problems get reported  */
@@ -517,6 +520,8 @@ public class CompilerOptions {
 	public long intendedDefaultNonNullness; // 0 or TagBits#AnnotationNonNull
 	/** Should resources (objects of type Closeable) be analysed for matching calls to close()? */
 	public boolean analyseResourceLeaks;
+	/** Should the null status of local variables be tracked by the flow analysis? False when nothing would observe it. */
+	public boolean analyseNullStatus;
 	/** Should missing enum cases be reported even if a default case exists in the same switch? */
 	public boolean reportMissingEnumCaseDespiteDefault;
 
@@ -1361,6 +1366,7 @@ public class CompilerOptions {
 		optionsMap.put(OPTION_Process_Annotations, this.processAnnotations ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_Store_Annotations, this.storeAnnotations ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_EmulateJavacBug8031744, this.emulateJavacBug8031744 ? ENABLED : DISABLED);
+		optionsMap.put(OPTION_ParsingThreads, String.valueOf(this.parsingThreads));
 		optionsMap.put(OPTION_ReportRedundantSuperinterface, getSeverityString(RedundantSuperinterface));
 		optionsMap.put(OPTION_ReportComparingIdentical, getSeverityString(ComparingIdentical));
 		optionsMap.put(OPTION_ReportMissingSynchronizedOnInheritedMethod, getSeverityString(MissingSynchronizedModifierInInheritedMethod));
@@ -1574,6 +1580,9 @@ public class CompilerOptions {
 		// annotation processing
 		this.generateClassFiles = true;
 
+		// parse method bodies on the processing thread
+		this.parsingThreads = 0;
+
 		// enable annotation processing by default only in batch mode
 		this.processAnnotations = false;
 
@@ -1600,6 +1609,7 @@ public class CompilerOptions {
 		this.inheritNullAnnotations = false;
 
 		this.analyseResourceLeaks = true;
+		this.analyseNullStatus = true;
 
 		this.reportMissingEnumCaseDespiteDefault = false;
 
@@ -1757,6 +1767,14 @@ public class CompilerOptions {
 				// ignore ill-formatted limit
 			}
 		}
+		if ((optionValue = optionsMap.get(OPTION_ParsingThreads)) != null) {
+			try {
+				int val = Integer.parseInt(optionValue);
+				if (val >= 0) this.parsingThreads = val;
+			} catch(NumberFormatException e){
+				// ignore ill-formatted thread count
+			}
+		}
 		if ((optionValue = optionsMap.get(OPTION_TaskTags)) != null) {
 			String stringValue = optionValue;
 			if (stringValue.length() == 0) {
@@ -1986,6 +2004,18 @@ public class CompilerOptions {
 			}
 			if ((optionValue = optionsMap.get(OPTION_ReportNonNullTypeVariableFromLegacyInvocation)) != null) updateSeverity(NonNullTypeVariableFromLegacyInvocation, optionValue);
 		}
+		// the null status of locals is observed by the null warnings, by the dead code it reveals,
+		// by the resource leak analysis and by the annotation based null analysis:
+		if (getSeverity(NullReference) == ProblemSeverities.Ignore
+				&& getSeverity(PotentialNullReference) == ProblemSeverities.Ignore
+				&& getSeverity(RedundantNullCheck) == ProblemSeverities.Ignore
+				&& getSeverity(DeadCode) == ProblemSeverities.Ignore
+				&& !this.analyseResourceLeaks
+				&& !this.isAnnotationBasedNullAnalysisEnabled) {
+			this.analyseNullStatus = false;
+		} else {
+			this.analyseNullStatus = true;
+		}
 
 		// Javadoc options
 		if ((optionValue = optionsMap.get(OPTION_DocCommentSupport)) != null) {
@@ -2270,6 +2300,7 @@ public class CompilerOptions {
 		buf.append("\n\t- parameter assignment: ").append(getSeverityString(ParameterAssignment)); //$NON-NLS-1$
 		buf.append("\n\t- generate class files: ").append(this.generateClassFiles ? ENABLED : DISABLED); //$NON-NLS-1$
 		buf.append("\n\t- process annotations: ").append(this.processAnnotations ? ENABLED : DISABLED); //$NON-NLS-1$
+		buf.append("\n\t- parsing threads: ").append(this.parsingThreads); //$NON-NLS-1$
 		buf.append("\n\t- unused type arguments for method/constructor invocation: ").append(getSeverityString(UnusedTypeArguments)); //$NON-NLS-1$
 		buf.append("\n\t- redundant superinterface: ").append(getSeverityString(RedundantSuperinterface)); //$NON-NLS-1$
 		buf.append("\n\t- comparing identical expr: ").append(getSeverityString(ComparingIdentical)); //$NON-NLS-1$
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,32 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.impl;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @SuppressWarnings("rawtypes")
 public class CompilerStats implements Comparable {
 
+	/**
+	 * Statistics of a single compilation unit, times are in nanoseconds.
+	 */
+	public static class UnitStats {
+		public final String fileName;
+		public long parseTime; // diet parse and method bodies
+		public long resolveTime;
+		public long analyzeTime;
+		public long generateTime;
+		public long lineCount;
+		public int classFileCount;
+		public long classFileBytes;
+
+		public UnitStats(String fileName) {
+			this.fileName = fileName;
+		}
+	}
+
 	// overall
 	public long startTime;
 	public long endTime;
@@ -28,6 +51,48 @@ public class CompilerStats implements Comparable {
 	public long analyzeTime;
 	public long generateTime;
 
+	// time the processing thread waited for the accepting thread to free space in the processed queue, and vice versa
+	public long processStallTime;
+	public long acceptStallTime;
+
+	// work done
+	public long binaryTypeCount; // binary types created by the lookup environment
+	public long inferenceCount; // type inference problems solved
+	public long inferenceMemoHits; // type constraints whose reduction was answered by the inference memo
+	public long inferenceMemoMisses;
+	public long inferenceMemoSavedTime; // in nanoseconds, as measured when the reductions of the hits were recorded
+	public long methodLookupCacheHits; // method lookups whose candidates along the superclass chain were cached
+	public long methodLookupCacheMisses;
+	public int classFileCount;
+	public long classFileBytes;
+
+	// per unit statistics, only collected on demand
+	private Map<String, UnitStats> unitStats;
+
+/**
+ * Start collecting statistics for each compilation unit.
+ */
+public synchronized void collectUnitStats() {
+	if (this.unitStats == null)
+		this.unitStats = new LinkedHashMap<>();
+}
+
+/**
+ * Answer the statistics of the given compilation unit, or null if they are not collected.
+ */
+public synchronized UnitStats getUnitStats(char[] fileName) {
+	if (this.unitStats == null)
+		return null;
+	return this.unitStats.computeIfAbsent(new String(fileName), UnitStats::new);
+}
+
+/**
+ * Answer the statistics of all the compilation units, in the order they were first met, or null if they are not collected.
+ */
+public synchronized List<UnitStats> getAllUnitStats() {
+	return this.unitStats == null ? null : new ArrayList<>(this.unitStats.values());
+}
+
 /**
  * Returns the total elapsed time (between start and end)
  * @return the time spent between start and end
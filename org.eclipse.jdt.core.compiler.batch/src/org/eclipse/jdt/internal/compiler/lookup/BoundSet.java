@@ -38,7 +38,7 @@ import org.eclipse.jdt.internal.compiler.ast.Wildcard;
  * Implementation of 18.1.3 in JLS8.
  * This class is also responsible for incorporation as defined in 18.3.
  */
-class BoundSet {
+public class BoundSet {
 
 	/**
 	 * Set the identically-named system property to false to disable the
@@ -328,6 +328,54 @@ class BoundSet {
 			this.instantiation = type;
 		}
 	}
+	/**
+	 * Index of the bounds of one generation of incorporation, describing each bound by integers only:
+	 * the type ids of the inference variables on either side, which {@link TypeBinding#equalsEquals(TypeBinding, TypeBinding)}
+	 * compares, and flags for the bounds that imply constraints in combination with bounds on unrelated variables.
+	 * {@link #mayCombine(BoundIndex, int, BoundIndex, int)} uses it to skip the pairs of bounds which imply no constraint,
+	 * without trying each combination. The index of the incorporated bounds grows along with them, only the
+	 * {@link #DEPENDENCY} flags are recomputed for each generation.
+	 */
+	private static final class BoundIndex {
+		static final int NO_VARIABLE = -1;
+		/** α = U where U is proper, implies a constraint from any bound mentioning α */
+		static final int SAME_PROPER = 1;
+		/** α = U, any relation, combined with a parameterized dependency */
+		static final int SAME = 2;
+		/** α = G<...> or α <: G<...>, see {@link BoundSet#isParameterizedDependency(TypeBound)} */
+		static final int PARAMETERIZED_DEPENDENCY = 4;
+		/** parameterized dependency whose inference variables all have a proper type in the current generation, combined with any α = U */
+		static final int DEPENDENCY = 8;
+		/** not described by the ids, combine with all bounds */
+		static final int ANY = 16;
+
+		final int[] leftIds;
+		final int[] rightIds;
+		final int[] flags;
+		final int dependencyCount;
+
+		BoundIndex(int[] leftIds, int[] rightIds, int[] flags, int dependencyCount) {
+			this.leftIds = leftIds;
+			this.rightIds = rightIds;
+			this.flags = flags;
+			this.dependencyCount = dependencyCount;
+		}
+
+		BoundIndex append(BoundIndex other) {
+			int length = this.flags.length, otherLength = other.flags.length;
+			int[] newLeftIds = new int[length + otherLength], newRightIds = new int[length + otherLength], newFlags = new int[length + otherLength];
+			System.arraycopy(this.leftIds, 0, newLeftIds, 0, length);
+			System.arraycopy(other.leftIds, 0, newLeftIds, length, otherLength);
+			System.arraycopy(this.rightIds, 0, newRightIds, 0, length);
+			System.arraycopy(other.rightIds, 0, newRightIds, length, otherLength);
+			System.arraycopy(this.flags, 0, newFlags, 0, length);
+			System.arraycopy(other.flags, 0, newFlags, length, otherLength);
+			return new BoundIndex(newLeftIds, newRightIds, newFlags, this.dependencyCount + other.dependencyCount);
+		}
+	}
+
+	private static final BoundIndex NO_BOUND_INDEX = new BoundIndex(new int[0], new int[0], new int[0], 0);
+
 	// main storage of type bounds:
 	HashMap<InferenceVariable, ThreeSets> boundsPerVariable = new LinkedHashMap<>();
 
@@ -340,9 +388,13 @@ class BoundSet {
 	Set<InferenceVariable> inThrows = new LinkedHashSet<>();
 
 	private TypeBound[] incorporatedBounds = Binding.NO_TYPE_BOUNDS;
+	private BoundIndex incorporatedIndex = NO_BOUND_INDEX; // parallel to incorporatedBounds
 	private TypeBound[] unincorporatedBounds = new TypeBound[8];
 	private int unincorporatedBoundsCount = 0;
 	private final TypeBound[] mostRecentBounds = new TypeBound[4]; // for quick & dirty duplicate elimination
+	// incorporation result shared by all pairs of bounds combined in one generation, see properTypesByInferenceVariable()
+	private TypeBound[] properTypesFirstBounds, properTypesNextBounds;
+	private Map<InferenceVariable,TypeBound> properTypesCache;
 
 	public BoundSet() {}
 
@@ -393,6 +445,7 @@ class BoundSet {
 		copy.captures.putAll(this.captures);
 		if (this.incorporatedBounds.length > 0)
 			System.arraycopy(this.incorporatedBounds, 0, copy.incorporatedBounds = new TypeBound[this.incorporatedBounds.length], 0, this.incorporatedBounds.length);
+		copy.incorporatedIndex = this.incorporatedIndex; // only ever replaced, its dependency flags are marked for each generation
 		if (this.unincorporatedBoundsCount > 0)
 			System.arraycopy(this.unincorporatedBounds, 0, copy.unincorporatedBounds = new TypeBound[this.unincorporatedBounds.length], 0, this.unincorporatedBounds.length);
 		copy.unincorporatedBoundsCount = this.unincorporatedBoundsCount;
@@ -508,12 +561,13 @@ class BoundSet {
 				TypeBound [] freshBounds;
 				System.arraycopy(this.unincorporatedBounds, 0, freshBounds = new TypeBound[this.unincorporatedBoundsCount], 0, this.unincorporatedBoundsCount);
 				this.unincorporatedBoundsCount = 0;
+				BoundIndex freshIndex = index(freshBounds);
 
 				// Pairwise bidirectional compare all bounds from previous generation with the fresh set.
-				if (!incorporate(context, this.incorporatedBounds, freshBounds))
+				if (!incorporate(context, this.incorporatedBounds, this.incorporatedIndex, freshBounds, freshIndex))
 					return false;
 				// Pairwise bidirectional compare all fresh bounds.
-				if (!incorporate(context, freshBounds, freshBounds))
+				if (!incorporate(context, freshBounds, freshIndex, freshBounds, freshIndex))
 					return false;
 
 				// Merge the bounds into one incorporated generation.
@@ -523,6 +577,7 @@ class BoundSet {
 				System.arraycopy(this.incorporatedBounds, 0, aggregate, 0, incorporatedLength);
 				System.arraycopy(freshBounds, 0, aggregate, incorporatedLength, unincorporatedLength);
 				this.incorporatedBounds = aggregate;
+				this.incorporatedIndex = this.incorporatedIndex.append(freshIndex);
 
 			} while (this.unincorporatedBoundsCount > 0);
 		} finally {
@@ -540,9 +595,12 @@ class BoundSet {
 	 * @return false if any constraint resolved to false, true otherwise
 	 * @throws InferenceFailureException a compile error has been detected during inference
 	 */
-	boolean incorporate(InferenceContext18 context, TypeBound [] first, TypeBound [] next) throws InferenceFailureException {
+	private boolean incorporate(InferenceContext18 context, TypeBound [] first, BoundIndex firstIndex, TypeBound [] next, BoundIndex nextIndex) throws InferenceFailureException {
 		boolean analyzeNull = context.environment.globalOptions.isAnnotationBasedNullAnalysisEnabled;
 		ConstraintTypeFormula [] mostRecentFormulas = new ConstraintTypeFormula[4]; // poor man's cache to toss out duplicates, in pathological cases there are a good quarter million of them.
+		markDependencies(firstIndex, first, first, next);
+		if (nextIndex != firstIndex)
+			markDependencies(nextIndex, next, first, next);
 		// check each pair, in each way.
 		for (int i = 0, iLength = first.length; i < iLength; i++) {
 			TypeBound boundI = first[i];
@@ -550,6 +608,8 @@ class BoundSet {
 				TypeBound boundJ = next[j];
 				if (boundI == boundJ)
 					continue;
+				if (!mayCombine(firstIndex, i, nextIndex, j))
+					continue;
 				int iteration = 1;
 				do {
 					ConstraintTypeFormula newConstraint = null;
@@ -613,8 +673,9 @@ class BoundSet {
 						mostRecentFormulas[1] = mostRecentFormulas[0];
 						mostRecentFormulas[0] = newConstraint;
 
-						if (!reduceOneConstraint(context, newConstraint))
-							return false;
+						if (analyzeNull || !(restatesBound(newConstraint, boundI) || restatesBound(newConstraint, boundJ)))
+							if (!reduceOneConstraint(context, newConstraint))
+								return false;
 
 						if (analyzeNull) {
 							// not per JLS: if the new constraint relates types where at least one has a null annotations,
@@ -753,6 +814,79 @@ class BoundSet {
 			reduceOneConstraint(context, formula);
 	}
 
+	private BoundIndex index(TypeBound[] bounds) {
+		int length = bounds.length;
+		int[] leftIds = new int[length], rightIds = new int[length], flags = new int[length];
+		int dependencyCount = 0;
+		for (int i = 0; i < length; i++) {
+			TypeBound bound = bounds[i];
+			int leftId = bound.left.id;
+			int rightId = bound.right instanceof InferenceVariable ? bound.right.id : BoundIndex.NO_VARIABLE;
+			int boundFlags = 0;
+			if (leftId == TypeIds.NoId || rightId == TypeIds.NoId)
+				boundFlags |= BoundIndex.ANY;
+			if (bound.relation == ReductionResult.SAME) {
+				boundFlags |= BoundIndex.SAME;
+				if (bound.right.isProperType(true))
+					boundFlags |= BoundIndex.SAME_PROPER;
+			}
+			if (enableOptimizationForBug543480 && isParameterizedDependency(bound)) {
+				boundFlags |= BoundIndex.PARAMETERIZED_DEPENDENCY;
+				dependencyCount++;
+			}
+			leftIds[i] = leftId;
+			rightIds[i] = rightId;
+			flags[i] = boundFlags;
+		}
+		return new BoundIndex(leftIds, rightIds, flags, dependencyCount);
+	}
+
+	// flag the parameterized dependencies which incorporateIntoParameterizedDependencyIfAllArgumentsAreProperTypes() resolves in this generation
+	private void markDependencies(BoundIndex index, TypeBound[] bounds, TypeBound[] firstBounds, TypeBound[] nextBounds) {
+		if (index.dependencyCount == 0)
+			return;
+		int[] flags = index.flags;
+		for (int i = 0, length = flags.length; i < length; i++) {
+			if ((flags[i] & BoundIndex.PARAMETERIZED_DEPENDENCY) == 0)
+				continue;
+			if (getProperTypesForAllInferenceVariablesOrNull((ParameterizedTypeBinding) bounds[i].right, firstBounds, nextBounds) != null)
+				flags[i] |= BoundIndex.DEPENDENCY;
+			else
+				flags[i] &= ~BoundIndex.DEPENDENCY;
+		}
+	}
+
+	/**
+	 * Answer whether the given bounds may imply any constraint, in either order, see the combine methods:
+	 * bounds on unrelated inference variables only do so through a proper type or a parameterized dependency.
+	 */
+	private static boolean mayCombine(BoundIndex firstIndex, int i, BoundIndex nextIndex, int j) {
+		int leftI = firstIndex.leftIds[i], rightI = firstIndex.rightIds[i];
+		int leftJ = nextIndex.leftIds[j], rightJ = nextIndex.rightIds[j];
+		if (leftI == leftJ || leftI == rightJ || rightI == leftJ || (rightI == rightJ && rightI != BoundIndex.NO_VARIABLE))
+			return true;
+		int flagsI = firstIndex.flags[i], flagsJ = nextIndex.flags[j];
+		if (((flagsI | flagsJ) & (BoundIndex.SAME_PROPER | BoundIndex.ANY)) != 0)
+			return true;
+		return ((flagsI & BoundIndex.SAME) != 0 && (flagsJ & BoundIndex.DEPENDENCY) != 0)
+				|| ((flagsJ & BoundIndex.SAME) != 0 && (flagsI & BoundIndex.DEPENDENCY) != 0);
+	}
+
+	/*
+	 * Answer whether the given constraint just restates the given bound, as combining α = U and β = T does when
+	 * T does not mention α. Reducing it would yield the bound itself, which the bound set already holds.
+	 * Without null annotations, as the reduction would then update the null hints.
+	 */
+	private static boolean restatesBound(ConstraintTypeFormula constraint, TypeBound bound) {
+		if (constraint.relation != ReductionResult.SAME || bound.relation != ReductionResult.SAME)
+			return false;
+		if (constraint.left != bound.left || constraint.right != bound.right) //$IDENTITY-COMPARISON$
+			return false;
+		TypeBinding right = bound.right;
+		return right.kind() != Binding.WILDCARD_TYPE && right.id != TypeIds.T_null && !right.isPrimitiveType()
+				&& ((bound.left.tagBits | right.tagBits) & TagBits.AnnotationNullMASK) == 0;
+	}
+
 	private ConstraintTypeFormula combineSameSame(TypeBound boundS, TypeBound boundT, TypeBound[] firstBounds, TypeBound[] nextBounds) {
 
 		// α = S and α = T imply ⟨S = T⟩
@@ -900,6 +1034,16 @@ class BoundSet {
 	}
 
 	private Map<InferenceVariable,TypeBound> properTypesByInferenceVariable(TypeBound[] firstBounds, TypeBound[] nextBounds) {
+		// the bound arrays of a generation are never modified, compute the map once for all their pairs
+		if (firstBounds != this.properTypesFirstBounds || nextBounds != this.properTypesNextBounds) {
+			this.properTypesCache = computeProperTypesByInferenceVariable(firstBounds, nextBounds);
+			this.properTypesFirstBounds = firstBounds;
+			this.properTypesNextBounds = nextBounds;
+		}
+		return this.properTypesCache;
+	}
+
+	private Map<InferenceVariable,TypeBound> computeProperTypesByInferenceVariable(TypeBound[] firstBounds, TypeBound[] nextBounds) {
 		return getBoundsStream(firstBounds, nextBounds)
 				.filter(bound -> bound.relation == ReductionResult.SAME)
 				.filter(bound -> bound.right.isProperType(true))
@@ -987,6 +1131,11 @@ class BoundSet {
 	 * @throws InferenceFailureException a compile error has been detected during inference
 	 */
 	public boolean reduceOneConstraint(InferenceContext18 context, ConstraintFormula currentConstraint) throws InferenceFailureException {
+		if (currentConstraint instanceof ConstraintTypeFormula) {
+			InferenceMemo memo = context.environment.root.inferenceMemo;
+			if (memo != null && InferenceMemo.appliesTo(context, (ConstraintTypeFormula) currentConstraint))
+				return memo.reduce(context, this, (ConstraintTypeFormula) currentConstraint);
+		}
 		Object result = currentConstraint.reduce(context);
 		if (result == ReductionResult.FALSE) {
 			if (InferenceContext18.DEBUG) {
@@ -45,7 +45,7 @@ public class CompilationUnitScope extends Scope {
 	public PlainPackageBinding fPackage;
 	public ImportBinding[] imports;
 	public int importPtr;
-	public HashtableOfObject typeOrPackageCache; // used in Scope.getTypeOrPackage()
+	public CharArrayHashMap<Binding> typeOrPackageCache; // used in Scope.getTypeOrPackage()
 
 	public SourceTypeBinding[] topLevelTypes;
 
@@ -421,7 +421,7 @@ void faultInImports() {
 	if (this.typeOrPackageCache != null && !this.skipCachingImports)
 		return; // can be called when a field constant is resolved before static imports
 	if (this.referenceContext.imports == null) {
-		this.typeOrPackageCache = new HashtableOfObject(1);
+		this.typeOrPackageCache = new CharArrayHashMap<>(1);
 		return;
 	}
 
@@ -554,7 +554,7 @@ void faultInImports() {
 	this.imports = this.tempImports;
 	this.tempImports = null;
 	int length = this.imports.length;
-	this.typeOrPackageCache = new HashtableOfObject(length);
+	this.typeOrPackageCache = new CharArrayHashMap<>(length);
 	for (int i = 0; i < length; i++) {
 		ImportBinding binding = this.imports[i];
 		if (!binding.onDemand && binding.resolvedImport instanceof ReferenceBinding || binding instanceof ImportConflictBinding)
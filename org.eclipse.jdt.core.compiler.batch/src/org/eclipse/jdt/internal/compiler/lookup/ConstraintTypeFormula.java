@@ -30,7 +30,7 @@ import org.eclipse.jdt.internal.compiler.ast.Wildcard;
  * <li>S <= T <em>type argument containment</em></li>
  * </ul>
  */
-class ConstraintTypeFormula extends ConstraintFormula {
+public class ConstraintTypeFormula extends ConstraintFormula {
 
 	TypeBinding left;
 
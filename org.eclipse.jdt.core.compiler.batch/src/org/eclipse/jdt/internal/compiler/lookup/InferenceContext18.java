@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.CompilerEvents;
 import org.eclipse.jdt.internal.compiler.ast.AllocationExpression;
 import org.eclipse.jdt.internal.compiler.ast.ConditionalExpression;
 import org.eclipse.jdt.internal.compiler.ast.Expression;
@@ -1040,7 +1041,16 @@ public class InferenceContext18 {
 	 * @throws InferenceFailureException a compile error has been detected during inference
 	 */
 	private /*@Nullable*/ BoundSet solve(boolean inferringApplicability, boolean isRecordPatternTypeInference) throws InferenceFailureException {
-
+		this.environment.root.stats.inferenceCount++;
+		Object event = CompilerEvents.beginInference();
+		BoundSet solution = null;
+		try {
+			return solution = solve0(inferringApplicability, isRecordPatternTypeInference);
+		} finally {
+			CompilerEvents.endInference(event, this.scope, this.inferenceVariables == null ? 0 : this.inferenceVariables.length, solution);
+		}
+	}
+	private /*@Nullable*/ BoundSet solve0(boolean inferringApplicability, boolean isRecordPatternTypeInference) throws InferenceFailureException {
 		if (!reduce())
 			return null;
 		if (!this.currentBounds.incorporate(this))
@@ -1071,12 +1081,19 @@ public class InferenceContext18 {
 	}
 
 	public /*@Nullable*/ BoundSet solve(InferenceVariable[] toResolve, boolean isRecordPatternTypeInference) throws InferenceFailureException {
-		if (!reduce())
-			return null;
-		if (!this.currentBounds.incorporate(this))
-			return null;
+		this.environment.root.stats.inferenceCount++;
+		Object event = CompilerEvents.beginInference();
+		BoundSet solution = null;
+		try {
+			if (!reduce())
+				return null;
+			if (!this.currentBounds.incorporate(this))
+				return null;
 
-		return resolve(toResolve, isRecordPatternTypeInference);
+			return solution = resolve(toResolve, isRecordPatternTypeInference);
+		} finally {
+			CompilerEvents.endInference(event, this.scope, toResolve.length, solution);
+		}
 	}
 
 	/**
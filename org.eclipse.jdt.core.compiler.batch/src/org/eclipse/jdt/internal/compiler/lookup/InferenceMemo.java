@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+
+/**
+ * Memo table of the reductions of type constraints (JLS 18.2.2 to 18.2.4), owned by the root lookup environment.
+ * <p>
+ * Inference keeps reducing the same constraints: when overload resolution tries several candidates at an
+ * invocation, when an invocation is inferred again for its invocation type or inside a copy of a lambda,
+ * and when incorporation derives constraints from the bounds of similar invocations. The memo records the
+ * type bounds each constraint reduces to, along with the final <code>TRUE</code> or <code>FALSE</code>,
+ * so that the bounds are added again without reducing the constraint again.
+ * </p><p>
+ * The {@link TypeSystem} interns types, and inference variables are interned per compilation unit, so a
+ * constraint is identified by its relation and the identities of its two sides. Reductions with effects
+ * beyond the bounds they produce are not memoized: those recording an unchecked conversion, those involving
+ * poly types, those which may capture a type variable (captures are numbered in the order they are created),
+ * and all reductions while annotation based null analysis is enabled, which updates the nullness of the
+ * bounds and of the inference variables. Constraints with an inference variable on either side are not
+ * looked up either, reducing them is cheaper than a lookup.
+ * </p><p>
+ * The memo of the environment holds at most {@link #CAPACITY} reductions, least recently used first out.
+ * Setting the capacity to <code>0</code> disables the memo. Hits and misses are counted in the {@link CompilerStats} of the
+ * environment, along with the time the hits would have taken, as measured when their reductions were recorded.
+ * </p>
+ */
+public final class InferenceMemo {
+
+	public static final int DEFAULT_CAPACITY = 8192;
+	/** System property overriding {@link #DEFAULT_CAPACITY} */
+	public static final String CAPACITY_PROPERTY = "jdt.compiler.inferenceMemoSize"; //$NON-NLS-1$
+	public static final int CAPACITY = Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY).intValue();
+
+	private static final class Key {
+		TypeBinding left;
+		TypeBinding right;
+		int relation;
+		boolean isSoft;
+		int hash;
+
+		Key set(ConstraintTypeFormula constraint) {
+			this.left = constraint.left;
+			this.right = constraint.right;
+			this.relation = constraint.relation;
+			this.isSoft = constraint.isSoft;
+			this.hash = (31 * System.identityHashCode(this.left) + System.identityHashCode(this.right)) * 31 + (this.relation << 1) + (this.isSoft ? 1 : 0);
+			return this;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return this.left == other.left && this.right == other.right //$IDENTITY-COMPARISON$
+					&& this.relation == other.relation && this.isSoft == other.isSoft;
+		}
+	}
+
+	private static final class Reduction {
+		TypeBound[] bounds;
+		boolean result;
+		long time;
+	}
+
+	private final int capacity;
+	private final LinkedHashMap<Key, Reduction> reductions = new LinkedHashMap<Key, Reduction>(256, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Reduction> eldest) {
+			return size() > InferenceMemo.this.capacity;
+		}
+	};
+	private final Key probe = new Key();
+
+public InferenceMemo() {
+	this(CAPACITY);
+}
+
+/**
+ * @param capacity the maximum number of reductions held, <code>0</code> to record none
+ */
+public InferenceMemo(int capacity) {
+	this.capacity = capacity;
+}
+
+/**
+ * Answer whether the reduction of the given type constraint is worth looking up in the memo.
+ * Constraints with an inference variable on either side reduce to a bound at once, or almost.
+ */
+public static boolean appliesTo(InferenceContext18 context, ConstraintTypeFormula constraint) {
+	if (constraint == ReductionResult.TRUE || constraint == ReductionResult.FALSE)
+		return false; // no sides to key on
+	if (constraint.left instanceof InferenceVariable || constraint.right instanceof InferenceVariable)
+		return false;
+	return !context.environment.globalOptions.isAnnotationBasedNullAnalysisEnabled;
+}
+
+/**
+ * Reduce the given type constraint, adding the resulting type bounds to the given bound set,
+ * as {@link BoundSet#reduceOneConstraint(InferenceContext18, ConstraintFormula)} does.
+ * @return false if the constraint reduced to <code>FALSE</code>, true otherwise
+ */
+public boolean reduce(InferenceContext18 context, BoundSet boundSet, ConstraintTypeFormula constraint) throws InferenceFailureException {
+	LookupEnvironment environment = context.environment;
+	CompilerStats stats = environment.root.stats;
+	Reduction reduction = this.reductions.get(this.probe.set(constraint));
+	if (reduction != null) {
+		stats.inferenceMemoHits++;
+		stats.inferenceMemoSavedTime += reduction.time;
+		for (TypeBound bound : reduction.bounds)
+			boundSet.addBound(bound, environment);
+		return reduction.result;
+	}
+	stats.inferenceMemoMisses++;
+	int uncheckedCount = context.constraintsWithUncheckedConversion == null ? 0 : context.constraintsWithUncheckedConversion.size();
+	List<TypeBound> bounds = new ArrayList<>(4);
+	long start = System.nanoTime();
+	boolean isPure = reduce(context, boundSet, constraint, bounds);
+	boolean result = bounds.isEmpty() || bounds.get(bounds.size() - 1) != null;
+	long time = System.nanoTime() - start;
+	if (!result)
+		bounds.remove(bounds.size() - 1);
+	if (context.constraintsWithUncheckedConversion != null && context.constraintsWithUncheckedConversion.size() != uncheckedCount)
+		isPure = false;
+	for (TypeBound bound : bounds)
+		boundSet.addBound(bound, environment);
+	if (isPure && this.capacity > 0) {
+		reduction = new Reduction();
+		reduction.bounds = bounds.toArray(new TypeBound[bounds.size()]);
+		reduction.result = result;
+		reduction.time = time;
+		this.reductions.put(new Key().set(constraint), reduction);
+	}
+	return result;
+}
+
+/*
+ * Reduce the given constraint like BoundSet#reduceOneConstraint, collecting the type bounds into the given list
+ * rather than adding them one by one, which is equivalent as reducing type constraints does not read the bound set.
+ * Reduction stops at the first FALSE, which is then marked by a trailing null in the list.
+ * Answer whether the reduction may be memoized.
+ */
+private boolean reduce(InferenceContext18 context, BoundSet boundSet, ConstraintFormula constraint, List<TypeBound> bounds) throws InferenceFailureException {
+	if (!(constraint instanceof ConstraintTypeFormula)) {
+		// type constraints do not reduce to other constraints, but don't bet on it
+		for (TypeBound bound : bounds)
+			boundSet.addBound(bound, context.environment);
+		bounds.clear();
+		if (!boundSet.reduceOneConstraint(context, constraint))
+			bounds.add(null);
+		return false;
+	}
+	boolean isPure = isPure((ConstraintTypeFormula) constraint);
+	Object result = constraint.reduce(context);
+	if (result == ReductionResult.FALSE) {
+		if (InferenceContext18.DEBUG) {
+			System.out.println("Couldn't reduce constraint "+constraint+ " in\n"+context); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		bounds.add(null);
+		return isPure;
+	}
+	if (result == ReductionResult.TRUE)
+		return isPure;
+	if (result == constraint) {
+		// not reduceable
+		throw new IllegalStateException("Failed to reduce constraint formula"); //$NON-NLS-1$
+	}
+	if (result != null) {
+		if (result instanceof ConstraintFormula) {
+			isPure &= reduce(context, boundSet, (ConstraintFormula) result, bounds);
+		} else if (result instanceof ConstraintFormula[]) {
+			ConstraintFormula[] resultArray = (ConstraintFormula[]) result;
+			for (int i = 0; i < resultArray.length; i++) {
+				isPure &= reduce(context, boundSet, resultArray[i], bounds);
+				if (!bounds.isEmpty() && bounds.get(bounds.size() - 1) == null)
+					break;
+			}
+		} else {
+			bounds.add((TypeBound) result);
+		}
+	}
+	return isPure;
+}
+
+private static boolean isPure(ConstraintTypeFormula constraint) {
+	if (constraint == ReductionResult.TRUE || constraint == ReductionResult.FALSE)
+		return true;
+	TypeBinding left = constraint.left, right = constraint.right;
+	if (left.kind() == Binding.POLY_TYPE || right.kind() == Binding.POLY_TYPE)
+		return false; // reduces against the current binding of the poly expression, and captures its type
+	if (constraint.relation == ReductionResult.COMPATIBLE) {
+		// the compatibility of proper types may capture the bound of a type variable
+		TypeBinding leaf = left.leafComponentType();
+		if (leaf.isTypeVariable() || leaf.isIntersectionType() || leaf.isIntersectionType18())
+			return !left.isProperType(true) || !right.isProperType(true);
+	}
+	return true;
+}
+
+/**
+ * Answer the number of reductions held.
+ */
+public int size() {
+	return this.reductions.size();
+}
+
+void clear() {
+	this.reductions.clear();
+}
+}
@@ -51,12 +51,14 @@ import java.util.function.Function;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.ClassFilePool;
+import org.eclipse.jdt.internal.compiler.CompilerEvents;
 import org.eclipse.jdt.internal.compiler.ast.ASTNode;
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.ast.Wildcard;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.env.*;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 import org.eclipse.jdt.internal.compiler.impl.ITypeRequestor;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
@@ -96,6 +98,9 @@ public class LookupEnvironment implements ProblemReasons, TypeConstants {
 
 	public ProblemReporter problemReporter; 	// SHARED
 	public ClassFilePool classFilePool; 		// SHARED
+	public CompilerStats stats;					// ROOT_ONLY
+	InferenceMemo inferenceMemo;				// ROOT_ONLY
+	MethodLookupCache methodLookupCache;		// ROOT_ONLY
 	// indicate in which step on the compilation we are.
 	private CompleteTypeBindingsSteps stepCompleted = CompleteTypeBindingsSteps.NONE; // ROOT_ONLY
 	public ITypeRequestor typeRequestor;		// SHARED
@@ -204,6 +209,11 @@ public LookupEnvironment(ITypeRequestor typeRequestor, CompilerOptions globalOpt
 	this.knownModules = new HashtableOfModule();
 	this.useModuleSystem = nameEnvironment instanceof IModuleAwareNameEnvironment && globalOptions.complianceLevel >= ClassFileConstants.JDK9;
 	this.resolutionListeners = new IQualifiedTypeResolutionListener[0];
+	this.stats = new CompilerStats();
+	if (InferenceMemo.CAPACITY > 0)
+		this.inferenceMemo = new InferenceMemo();
+	if (MethodLookupCache.CAPACITY > 0)
+		this.methodLookupCache = new MethodLookupCache();
 }
 
 /** Construct a specific LookupEnvironment, corresponding to the given module. */
@@ -256,6 +266,15 @@ public ModuleBinding getModule(char[] name) {
  */
 
 public ReferenceBinding askForType(char[][] compoundName, /*@NonNull*/ModuleBinding clientModule) {
+	Object event = CompilerEvents.beginTypeLookup();
+	ReferenceBinding result = null;
+	try {
+		return result = askForType0(compoundName, clientModule);
+	} finally {
+		CompilerEvents.endTypeLookup(event, compoundName, null, result, this.root.unitBeingCompleted);
+	}
+}
+private ReferenceBinding askForType0(char[][] compoundName, ModuleBinding clientModule) {
 	assert clientModule != null : "lookup needs a module"; //$NON-NLS-1$
 	NameEnvironmentAnswer[] answers = null;
 	if (this.useModuleSystem) {
@@ -315,6 +334,15 @@ ReferenceBinding askForType(PackageBinding packageBinding, char[] name, ModuleBi
 	if (packageBinding == null) {
 		packageBinding = this.defaultPackage;
 	}
+	Object event = CompilerEvents.beginTypeLookup();
+	ReferenceBinding result = null;
+	try {
+		return result = askForType0(packageBinding, name, clientModule);
+	} finally {
+		CompilerEvents.endTypeLookup(event, packageBinding.compoundName, name, result, this.root.unitBeingCompleted);
+	}
+}
+private ReferenceBinding askForType0(PackageBinding packageBinding, char[] name, ModuleBinding clientModule) {
 	NameEnvironmentAnswer[] answers = null;
 	if (this.useModuleSystem) {
 		IModuleAwareNameEnvironment moduleEnv = (IModuleAwareNameEnvironment) this.nameEnvironment;
@@ -1047,6 +1075,7 @@ public BinaryTypeBinding createBinaryTypeFrom(IBinaryType binaryType, PackageBin
 	if (this != packageBinding.environment)
 		return packageBinding.environment.createBinaryTypeFrom(binaryType, packageBinding, needFieldsAndMethods, accessRestriction);
 	BinaryTypeBinding binaryBinding = new BinaryTypeBinding(packageBinding, binaryType, this);
+	this.root.stats.binaryTypeCount++;
 
 	// resolve any array bindings which reference the unresolvedType
 	ReferenceBinding cachedType = packageBinding.getType0(binaryBinding.compoundName[binaryBinding.compoundName.length - 1]);
@@ -2198,6 +2227,10 @@ public void reset() {
 
 	this.classFilePool.reset();
 	this.typeSystem.reset();
+	if (this.inferenceMemo != null)
+		this.inferenceMemo.clear();
+	if (this.methodLookupCache != null)
+		this.methodLookupCache.clear();
 	// name environment has a longer life cycle, and must be reset in
 	// the code which created it.
 }
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.util.ObjectVector;
+
+/**
+ * Cache of the candidate methods which {@link Scope#findMethod0(ReferenceBinding, char[], TypeBinding[], InvocationSite, boolean)}
+ * collects along the superclass chain of a class receiver, owned by the root lookup environment.
+ * <p>
+ * The same selectors are looked up on the same receiver types over and over, and collecting their candidates
+ * filters the methods of each superclass against the methods already found, which costs a subsignature check
+ * per pair of overloads. The candidates only depend on the receiver type, the selector and the number of
+ * arguments, as long as no type of the chain needs a capture, and as long as the methods of these types are in
+ * the same state: incomplete types only answer the methods of a given arity, and complete their methods later on.
+ * An entry records the state of the methods of each type of the chain, and is only used while these are unchanged.
+ * Source types getting new methods (local and anonymous types, default constructors) clear the whole cache.
+ * </p><p>
+ * The cache holds at most {@link #CAPACITY} entries, least recently used first out. Setting the capacity
+ * to <code>0</code> disables the cache. Hits and misses are counted in the {@link CompilerStats} of the environment.
+ * </p>
+ */
+final class MethodLookupCache {
+
+	public static final int DEFAULT_CAPACITY = 4096;
+	/** System property overriding {@link #DEFAULT_CAPACITY} */
+	public static final String CAPACITY_PROPERTY = "jdt.compiler.methodLookupCacheSize"; //$NON-NLS-1$
+	public static final int CAPACITY = Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY).intValue();
+
+	static final int NOT_CACHEABLE = -1;
+
+	private static final class Key {
+		ReferenceBinding receiverType;
+		char[] selector;
+		int argumentCount;
+		int hash;
+
+		Key set(ReferenceBinding receiverType, char[] selector, int argumentCount) {
+			this.receiverType = receiverType;
+			this.selector = selector;
+			this.argumentCount = argumentCount;
+			this.hash = (31 * System.identityHashCode(receiverType) + CharOperation.hashCode(selector)) * 31 + argumentCount;
+			return this;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return this.receiverType == other.receiverType //$IDENTITY-COMPARISON$
+					&& this.argumentCount == other.argumentCount
+					&& CharOperation.equals(this.selector, other.selector);
+		}
+	}
+
+	private static final class Candidates {
+		ReferenceBinding[] hierarchy;
+		int[] states;
+		MethodBinding[] methods;
+	}
+
+	private final LinkedHashMap<Key, Candidates> candidates = new LinkedHashMap<Key, Candidates>(256, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Candidates> eldest) {
+			return size() > CAPACITY;
+		}
+	};
+	private final Key probe = new Key();
+
+/**
+ * Answer the candidate methods found along the superclass chain of the given receiver type, or null if they are not cached.
+ * The type references to the chain are recorded in the given scope, as looking up the candidates does.
+ * The answered array is shared, and must not be modified.
+ */
+MethodBinding[] get(ReferenceBinding receiverType, char[] selector, int argumentCount, CompilationUnitScope unitScope) {
+	CompilerStats stats = unitScope.environment.root.stats;
+	Candidates cached = this.candidates.get(this.probe.set(receiverType, selector, argumentCount));
+	if (cached != null) {
+		ReferenceBinding[] hierarchy = cached.hierarchy;
+		int[] states = cached.states;
+		for (int i = 0; i < hierarchy.length; i++) {
+			if (methodsState(hierarchy[i]) != states[i]) {
+				this.candidates.remove(this.probe);
+				cached = null;
+				break;
+			}
+		}
+	}
+	if (cached == null) {
+		stats.methodLookupCacheMisses++;
+		return null;
+	}
+	stats.methodLookupCacheHits++;
+	for (ReferenceBinding type : cached.hierarchy)
+		unitScope.recordTypeReference(type);
+	return cached.methods;
+}
+
+/**
+ * Record the candidate methods found along the given superclass chain of the given receiver type,
+ * provided the methods of the types of the chain are still in the given states, which they were in
+ * when looking up their methods.
+ * @see #methodsState(ReferenceBinding)
+ */
+void put(ReferenceBinding receiverType, char[] selector, int argumentCount, ReferenceBinding[] hierarchy, int[] states, int hierarchyLength, ObjectVector found) {
+	for (int i = 0; i < hierarchyLength; i++) {
+		if (methodsState(hierarchy[i]) != states[i])
+			return;
+	}
+	Candidates entry = new Candidates();
+	System.arraycopy(hierarchy, 0, entry.hierarchy = new ReferenceBinding[hierarchyLength], 0, hierarchyLength);
+	System.arraycopy(states, 0, entry.states = new int[hierarchyLength], 0, hierarchyLength);
+	found.copyInto(entry.methods = new MethodBinding[found.size]);
+	this.candidates.put(new Key().set(receiverType, selector, argumentCount), entry);
+}
+
+/**
+ * Answer the state of the methods of the given type, as seen by its getMethods(),
+ * or {@link #NOT_CACHEABLE} if the candidates found on it may not be cached.
+ */
+static int methodsState(ReferenceBinding type) {
+	if (type instanceof ParameterizedTypeBinding) { // includes raw types
+		// answers the methods it created for a selector, or creates them from its generic type
+		ParameterizedTypeBinding parameterizedType = (ParameterizedTypeBinding) type;
+		int genericState = methodsState(parameterizedType.genericType());
+		if (genericState == NOT_CACHEABLE)
+			return NOT_CACHEABLE;
+		return genericState << 1 | ((parameterizedType.tagBits & TagBits.AreMethodsComplete) != 0 ? 1 : 0);
+	}
+	if (type instanceof SourceTypeBinding || type instanceof BinaryTypeBinding)
+		return (type.prototype().tagBits & TagBits.AreMethodsComplete) != 0 ? 1 : 0;
+	return NOT_CACHEABLE; // type variables, captures...
+}
+
+void clear() {
+	this.candidates.clear();
+}
+}
@@ -76,7 +76,7 @@ import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.impl.ReferenceContext;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
-import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
+import org.eclipse.jdt.internal.compiler.util.CharArrayHashMap;
 import org.eclipse.jdt.internal.compiler.util.ObjectVector;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.compiler.util.SimpleSet;
@@ -1700,9 +1700,39 @@ public abstract class Scope {
 		boolean soureLevel18 = compilerOptions().sourceLevel >= ClassFileConstants.JDK1_8;
 		ReferenceBinding classHierarchyStart = currentType;
 		MethodVerifier verifier = environment().methodVerifier();
+		MethodLookupCache lookupCache = receiverTypeIsInterface ? null : environment().root.methodLookupCache;
+		ReferenceBinding[] hierarchy = null;
+		int[] hierarchyStates = null;
+		int hierarchyLength = 0;
+		if (lookupCache != null) {
+			MethodBinding[] cachedMethods = lookupCache.get(receiverType, selector, argumentTypes.length, unitScope);
+			if (cachedMethods != null) {
+				found.addAll(cachedMethods);
+				currentType = null; // the candidates of the superclass chain are known
+			} else {
+				hierarchy = new ReferenceBinding[4];
+				hierarchyStates = new int[4];
+			}
+		}
 		while (currentType != null) {
 			unitScope.recordTypeReference(currentType);
-			currentType = (ReferenceBinding) currentType.capture(this, invocationSite == null ? 0 : invocationSite.sourceStart(), invocationSite == null ? 0 : invocationSite.sourceEnd());
+			if (hierarchy != null) {
+				int state = MethodLookupCache.methodsState(currentType);
+				if (state == MethodLookupCache.NOT_CACHEABLE) {
+					hierarchy = null;
+				} else {
+					if (hierarchyLength == hierarchy.length) {
+						System.arraycopy(hierarchy, 0, hierarchy = new ReferenceBinding[hierarchyLength * 2], 0, hierarchyLength);
+						System.arraycopy(hierarchyStates, 0, hierarchyStates = new int[hierarchyLength * 2], 0, hierarchyLength);
+					}
+					hierarchy[hierarchyLength] = currentType;
+					hierarchyStates[hierarchyLength++] = state;
+				}
+			}
+			ReferenceBinding capturedType = (ReferenceBinding) currentType.capture(this, invocationSite == null ? 0 : invocationSite.sourceStart(), invocationSite == null ? 0 : invocationSite.sourceEnd());
+			if (capturedType != currentType) //$IDENTITY-COMPARISON$
+				hierarchy = null; // captures are specific to the invocation site
+			currentType = capturedType;
 			MethodBinding[] currentMethods = currentType.getMethods(selector, argumentTypes.length);
 			int currentLength = currentMethods.length;
 			if (currentLength > 0) {
@@ -1753,6 +1783,8 @@ public abstract class Scope {
 			}
 			currentType = currentType.superclass();
 		}
+		if (hierarchy != null)
+			lookupCache.put(receiverType, selector, argumentTypes.length, hierarchy, hierarchyStates, hierarchyLength, found);
 
 		// if found several candidates, then eliminate those not matching argument types
 		int foundSize = found.size;
@@ -3474,9 +3506,9 @@ public abstract class Scope {
 
 		// at this point the scope is a compilation unit scope
 		CompilationUnitScope unitScope = (CompilationUnitScope) scope;
-		HashtableOfObject typeOrPackageCache = unitScope.typeOrPackageCache;
+		CharArrayHashMap<Binding> typeOrPackageCache = unitScope.typeOrPackageCache;
 		if (typeOrPackageCache != null) {
-			Binding cachedBinding = (Binding) typeOrPackageCache.get(name);
+			Binding cachedBinding = typeOrPackageCache.get(name);
 			if (cachedBinding != null) { // can also include NotFound ProblemReferenceBindings if we already know this name is not found
 				if (cachedBinding instanceof ImportBinding) { // single type import cached in faultInImports(), replace it in the cache with the type
 					ImportBinding importBinding = (ImportBinding) cachedBinding;
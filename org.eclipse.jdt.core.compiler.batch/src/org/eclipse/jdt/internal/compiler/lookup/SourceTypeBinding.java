@@ -3245,6 +3245,11 @@ public MethodBinding [] setMethods(MethodBinding[] methods) {
 			annotatedType.methods = methods;
 		}
 	}
+	if (this.scope != null) {
+		MethodLookupCache lookupCache = this.scope.environment().root.methodLookupCache;
+		if (lookupCache != null)
+			lookupCache.clear(); // may hold the former methods
+	}
 	return this.methods = methods;
 }
 
@@ -55,6 +55,7 @@ import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.compiler.InvalidInputException;
 import org.eclipse.jdt.internal.compiler.ASTVisitor;
 import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.CompilerEvents;
 import org.eclipse.jdt.internal.compiler.ast.*;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.codegen.ConstantPool;
@@ -12174,6 +12175,7 @@ public void getMethodBodies(CompilationUnitDeclaration unit) {
 	if ((unit.bits & ASTNode.HasAllMethodBodies) != 0)
 		return; //work already done ...
 
+	Object event = CompilerEvents.beginParse();
 	// save existing values to restore them at the end of the parsing process
 	// see bug 47079 for more details
 	int[] oldLineEnds = this.scanner.lineEnds;
@@ -12201,6 +12203,7 @@ public void getMethodBodies(CompilationUnitDeclaration unit) {
 	// line separator positions array.
 	this.scanner.lineEnds = oldLineEnds;
 	this.scanner.linePtr = oldLinePtr;
+	CompilerEvents.endParse(event, unit, CompilerEvents.PARSE_METHOD_BODIES);
 }
 	protected char getNextCharacter(char[] comment, int[] index) {
 		char nextCharacter = comment[index[0]++];
@@ -13401,6 +13404,7 @@ public CompilationUnitDeclaration parse(
 	// parses a compilation unit and manages error handling (even bugs....)
 
 	CompilationUnitDeclaration unit;
+	Object event = CompilerEvents.beginParse();
 	try {
 		/* automaton initialization */
 		initialize(true);
@@ -13438,6 +13442,7 @@ public CompilationUnitDeclaration parse(
  		this.compilationUnit = null; // reset parser
 		// tag unit has having read bodies
 		if (!this.diet) unit.bits |= ASTNode.HasAllMethodBodies;
+		CompilerEvents.endParse(event, unit, this.diet ? CompilerEvents.PARSE_DIET : CompilerEvents.PARSE_FULL);
 	}
 	return unit;
 }
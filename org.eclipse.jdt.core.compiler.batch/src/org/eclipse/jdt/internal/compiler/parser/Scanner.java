@@ -473,6 +473,8 @@ public char[] getCurrentIdentifierSource() {
 	}
 	int length = this.currentPosition - this.startPosition;
 	if (length == this.eofPosition) return this.source;
+	if (length > CharDeduplication.OPTIMIZED_LENGTH) // long names are shared by all compilations, short ones by the recent tokens
+		return CharDeduplication.intern(this.source, this.startPosition, this.currentPosition);
 	return this.deduplication.sharedCopyOfRange(this.source, this.startPosition, this.currentPosition);
 }
 
@@ -1440,6 +1442,28 @@ public int getNextToken() throws InvalidInputException {
 	this.multiCaseLabelComma = false;
 	return token;
 }
+/*
+ * Jumps over plain ASCII white spaces, leaving the first other character (including the
+ * backslash of a unicode escape) to the general loop of getNextToken0().
+ */
+private void jumpOverAsciiWhiteSpaces() {
+	char[] src = this.source;
+	int pos = this.currentPosition;
+	int end = Math.min(this.eofPosition, src.length);
+	while (pos < end) {
+		char c = src[pos];
+		if (c > ' ' || (ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] & ScannerHelper.C_JLS_SPACE) == 0)
+			break;
+		this.currentCharacter = c;
+		pos++;
+		if (this.recordLineSeparator && (c == '\r' || c == '\n')) {
+			this.currentPosition = pos;
+			pushLineSeparator();
+			pos = this.currentPosition; // jumped over the \n of a \r\n
+		}
+	}
+	this.currentPosition = pos;
+}
 protected int getNextToken0() throws InvalidInputException {
 	this.wasAcr = false;
 	if (this.diet) {
@@ -1455,6 +1479,9 @@ protected int getNextToken0() throws InvalidInputException {
 
 			// ---------Consume white space and handles startPosition---------
 			whiteStart = this.currentPosition;
+			if (!this.tokenizeWhiteSpace) {
+				jumpOverAsciiWhiteSpaces();
+			}
 			boolean isWhiteSpace, hasWhiteSpaces = false;
 			int offset;
 			int unicodePtr;
@@ -3218,6 +3245,18 @@ public int scanIdentifierOrKeyword() {
 	identLoop: {
 		int pos;
 		int srcLength = this.eofPosition;
+		if (this.withoutUnicodePtr == 0) {
+			// nothing to store, jump over the plain ASCII identifier parts upfront
+			pos = this.currentPosition;
+			while (pos < srcLength) {
+				char c = src[pos];
+				if (c >= ScannerHelper.MAX_OBVIOUS
+						|| (ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] & ScannerHelper.C_IDENT_PART) == 0)
+					break;
+				pos++;
+			}
+			this.currentPosition = pos;
+		}
 		while (true) {
 			if ((pos = this.currentPosition) >= srcLength) // handle the obvious case upfront
 				break identLoop;
@@ -3981,6 +4020,25 @@ public int scanNumber(boolean dotPrefix) throws InvalidInputException {
 	//digit of the number. It may be preceeded by a '.' when
 	//dotPrefix is true
 
+	if (!dotPrefix && this.withoutUnicodePtr == 0) {
+		// plain ASCII decimal integer, anything else goes through the general case below
+		char[] src = this.source;
+		int pos = this.currentPosition;
+		int length = Math.min(this.eofPosition, src.length);
+		if (this.currentCharacter != '0') {
+			while (pos < length && src[pos] >= '0' && src[pos] <= '9')
+				pos++;
+		}
+		char c;
+		if (pos < length
+				&& (c = src[pos]) < ScannerHelper.MAX_OBVIOUS
+				&& c != '.' && c != '\\'
+				&& (ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] & ScannerHelper.C_IDENT_PART) == 0) {
+			this.currentCharacter = c;
+			this.currentPosition = pos;
+			return TokenNameIntegerLiteral;
+		}
+	}
 	boolean floating = dotPrefix;
 	if (!dotPrefix && (this.currentCharacter == '0')) {
 		if (getNextChar('x', 'X') >= 0) { //----------hexa-----------------
@@ -273,8 +273,9 @@ public void setSourceStart(int sourceStart) {
 @Override
 public String toString() {
 	String s = "Pb(" + (this.id & IProblem.IgnoreCategoriesMask) + ") "; //$NON-NLS-1$ //$NON-NLS-2$
-	if (this.message != null) {
-		s += this.message;
+	String problemMessage = getMessage();
+	if (problemMessage != null) {
+		s += problemMessage;
 	} else {
 		if (this.arguments != null)
 			for (int i = 0; i < this.arguments.length; i++)
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.problem;
+
+import org.eclipse.jdt.internal.compiler.util.HashtableOfInt;
+
+/**
+ * Problem created by the {@link DefaultProblemFactory}, which renders its message from the templates
+ * of the factory when {@link #getMessage()} is first called, rather than when it is created.
+ * <p>
+ * Many problems never get their message read: warnings removed by <code>@SuppressWarnings</code> or by the
+ * limit of problems per unit, problems discarded by the client of the compiler. The message arguments are
+ * kept as given, their readable names are computed by the problem reporter anyway.
+ * </p>
+ */
+public class DeferredProblem extends DefaultProblem {
+
+	private final HashtableOfInt messageTemplates;
+	private final int elaborationId;
+	private final String[] messageArguments;
+	private volatile String message; // rendered on demand, possibly more than once when racing
+
+public DeferredProblem(
+	char[] originatingFileName,
+	HashtableOfInt messageTemplates,
+	int id,
+	String[] stringArguments,
+	int elaborationId,
+	String[] messageArguments,
+	int severity,
+	int startPosition,
+	int endPosition,
+	int line,
+	int column) {
+
+	super(originatingFileName, null, id, stringArguments, severity, startPosition, endPosition, line, column);
+	this.messageTemplates = messageTemplates;
+	this.elaborationId = elaborationId;
+	this.messageArguments = messageArguments;
+}
+
+@Override
+public String getMessage() {
+	String rendered = this.message;
+	if (rendered == null)
+		this.message = rendered = DefaultProblemFactory.getLocalizedMessage(this.messageTemplates, getID(), this.elaborationId, this.messageArguments);
+	return rendered;
+}
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Process wide registry of the opened archives (jar, zip and jmod files), so that all the class path
+ * entries referring to the same archive share one {@link ZipFile} and one index of its entries,
+ * instead of opening and scanning the archive again for every project and every compilation.
+ * <p>
+ * An archive is identified by its canonical path, size and time stamp: once the file changed on disk,
+ * the next {@link #acquire(File)} opens it again while the clients of the previous version keep using
+ * it until they release it. Each {@link #acquire(File)} must be balanced by a {@link #release(Archive)},
+ * the zip file is closed when its last client released it (unless archives are {@link #setKeepOpen(boolean)
+ * kept open}, e.g. by a long running batch compiler).
+ * </p>
+ */
+public final class ArchiveRegistry {
+
+	/** An opened archive along with the index of its entries */
+	public static final class Archive {
+		public final ZipFile zipFile;
+		final String key;
+		final long lastModified;
+		final long length;
+		private final String identity;
+		int references; // guarded by ArchiveRegistry.class
+		boolean stale; // guarded by ArchiveRegistry.class
+		private volatile Map<String, List<String>> entriesByPackage;
+		private volatile Set<String> packages;
+
+		Archive(ZipFile zipFile, String key, long lastModified, long length) {
+			this.zipFile = zipFile;
+			this.key = key;
+			this.lastModified = lastModified;
+			this.length = length;
+			this.identity = key + '|' + lastModified + '|' + length;
+		}
+
+		/**
+		 * Answer a string identifying this version of the archive: it changes whenever the archive
+		 * changes on disk, hence can key data derived from its contents.
+		 */
+		public String getIdentity() {
+			return this.identity;
+		}
+
+		/**
+		 * Answer the names of the entries of the given package (e.g. <code>"java/lang"</code>), in the order
+		 * of the archive, or an empty list. Entries at the root of the archive belong to the package <code>""</code>.
+		 */
+		public List<String> getEntries(String qualifiedPackageName) {
+			List<String> entries = getEntriesByPackage().get(qualifiedPackageName);
+			return entries == null ? Collections.emptyList() : entries;
+		}
+
+		/**
+		 * Answer the names of all the packages of the archive, including the default package <code>""</code>
+		 * and the enclosing packages of the entries (e.g. <code>"java"</code> for <code>"java/lang/Object.class"</code>).
+		 */
+		public Set<String> getPackages() {
+			Set<String> result = this.packages;
+			if (result == null) {
+				result = new HashSet<>(41);
+				result.add(Util.EMPTY_STRING);
+				for (String packageName : getEntriesByPackage().keySet()) {
+					while (packageName.length() > 0 && result.add(packageName)) {
+						int last = packageName.lastIndexOf('/');
+						packageName = last > 0 ? packageName.substring(0, last) : Util.EMPTY_STRING;
+					}
+				}
+				this.packages = result = Collections.unmodifiableSet(result);
+			}
+			return result;
+		}
+
+		private Map<String, List<String>> getEntriesByPackage() {
+			Map<String, List<String>> result = this.entriesByPackage;
+			if (result == null) {
+				// concurrent first calls compute the same index, no need to lock
+				result = new HashMap<>();
+				for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
+					String fileName = e.nextElement().getName();
+					int last = fileName.lastIndexOf('/');
+					String packageName = last > 0 ? fileName.substring(0, last) : Util.EMPTY_STRING;
+					result.computeIfAbsent(packageName, p -> new ArrayList<>(4)).add(fileName);
+				}
+				this.entriesByPackage = result;
+			}
+			return result;
+		}
+
+		@Override
+		public String toString() {
+			return "Shared archive " + this.key; //$NON-NLS-1$
+		}
+	}
+
+	private static final Map<String, Archive> Archives = new HashMap<>();
+	private static boolean KeepOpen;
+
+	private ArchiveRegistry() {
+		// no instance
+	}
+
+/**
+ * Answer the current version of the given archive, opening it if needed. The caller must
+ * {@link #release(Archive)} it once done.
+ */
+public static Archive acquire(File file) throws IOException {
+	String key = canonicalPath(file);
+	File canonicalFile = new File(key);
+	long lastModified = canonicalFile.lastModified();
+	long length = canonicalFile.length();
+	synchronized (ArchiveRegistry.class) {
+		Archive archive = Archives.get(key);
+		if (archive != null) {
+			if (archive.lastModified == lastModified && archive.length == length) {
+				archive.references++;
+				return archive;
+			}
+			// the archive changed on disk, its clients keep the previous version until they release it
+			Archives.remove(key);
+			archive.stale = true;
+			if (archive.references == 0)
+				close(archive);
+		}
+		archive = new Archive(new ZipFile(canonicalFile), key, lastModified, length);
+		archive.references = 1;
+		Archives.put(key, archive);
+		return archive;
+	}
+}
+
+/**
+ * Release an archive answered by {@link #acquire(File)}. The archive must not be used anymore by the caller.
+ */
+public static synchronized void release(Archive archive) {
+	if (--archive.references > 0)
+		return;
+	if (archive.stale) {
+		close(archive);
+	} else if (!KeepOpen) {
+		Archives.remove(archive.key);
+		close(archive);
+	}
+}
+
+/**
+ * Keep the archives open once released, so that the next compilations find them ready.
+ * Archives are closed as usual once they are not kept open anymore.
+ */
+public static synchronized void setKeepOpen(boolean keepOpen) {
+	KeepOpen = keepOpen;
+	if (!keepOpen) {
+		for (Iterator<Archive> iterator = Archives.values().iterator(); iterator.hasNext();) {
+			Archive archive = iterator.next();
+			if (archive.references == 0) {
+				iterator.remove();
+				close(archive);
+			}
+		}
+	}
+}
+
+private static void close(Archive archive) {
+	try {
+		archive.zipFile.close();
+	} catch (IOException e) {
+		// ignore
+	}
+}
+
+private static String canonicalPath(File file) {
+	try {
+		return file.getCanonicalPath();
+	} catch (IOException e) {
+		return file.getAbsolutePath();
+	}
+}
+}
@@ -15,54 +15,152 @@ package org.eclipse.jdt.internal.compiler.util;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.stream.Collectors;
 
+/**
+ * Open addressing hash map from char arrays to values.
+ * <p>
+ * The table size is a power of two, kept at most two thirds full, and collisions probe the next slots.
+ * The hash of each key is stored beside it: probes compare the hashes before comparing the keys,
+ * and growing the table does not hash the keys again. Looking up a key allocates nothing.
+ * Keys must not be null. This class is not thread safe.
+ * </p>
+ */
 public final class CharArrayHashMap<V> implements CharArrayMapper<V>, Serializable {
-	private static final long serialVersionUID = -4247853285180184851L;
+	private static final long serialVersionUID = 5304614712627914373L;
 
-	// Constructing the intermediate CharArray is little overhead on each get().
-	// Would be slightly better to have a HashMap specialization to char[] keys.
-	// However this implementation is only used for large maps where algorithmic overhead dominates.
-	private final HashMap<CharArray, V> map;
+	private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+	private char[][] keyTable;
+	private int[] hashTable;
+	private V[] valueTable;
+	private int size;
+	private int threshold;
 
 	public CharArrayHashMap(int initialCapacity) {
-		this.map = new HashMap<>(initialCapacity);
+		int capacity = 4;
+		while (capacity < MAXIMUM_CAPACITY && capacity < initialCapacity)
+			capacity <<= 1;
+		allocate(capacity);
+	}
+
+	private void allocate(int capacity) {
+		this.keyTable = new char[capacity][];
+		this.hashTable = new int[capacity];
+		@SuppressWarnings("unchecked")
+		V[] values = (V[]) new Object[capacity];
+		this.valueTable = values;
+		this.threshold = capacity == MAXIMUM_CAPACITY ? Integer.MAX_VALUE : (capacity * 2) / 3;
+	}
+
+	/**
+	 * Spreads the hashes of similar names, which differ in their low bits only, over the whole table.
+	 */
+	private static int indexFor(int hash, int mask) {
+		int h = hash * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	/**
+	 * Answers the slot of the given key, or the complement of the free slot where it would go.
+	 */
+	private int slotOf(char[] key, int hash) {
+		char[][] keys = this.keyTable;
+		int mask = keys.length - 1;
+		int index = indexFor(hash, mask);
+		char[] currentKey;
+		while ((currentKey = keys[index]) != null) {
+			if (this.hashTable[index] == hash && Arrays.equals(currentKey, key))
+				return index;
+			index = (index + 1) & mask;
+		}
+		return ~index;
 	}
 
 	@Override
 	public Collection<V> values() {
-		return new ArrayList<>(this.map.values());
+		ArrayList<V> values = new ArrayList<>(this.size);
+		for (int i = 0, length = this.keyTable.length; i < length; i++) {
+			if (this.keyTable[i] != null)
+				values.add(this.valueTable[i]);
+		}
+		return values;
 	}
 
 	@Override
 	public Collection<char[]> keys() {
-		return this.map.keySet().stream().map(s -> s.getKey()).collect(Collectors.toList());
+		ArrayList<char[]> keys = new ArrayList<>(this.size);
+		for (char[] key : this.keyTable) {
+			if (key != null)
+				keys.add(key);
+		}
+		return keys;
 	}
 
 	@Override
 	public boolean containsKey(char[] key) {
-		return this.map.containsKey(new CharArray(key));
+		return slotOf(key, Arrays.hashCode(key)) >= 0;
 	}
 
 	@Override
 	public V get(char[] key) {
-		return this.map.get(new CharArray(key));
+		int slot = slotOf(key, Arrays.hashCode(key));
+		return slot >= 0 ? this.valueTable[slot] : null;
 	}
 
 	@Override
 	public V put(char[] key, V value) {
-		return this.map.put(new CharArray(key), value);
+		int hash = Arrays.hashCode(key);
+		int slot = slotOf(key, hash);
+		if (slot >= 0) {
+			V previous = this.valueTable[slot];
+			this.valueTable[slot] = value;
+			return previous;
+		}
+		slot = ~slot;
+		this.keyTable[slot] = key;
+		this.hashTable[slot] = hash;
+		this.valueTable[slot] = value;
+		if (++this.size > this.threshold)
+			rehash();
+		return null;
+	}
+
+	private void rehash() {
+		char[][] keys = this.keyTable;
+		int[] hashes = this.hashTable;
+		V[] values = this.valueTable;
+		allocate(keys.length * 2);
+		int mask = this.keyTable.length - 1;
+		for (int i = 0, length = keys.length; i < length; i++) {
+			if (keys[i] == null)
+				continue;
+			int hash = hashes[i];
+			int index = indexFor(hash, mask);
+			while (this.keyTable[index] != null)
+				index = (index + 1) & mask;
+			this.keyTable[index] = keys[i];
+			this.hashTable[index] = hash;
+			this.valueTable[index] = values[i];
+		}
+	}
+
+	public void clear() {
+		if (this.size == 0)
+			return;
+		Arrays.fill(this.keyTable, null);
+		Arrays.fill(this.valueTable, null);
+		this.size = 0;
 	}
 
 	@Override
 	public int size() {
-		return this.map.size();
+		return this.size;
 	}
 
 	@Override
 	public String toString() {
 		return CharArrayMapper.toString(this);
 	}
-}
\ No newline at end of file
+}
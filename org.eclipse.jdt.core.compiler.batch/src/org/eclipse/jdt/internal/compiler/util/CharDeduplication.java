@@ -15,10 +15,27 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.util;
 
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
+/**
+ * Deduplication of the char arrays of names.
+ * <p>
+ * {@link #getThreadLocalInstance()} answers a small table of the short tokens recently read by the
+ * current thread, which the scanner uses for every identifier.
+ * </p><p>
+ * The static {@link #intern(char[])} methods share longer lived names (identifiers, selectors, type
+ * names and descriptors, index words) across threads, compilations and Java model caches: they answer
+ * the instance already interned for an equal array, if any. Interned arrays are only weakly referenced,
+ * and are spread over {@link #STRIPES} independently locked sets, so that concurrent threads seldom wait
+ * for each other. Interned arrays are shared, and must not be modified. The number of duplicates replaced
+ * by an interned instance, and the bytes they would have taken, are counted from the start of the process.
+ * </p>
+ */
 public class CharDeduplication {
 
 	// ----- immutable static part (thread safe): ----
@@ -68,6 +85,171 @@ public class CharDeduplication {
 		return new char[] { charOne };
 	}
 
+	// ----- global interning (thread safe): ----
+
+	/** Number of independently locked sets of interned arrays, a power of two */
+	public static final int STRIPES = 32;
+
+	private static final Stripe[] INTERNED = new Stripe[STRIPES];
+	static {
+		for (int i = 0; i < STRIPES; i++) {
+			INTERNED[i] = new Stripe();
+		}
+	}
+	private static final LongAdder Duplicates = new LongAdder();
+	private static final LongAdder SavedBytes = new LongAdder();
+
+	/** Set of weakly referenced char arrays, guarded by itself */
+	private static final class Stripe {
+		static final class Entry extends WeakReference<char[]> {
+			final int hash;
+			Entry next;
+
+			Entry(char[] referent, int hash, ReferenceQueue<char[]> queue, Entry next) {
+				super(referent, queue);
+				this.hash = hash;
+				this.next = next;
+			}
+		}
+
+		private final ReferenceQueue<char[]> queue = new ReferenceQueue<>();
+		private Entry[] table = new Entry[64];
+		private int size;
+
+		synchronized char[] intern(char[] source, int from, int to, int hash, char[] candidate) {
+			expungeStaleEntries();
+			int length = to - from;
+			int index = hash & (this.table.length - 1);
+			for (Entry entry = this.table[index]; entry != null; entry = entry.next) {
+				if (entry.hash == hash) {
+					char[] existing = entry.get();
+					if (existing != null && existing.length == length && Arrays.equals(existing, 0, length, source, from, to)) {
+						if (existing != candidate) {
+							Duplicates.increment();
+							SavedBytes.add(arrayBytes(length));
+						}
+						return existing;
+					}
+				}
+			}
+			char[] result = candidate != null ? candidate : Arrays.copyOfRange(source, from, to);
+			this.table[index] = new Entry(result, hash, this.queue, this.table[index]);
+			if (++this.size > this.table.length - (this.table.length >> 2))
+				rehash();
+			return result;
+		}
+
+		private void expungeStaleEntries() {
+			Object stale;
+			while ((stale = this.queue.poll()) != null) {
+				Entry reclaimed = (Entry) stale;
+				int index = reclaimed.hash & (this.table.length - 1);
+				Entry previous = null;
+				for (Entry entry = this.table[index]; entry != null; previous = entry, entry = entry.next) {
+					if (entry == reclaimed) {
+						if (previous == null)
+							this.table[index] = entry.next;
+						else
+							previous.next = entry.next;
+						this.size--;
+						break;
+					}
+				}
+			}
+		}
+
+		private void rehash() {
+			Entry[] oldTable = this.table;
+			Entry[] newTable = new Entry[oldTable.length * 2];
+			int mask = newTable.length - 1;
+			for (Entry entry : oldTable) {
+				while (entry != null) {
+					Entry next = entry.next;
+					int index = entry.hash & mask;
+					entry.next = newTable[index];
+					newTable[index] = entry;
+					entry = next;
+				}
+			}
+			this.table = newTable;
+		}
+
+		synchronized int size() {
+			expungeStaleEntries();
+			return this.size;
+		}
+	}
+
+	/** Approximate size of a char array in the heap: header, length and padding included */
+	static long arrayBytes(int length) {
+		return (16L + 2L * length + 7) & ~7L;
+	}
+
+	private static char[] intern(char[] source, int from, int to, char[] candidate) {
+		int hash = 1;
+		for (int i = from; i < to; i++) {
+			hash = 31 * hash + source[i]; // as Arrays.hashCode(char[])
+		}
+		int spread = hash * 0x9E3779B9;
+		// the stripe is selected by the high bits, the bucket of the stripe by the low bits
+		return INTERNED[spread >>> (Integer.SIZE - Integer.numberOfTrailingZeros(STRIPES))].intern(source, from, to, spread, candidate);
+	}
+
+	/**
+	 * Answer the interned instance equal to the given array, which becomes the interned instance if there is none yet.
+	 * @return the interned instance, or null if the given array is null
+	 */
+	public static char[] intern(char[] array) {
+		if (array == null)
+			return null;
+		if (array.length == 0)
+			return CHAR_ARRAY0;
+		return intern(array, 0, array.length, array);
+	}
+
+	/**
+	 * Answer the interned instance equal to <code>source[from..to-1]</code>, which gets copied only if there is none yet.
+	 * @param from start index (inclusive)
+	 * @param to end index (exclusive)
+	 */
+	public static char[] intern(char[] source, int from, int to) {
+		if (from == to)
+			return CHAR_ARRAY0;
+		return intern(source, from, to, null);
+	}
+
+	/**
+	 * Replace the elements of the given array by their interned instances.
+	 * @return the given array
+	 */
+	public static char[][] intern(char[][] arrays) {
+		if (arrays != null) {
+			for (int i = 0; i < arrays.length; i++) {
+				arrays[i] = intern(arrays[i]);
+			}
+		}
+		return arrays;
+	}
+
+	/** Number of arrays which have been replaced by an equal interned instance */
+	public static long getDuplicates() {
+		return Duplicates.sum();
+	}
+
+	/** Approximate number of heap bytes taken by the arrays which have been replaced by an equal interned instance */
+	public static long getSavedBytes() {
+		return SavedBytes.sum();
+	}
+
+	/** Number of interned arrays which have not been reclaimed by the garbage collector yet */
+	public static int getInternedCount() {
+		int count = 0;
+		for (Stripe stripe : INTERNED) {
+			count += stripe.size();
+		}
+		return count;
+	}
+
 	/** @return an instance that is *not* thread safe. To be used in a single thread only. **/
 	public static CharDeduplication getThreadLocalInstance() {
 		return mutableCache.get().get();
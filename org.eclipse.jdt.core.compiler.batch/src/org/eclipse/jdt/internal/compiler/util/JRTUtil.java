@@ -45,6 +45,8 @@ import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
+import org.eclipse.jdt.internal.compiler.batch.ClasspathIndex;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeCache;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
@@ -542,7 +544,14 @@ class JrtFileSystem {
 		this.fs = FileSystems.newFileSystem(JRTUtil.JRT_URI, env);
 		this.modRoot = this.fs.getPath(JRTUtil.MODULES_SUBDIR);
 		// Set up the root directory where modules are located
-		walkJrtForModules();
+		String indexDirectory = System.getProperty(ClasspathIndex.DIRECTORY_PROPERTY);
+		Path indexFile = indexDirectory == null ? null : JrtPackageIndex.getIndexFile(new File(indexDirectory), this.jdk);
+		if (indexFile == null) {
+			walkJrtForModules();
+		} else if (!JrtPackageIndex.read(indexFile, this.packageToModule, this.packageToModules)) {
+			walkJrtForModules();
+			JrtPackageIndex.write(indexFile, this.packageToModule, this.packageToModules);
+		}
 	}
 
 	public List<String> getModulesDeclaringPackage(String qualifiedPackageName, String moduleName) {
@@ -679,26 +688,19 @@ class JrtFileSystem {
 	}
 
 	ClassFileReader getClassfileFromModule(String fileName, String module) throws IOException, ClassFormatException {
-		Path path = this.fs.getPath(JRTUtil.MODULES_SUBDIR, module, fileName);
-		byte[] content = null;
-		if(JRTUtil.DISABLE_CACHE) {
-			content = JRTUtil.safeReadBytes(path);
-		} else {
-			try {
-				Optional<byte[]> bytes = this.classCache.computeIfAbsent(path, key -> {
-					try {
-						return Optional.ofNullable(JRTUtil.safeReadBytes(key));
-					} catch (IOException e) {
-						throw new RuntimeIOException(e);
-					}
-				});
-				content = bytes.orElse(null);
-			} catch (RuntimeIOException rio) {
-				throw rio.getCause();
-			}
+		if (JRTUtil.DISABLE_CACHE) {
+			return readClassfileFromModule(fileName, module, false);
 		}
+		// decoded types are shared by all the images of the same JDK
+		return BinaryTypeCache.get("jrt:" + this.jdk.path + '|' + module, fileName, //$NON-NLS-1$
+				fullyInitialize -> readClassfileFromModule(fileName, module, fullyInitialize));
+	}
+
+	private ClassFileReader readClassfileFromModule(String fileName, String module, boolean fullyInitialize) throws IOException, ClassFormatException {
+		Path path = this.fs.getPath(JRTUtil.MODULES_SUBDIR, module, fileName);
+		byte[] content = getFileBytes(fileName, module);
 		if (content != null) {
-			ClassFileReader reader = new ClassFileReader(path.toUri(), content, fileName.toCharArray());
+			ClassFileReader reader = new ClassFileReader(path.toUri(), content, fileName.toCharArray(), fullyInitialize);
 			reader.moduleName = module.toCharArray();
 			return reader;
 		} else {
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.internal.compiler.batch.ClasspathIndex;
+
+/**
+ * Stores the packages of the modules of a JDK image, as found by walking the <code>/packages</code> directory
+ * of its jrt file system, so that the following processes using the same image read them instead.
+ * <p>
+ * The index is stored along with the class path indexes, in the directory given by the
+ * {@link ClasspathIndex#DIRECTORY_PROPERTY} system property, in a file named after the JDK home, the contents
+ * of its <code>release</code> file and the time stamp and size of its <code>lib/modules</code> image: once the
+ * image changes, the index is computed again from the jrt file system.
+ * </p><p>
+ * File format, big-endian: the magic number, the version, the number of modules and the number of packages
+ * as ints, then the names of the modules, then for each package its name, the number of modules declaring it
+ * and the positions of these modules as shorts. Names are stored as their UTF-8 bytes preceded by their length
+ * as a short.
+ * </p>
+ */
+final class JrtPackageIndex {
+
+	static final int MAGIC = 0x45434A4A; // ECJJ
+	static final int VERSION = 1;
+
+	private JrtPackageIndex() {
+		// not instantiable
+	}
+
+/**
+ * Answer the file of the index of the given JDK image in the given directory, whether it exists or not.
+ * @return the index file, or null if the image cannot be identified
+ */
+static Path getIndexFile(File directory, Jdk jdk) {
+	try {
+		Path home = Paths.get(jdk.path);
+		File image = home.resolve("lib").resolve("modules").toFile(); //$NON-NLS-1$ //$NON-NLS-2$
+		if (!image.isFile())
+			return null;
+		String release = new String(Files.readAllBytes(home.resolve("release")), StandardCharsets.UTF_8); //$NON-NLS-1$
+		String fingerprint = ClasspathIndex.fingerprint(image.getCanonicalPath() + '|' + image.lastModified() + '|' + image.length(), release);
+		return new File(directory, fingerprint + ".idx").toPath(); //$NON-NLS-1$
+	} catch (IOException | RuntimeException e) {
+		return null;
+	}
+}
+
+/**
+ * Read the given index into the given maps, which are left unchanged if the index cannot be read.
+ * @return whether the index was read
+ */
+static boolean read(Path indexFile, Map<String, String> packageToModule, Map<String, List<String>> packageToModules) {
+	if (!Files.isRegularFile(indexFile))
+		return false;
+	Map<String, String> modulesByPackage = new HashMap<>();
+	Map<String, List<String>> multipleModulesByPackage = new HashMap<>();
+	try {
+		// read rather than mapped: everything is copied into the maps, and a live mapping would keep
+		// the index from being replaced or deleted on Windows until collected
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+		if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+			return false;
+		String[] modules = new String[buffer.getInt()];
+		int packageCount = buffer.getInt();
+		for (int i = 0; i < modules.length; i++)
+			modules[i] = readName(buffer).intern();
+		for (int i = 0; i < packageCount; i++) {
+			String packageName = readName(buffer).intern();
+			int count = buffer.getShort();
+			if (count == 1) {
+				modulesByPackage.put(packageName, modules[buffer.getShort()]);
+			} else {
+				List<String> list = new ArrayList<>(count);
+				for (int j = 0; j < count; j++)
+					list.add(modules[buffer.getShort()]);
+				multipleModulesByPackage.put(packageName, list);
+				modulesByPackage.put(packageName, JRTUtil.MULTIPLE);
+			}
+		}
+	} catch (IOException | RuntimeException e) {
+		return false; // unreadable or corrupted, walk the image again
+	}
+	packageToModule.putAll(modulesByPackage);
+	packageToModules.putAll(multipleModulesByPackage);
+	return true;
+}
+
+/**
+ * Store the given maps, as computed by walking the image, into the given index file if possible.
+ */
+static void write(Path indexFile, Map<String, String> packageToModule, Map<String, List<String>> packageToModules) {
+	// ordered by the UTF-8 bytes of the names, so that the same image always gives the same index
+	Map<byte[], List<String>> modulesByPackage = new TreeMap<>(Arrays::compareUnsigned);
+	for (Map.Entry<String, String> entry : packageToModule.entrySet()) {
+		String module = entry.getValue();
+		modulesByPackage.put(entry.getKey().getBytes(StandardCharsets.UTF_8),
+				module == JRTUtil.MULTIPLE ? packageToModules.get(entry.getKey()) : List.of(module));
+	}
+	Map<String, Integer> modules = new LinkedHashMap<>();
+	for (List<String> list : modulesByPackage.values()) {
+		for (String module : list)
+			modules.computeIfAbsent(module, m -> Integer.valueOf(modules.size()));
+	}
+	try {
+		ByteArrayOutputStream result = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(result);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(modules.size());
+		out.writeInt(modulesByPackage.size());
+		for (String module : modules.keySet())
+			writeName(out, module.getBytes(StandardCharsets.UTF_8));
+		for (Map.Entry<byte[], List<String>> entry : modulesByPackage.entrySet()) {
+			writeName(out, entry.getKey());
+			out.writeShort(entry.getValue().size());
+			for (String module : entry.getValue())
+				out.writeShort(modules.get(module).intValue());
+		}
+		out.flush();
+		ClasspathIndex.store(indexFile, result.toByteArray());
+	} catch (IOException e) {
+		throw new IllegalStateException(e); // not on a byte array
+	}
+}
+
+private static String readName(ByteBuffer buffer) {
+	byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+	buffer.get(bytes);
+	return new String(bytes, StandardCharsets.UTF_8);
+}
+
+private static void writeName(DataOutputStream out, byte[] bytes) throws IOException {
+	out.writeShort(bytes.length);
+	out.write(bytes);
+}
+}
@@ -27,7 +27,12 @@ import java.io.StringWriter;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -424,10 +429,10 @@ public class Util implements SuffixConstants {
 	 * @throws IOException if a problem occured reading the file.
 	 */
 	public static char[] getFileCharContent(File file, String encoding) throws IOException {
-		InputStream stream = null;
+		FileInputStream stream = null;
 		try {
 			stream = new FileInputStream(file);
-			return getInputStreamAsCharArray(stream, encoding);
+			return FILE_DECODING_BUFFERS.get().read(stream.getChannel(), getCharset(encoding));
 		} finally {
 			if (stream != null) {
 				try {
@@ -504,13 +509,7 @@ public class Util implements SuffixConstants {
 			throws IOException {
 		byte[] byteContents =  getInputStreamAsByteArray(stream);
 
-		Charset charset;
-		try {
-			charset = Charset.forName(encoding);
-		} catch (IllegalArgumentException e) {
-			// encoding is not supported
-			charset = Charset.defaultCharset();
-		}
+		Charset charset = getCharset(encoding);
 
 		// check for BOM in encoded byte content
 		// (instead of after decoding to avoid array copy after decoding):
@@ -541,6 +540,122 @@ public class Util implements SuffixConstants {
 		return dst;
 	}
 
+	private static Charset getCharset(String encoding) {
+		try {
+			return Charset.forName(encoding);
+		} catch (IllegalArgumentException e) {
+			// encoding is not supported
+			return Charset.defaultCharset();
+		}
+	}
+
+	private static final ThreadLocal<FileDecodingBuffers> FILE_DECODING_BUFFERS = ThreadLocal.withInitial(FileDecodingBuffers::new);
+
+	/**
+	 * Per thread scratch buffers used to read and decode a file straight from its channel, so that
+	 * the resulting char array is the only allocation in the common case (no intermediate byte array
+	 * nor oversized char buffer). Buffers which had to grow beyond {@link #MAX_RETAINED_CAPACITY}
+	 * for a big file are dropped afterwards, to keep the memory held by each thread bounded.
+	 */
+	private static final class FileDecodingBuffers {
+		static final int INITIAL_CAPACITY = 8 * 1024;
+		static final int MAX_RETAINED_CAPACITY = 256 * 1024;
+
+		private ByteBuffer bytes = ByteBuffer.allocate(INITIAL_CAPACITY);
+		private CharBuffer chars = CharBuffer.allocate(INITIAL_CAPACITY);
+		private CharsetDecoder decoder;
+
+		char[] read(FileChannel channel, Charset charset) throws IOException {
+			// one more byte than the file size, so that the end of the file is reached without growing
+			long expectedSize = Math.min(channel.size() + 1, Integer.MAX_VALUE - 8);
+			ByteBuffer in = this.bytes;
+			if (in.capacity() < expectedSize)
+				in = ByteBuffer.allocate((int) expectedSize);
+			in.clear();
+			try {
+				while (true) {
+					if (!in.hasRemaining())
+						in = grow(in); // the file grew since its size was read
+					if (channel.read(in) < 0)
+						break;
+				}
+				in.flip();
+
+				// check for BOM in encoded byte content
+				byte[] bom = bomByEncoding.get(charset.name());
+				if (bom != null && startsWith(in, bom))
+					in.position(bom.length); // skip BOM
+
+				return decode(in, charset);
+			} finally {
+				if (in.capacity() <= MAX_RETAINED_CAPACITY)
+					this.bytes = in;
+			}
+		}
+
+		// same as charset.decode(in), but into the reusable char buffer
+		private char[] decode(ByteBuffer in, Charset charset) throws CharacterCodingException {
+			CharsetDecoder charsetDecoder = this.decoder;
+			if (charsetDecoder == null || charsetDecoder.charset() != charset) {
+				this.decoder = charsetDecoder = charset.newDecoder()
+						.onMalformedInput(CodingErrorAction.REPLACE)
+						.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			} else {
+				charsetDecoder.reset();
+			}
+			CharBuffer out = this.chars;
+			int expectedLength = (int) (in.remaining() * (double) charsetDecoder.averageCharsPerByte());
+			if (out.capacity() < expectedLength)
+				out = CharBuffer.allocate(expectedLength);
+			out.clear();
+			try {
+				while (true) {
+					// decoded even when empty, which flush() requires to have happened
+					CoderResult result = charsetDecoder.decode(in, out, true);
+					if (result.isUnderflow())
+						result = charsetDecoder.flush(out);
+					if (result.isUnderflow())
+						break;
+					if (result.isOverflow()) {
+						out = grow(out);
+						continue;
+					}
+					result.throwException();
+				}
+				out.flip();
+				char[] contents = new char[out.remaining()];
+				out.get(contents);
+				return contents;
+			} finally {
+				if (out.capacity() <= MAX_RETAINED_CAPACITY)
+					this.chars = out;
+			}
+		}
+
+		private static ByteBuffer grow(ByteBuffer buffer) {
+			ByteBuffer grown = ByteBuffer.allocate(2 * buffer.capacity() + 1);
+			buffer.flip();
+			return grown.put(buffer);
+		}
+
+		private static CharBuffer grow(CharBuffer buffer) {
+			CharBuffer grown = CharBuffer.allocate(2 * buffer.capacity() + 1);
+			buffer.flip();
+			return grown.put(buffer);
+		}
+
+		private static boolean startsWith(ByteBuffer buffer, byte[] start) {
+			if (buffer.remaining() < start.length) {
+				return false;
+			}
+			for (int i = 0; i < start.length; i++) {
+				if (buffer.get(i) != start[i])
+					return false;
+			}
+			return true;
+		}
+	}
+
 	private static boolean startsWith(byte[] a, byte[] start) {
 		if (a.length < start.length) {
 			return false;
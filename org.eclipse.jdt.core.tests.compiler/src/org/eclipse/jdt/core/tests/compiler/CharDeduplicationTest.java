@@ -136,6 +136,48 @@ public class CharDeduplicationTest extends TestCase {
 		testDeduplicationTableSize();
 	}
 
+	public void testIntern() {
+		String name = "testInternOfALongName";
+		char[] first = name.toCharArray();
+		char[] interned = CharDeduplication.intern(first);
+		assertSame(first, interned);
+		long duplicates = CharDeduplication.getDuplicates();
+		long savedBytes = CharDeduplication.getSavedBytes();
+		assertSame(interned, CharDeduplication.intern(name.toCharArray()));
+		assertSame(interned, CharDeduplication.intern(("<" + name + ">").toCharArray(), 1, name.length() + 1));
+		char[][] names = { name.toCharArray(), "other".toCharArray() };
+		CharDeduplication.intern(names);
+		assertSame(interned, names[0]);
+		assertEquals(duplicates + 3, CharDeduplication.getDuplicates());
+		assertTrue(CharDeduplication.getSavedBytes() >= savedBytes + 3 * 2 * name.length());
+		assertSame(interned, CharDeduplication.intern(interned)); // not a duplicate
+		assertEquals(duplicates + 3, CharDeduplication.getDuplicates());
+		assertNull(CharDeduplication.intern((char[]) null));
+		assertEquals(0, CharDeduplication.intern(new char[0]).length);
+	}
+
+	public void testInternMultithreaded() throws Exception {
+		int nThreads = 8;
+		int count = 10_000;
+		List<FutureTask<char[][]>> tasks = IntStream.range(0, nThreads).mapToObj(t -> new FutureTask<char[][]>(() -> {
+			char[][] interned = new char[count][];
+			for (int i = 0; i < count; i++) {
+				interned[i] = CharDeduplication.intern(("testInternMultithreaded" + i).toCharArray());
+			}
+			return interned;
+		})).collect(Collectors.toList());
+		ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+		tasks.forEach(executor::submit);
+		char[][] expected = tasks.get(0).get();
+		for (FutureTask<char[][]> task : tasks) {
+			char[][] actual = task.get();
+			for (int i = 0; i < count; i++) {
+				assertSame(expected[i], actual[i]);
+			}
+		}
+		executor.shutdownNow();
+	}
+
 	public void testMultithreaded() throws Exception {
 		int nThreads = 8;
 		List<FutureTask<Object>> tasks = IntStream.range(0, nThreads * 2).mapToObj(i -> new FutureTask<Object>(() -> {
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 
 import org.eclipse.jdt.core.tests.junit.extension.TestCase;
+import org.eclipse.jdt.internal.compiler.codegen.CharArrayCache;
 import org.eclipse.jdt.internal.compiler.util.CharArrayHashMap;
 import org.eclipse.jdt.internal.compiler.util.CharArrayMap;
 import org.eclipse.jdt.internal.compiler.util.CharArrayMapper;
@@ -127,6 +128,37 @@ public class CharArrayMapperTest extends TestCase {
 		testColliding(new CharArrayHashMap<>(4));
 	}
 
+	public void testCharArrayHashMapClear() {
+		CharArrayHashMap<String> map = new CharArrayHashMap<>(4);
+		testIntList(map);
+		map.clear();
+		assertEquals("cleared", 0, map.size());
+		assertEquals("cleared", Collections.emptyList(), map.keys());
+		testIntList(map);
+	}
+
+	public void testCharArrayCacheRemove() {
+		CharArrayCache cache = new CharArrayCache(4);
+		int value = 1;
+		for (int[] collision : hashCollisions) {
+			for (int i : collision) {
+				assertEquals("putIfAbsent(" + i + ")", -value, cache.putIfAbsent(("" + i).toCharArray(), value));
+				value++;
+			}
+		}
+		// removing the first key of each collision must keep the second one reachable
+		for (int[] collision : hashCollisions) {
+			cache.remove(("" + collision[0]).toCharArray());
+		}
+		assertEquals("size", hashCollisions.length, cache.size());
+		value = 1;
+		for (int[] collision : hashCollisions) {
+			assertEquals("removed(" + collision[0] + ")", -1, cache.get(("" + collision[0]).toCharArray()));
+			assertEquals("kept(" + collision[1] + ")", value + 1, cache.get(("" + collision[1]).toCharArray()));
+			value += 2;
+		}
+	}
+
 	public void testCharArrayMap() {
 		testIntList(new CharArrayMap<>());
 		testColliding(new CharArrayMap<>());
@@ -44,12 +44,25 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import javax.lang.model.SourceVersion;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
 import junit.framework.Test;
 
 import org.eclipse.jdt.core.JavaCore;
@@ -58,6 +71,7 @@ import org.eclipse.jdt.core.tests.util.AbstractCompilerTest;
 import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.compiler.batch.ClasspathDirectory;
 import org.eclipse.jdt.internal.compiler.batch.ClasspathJar;
+import org.eclipse.jdt.internal.compiler.batch.CompilerDaemon;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem;
 import org.eclipse.jdt.internal.compiler.batch.Main;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
@@ -642,6 +656,8 @@ public void test012(){
         "    -d <dir>           destination directory (if omitted, no directory is\n" +
         "                       created); this option can be overridden per source\n" +
         "                       directory\n" +
+        "    -d <file>.jar      destination jar, replaced by a jar of the generated\n" +
+        "                       .class files\n" +
         "    -d none            generate no .class files\n" +
         "    -encoding <enc>    specify default encoding for all source files. Each\n" +
         "                       file/directory can override it when suffixed with\n" +
@@ -768,9 +784,15 @@ public void test012(){
         "    -referenceInfo     compute reference info\n" +
         "    -progress          show progress (only in -log mode)\n" +
         "    -time              display speed information \n" +
+        "    -stats:json=<file> write the times of each compilation phase, for the\n" +
+        "                       whole compilation and for each unit, and the counts of\n" +
+        "                       binary types, inferences and class files to a JSON file\n" +
         "    -noExit            do not call System.exit(n) at end of compilation (n==0\n" +
         "                       if no error)\n" +
         "    -repeat <n>        repeat compilation process <n> times for perf analysis\n" +
+        "    -parallelParsing[:<n>]\n" +
+        "                       parse method bodies on <n> worker threads (number of\n" +
+        "                       available processors by default)\n" +
         "    -inlineJSR         inline JSR bytecode (implicit if target >= 1.5)\n" +
         "    -enableJavadoc     consider references in javadoc\n" +
         "    -parameters        generate method parameters attribute (for target >= 1.8)\n" +
@@ -1054,6 +1076,7 @@ public void test012b(){
 			"		<option key=\"org.eclipse.jdt.core.compiler.generateClassFiles\" value=\"enabled\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.ignoreUnnamedModuleForSplitPackage\" value=\"disabled\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.maxProblemPerUnit\" value=\"100\"/>\n" +
+			"		<option key=\"org.eclipse.jdt.core.compiler.parsingThreads\" value=\"0\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.problem.APILeak\" value=\"warning\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.problem.annotatedTypeArgumentToUnannotated\" value=\"info\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.problem.annotationSuperInterface\" value=\"warning\"/>\n" +
@@ -13523,4 +13546,425 @@ public void testGitHub1122(){
 		+ "",
 		true);
 }
+// method bodies parsed on worker threads report the same problems as a sequential compile
+public void testParallelParsing() {
+	this.runNegativeTest(
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"	void foo() { Y.bar(); }\n" +
+			"}",
+			"Y.java",
+			"public class Y {\n" +
+			"	static void bar() { int i = ; }\n" +
+			"}",
+			"Z.java",
+			"public class Z {\n" +
+			"	void baz() { new X().foo(); }\n" +
+			"}",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "Y.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "Z.java\""
+		+ " -1.5 -parallelParsing:3 -proceedOnError -d \"" + OUTPUT_DIR + "\"",
+		"",
+		"----------\n" +
+		"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/Y.java (at line 2)\n" +
+		"	static void bar() { int i = ; }\n" +
+		"	                          ^\n" +
+		"Syntax error on token \"=\", Expression expected after this token\n" +
+		"----------\n" +
+		"1 problem (1 error)\n",
+		true);
+}
+// problems raised on the parsing threads and on the processing thread are reported in the same order and number as without them
+public void testParallelParsing_problemOrder() {
+	String[] sources = new String[] {
+		"A.java",
+		"public class A {\n" +
+		"	void foo() { int unused = 0; B.bar(); }\n" +
+		"	void bar() { int i = ; }\n" +
+		"}",
+		"B.java",
+		"public class B {\n" +
+		"	static void bar() { java.util.List l = null; }\n" +
+		"}",
+		"C.java",
+		"public class C {\n" +
+		"	void baz() { new A().foo() }\n" +
+		"	void qux() { Missing m; }\n" +
+		"}",
+		"D.java",
+		"public class D {\n" +
+		"	void d() { int unused; }\n" +
+		"}",
+		"E.java",
+		"public class E {\n" +
+		"	void e() { return 1; }\n" +
+		"	void f() { for (;;) }\n" +
+		"}",
+		"F.java",
+		"public class F extends A {\n" +
+		"	void foo() { E e = new E(); e.f() ; }\n" +
+		"}",
+	};
+	String expectedProblems =
+		"----------\n" +
+		"1. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/A.java (at line 2)\n" +
+		"	void foo() { int unused = 0; B.bar(); }\n" +
+		"	                 ^^^^^^\n" +
+		"The value of the local variable unused is not used\n" +
+		"----------\n" +
+		"2. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/A.java (at line 3)\n" +
+		"	void bar() { int i = ; }\n" +
+		"	                   ^\n" +
+		"Syntax error on token \"=\", Expression expected after this token\n" +
+		"----------\n" +
+		"----------\n" +
+		"3. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/B.java (at line 2)\n" +
+		"	static void bar() { java.util.List l = null; }\n" +
+		"	                    ^^^^^^^^^^^^^^\n" +
+		"List is a raw type. References to generic type List<E> should be parameterized\n" +
+		"----------\n" +
+		"4. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/B.java (at line 2)\n" +
+		"	static void bar() { java.util.List l = null; }\n" +
+		"	                                   ^\n" +
+		"The value of the local variable l is not used\n" +
+		"----------\n" +
+		"----------\n" +
+		"5. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/C.java (at line 2)\n" +
+		"	void baz() { new A().foo() }\n" +
+		"	                         ^\n" +
+		"Syntax error, insert \";\" to complete BlockStatements\n" +
+		"----------\n" +
+		"6. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/C.java (at line 3)\n" +
+		"	void qux() { Missing m; }\n" +
+		"	             ^^^^^^^\n" +
+		"Missing cannot be resolved to a type\n" +
+		"----------\n" +
+		"----------\n" +
+		"7. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/D.java (at line 2)\n" +
+		"	void d() { int unused; }\n" +
+		"	               ^^^^^^\n" +
+		"The value of the local variable unused is not used\n" +
+		"----------\n" +
+		"----------\n" +
+		"8. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/E.java (at line 2)\n" +
+		"	void e() { return 1; }\n" +
+		"	           ^^^^^^^^^\n" +
+		"Void methods cannot return a value\n" +
+		"----------\n" +
+		"9. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/E.java (at line 3)\n" +
+		"	void f() { for (;;) }\n" +
+		"	                  ^\n" +
+		"Syntax error on token \")\", EmptyStatement expected after this token\n" +
+		"----------\n" +
+		"9 problems (5 errors, 4 warnings)\n";
+	String[] parallelOptions = { "", " -parallelParsing:1", " -parallelParsing:4" };
+	for (int i = 0; i < parallelOptions.length; i++) {
+		StringBuilder commandLine = new StringBuilder();
+		for (int j = 0; j < sources.length; j += 2)
+			commandLine.append(" \"").append(OUTPUT_DIR).append(File.separator).append(sources[j]).append('"');
+		commandLine.append(" -1.8 -warn:+unused,+raw -proceedOnError").append(parallelOptions[i]);
+		commandLine.append(" -d \"").append(OUTPUT_DIR).append('"');
+		this.runNegativeTest(sources, commandLine.toString(), "", expectedProblems, true);
+	}
+}
+// a project compiled with method bodies parsed on worker threads gets the same problems and class files as a serial compile
+public void testParallelParsing_classFiles() throws IOException {
+	String[] sources = new String[] {
+		"P0.java",
+		"import java.util.*;\n" +
+		"import java.util.stream.*;\n" +
+		"public class P0 {\n" +
+		"	List<String> names(List<P1> ps) {\n" +
+		"		return ps.stream().map(P1::name).sorted(Comparator.naturalOrder()).collect(Collectors.toList());\n" +
+		"	}\n" +
+		"}",
+		"P1.java",
+		"public class P1 {\n" +
+		"	String name() { return \"p1\"; }\n" +
+		"	Runnable r = () -> { int unused = 0; };\n" +
+		"}",
+		"P2.java",
+		"public class P2 {\n" +
+		"	int kind(String s) {\n" +
+		"		switch (s) {\n" +
+		"			case \"a\": return 1;\n" +
+		"			case \"b\": return 2;\n" +
+		"			default: return new Object() { int k() { return s.length(); } }.k();\n" +
+		"		}\n" +
+		"	}\n" +
+		"}",
+		"P3.java",
+		"import java.util.function.*;\n" +
+		"public class P3 {\n" +
+		"	Supplier<P1> s = P1::new;\n" +
+		"	Function<String, Integer> f = new P2()::kind;\n" +
+		"	int size() { return new P0().names(java.util.Collections.singletonList(this.s.get())).size() + this.f.apply(\"a\"); }\n" +
+		"}",
+		"P4.java",
+		"import java.util.*;\n" +
+		"public class P4<T extends Comparable<T>> {\n" +
+		"	T max(Collection<T> ts) { return Collections.max(ts, Comparator.<T>naturalOrder()); }\n" +
+		"	void raw() { List l = new ArrayList(); }\n" +
+		"}",
+		"P5.java",
+		"public class P5 extends P4<String> {\n" +
+		"	class Inner { String m() { return max(java.util.Collections.singleton(\"x\")); } }\n" +
+		"	BinaryOperatorHolder h = new BinaryOperatorHolder();\n" +
+		"	static class BinaryOperatorHolder { java.util.function.BinaryOperator<Integer> plus = Integer::sum; }\n" +
+		"}",
+		"P6.java",
+		"public class P6 {\n" +
+		"	Object o(int i) {\n" +
+		"		try { return i > 0 ? new P5().new Inner().m() : null; }\n" +
+		"		finally { int unused = i; }\n" +
+		"	}\n" +
+		"}",
+		"P7.java",
+		"public class P7 {\n" +
+		"	enum Color { RED, GREEN }\n" +
+		"	String c(Color c) {\n" +
+		"		switch (c) {\n" +
+		"			case RED: return \"r\";\n" +
+		"			default: String g = \"g\"; return g + new P6().o(1);\n" +
+		"		}\n" +
+		"	}\n" +
+		"}"
+	};
+	String expectedProblems =
+		"----------\n" +
+		"1. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/P1.java (at line 3)\n" +
+		"	Runnable r = () -> { int unused = 0; };\n" +
+		"	                         ^^^^^^\n" +
+		"The value of the local variable unused is not used\n" +
+		"----------\n" +
+		"----------\n" +
+		"2. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/P4.java (at line 4)\n" +
+		"	void raw() { List l = new ArrayList(); }\n" +
+		"	             ^^^^\n" +
+		"List is a raw type. References to generic type List<E> should be parameterized\n" +
+		"----------\n" +
+		"3. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/P4.java (at line 4)\n" +
+		"	void raw() { List l = new ArrayList(); }\n" +
+		"	                  ^\n" +
+		"The value of the local variable l is not used\n" +
+		"----------\n" +
+		"4. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/P4.java (at line 4)\n" +
+		"	void raw() { List l = new ArrayList(); }\n" +
+		"	                      ^^^^^^^^^^^^^^^\n" +
+		"The allocated object is never used\n" +
+		"----------\n" +
+		"5. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/P4.java (at line 4)\n" +
+		"	void raw() { List l = new ArrayList(); }\n" +
+		"	                          ^^^^^^^^^\n" +
+		"ArrayList is a raw type. References to generic type ArrayList<E> should be parameterized\n" +
+		"----------\n" +
+		"----------\n" +
+		"6. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/P6.java (at line 4)\n" +
+		"	finally { int unused = i; }\n" +
+		"	              ^^^^^^\n" +
+		"The value of the local variable unused is not used\n" +
+		"----------\n" +
+		"6 problems (6 warnings)\n";
+	String[] parallelOptions = { "", " -parallelParsing:2", " -parallelParsing:4" };
+	for (int i = 0; i < parallelOptions.length; i++) {
+		StringBuilder commandLine = new StringBuilder();
+		for (int j = 0; j < sources.length; j += 2)
+			commandLine.append(" \"").append(OUTPUT_DIR).append(File.separator).append(sources[j]).append('"');
+		commandLine.append(" -1.8 -warn:+unused,+raw").append(parallelOptions[i]);
+		commandLine.append(" -d \"").append(OUTPUT_DIR).append(File.separator).append("bin").append(i).append('"');
+		this.runConformTest(sources, commandLine.toString(), "", expectedProblems, i == 0);
+	}
+	File serial = new File(OUTPUT_DIR, "bin0");
+	String[] classFiles = serial.list();
+	Arrays.sort(classFiles);
+	assertEquals(12, classFiles.length);
+	for (int i = 1; i < parallelOptions.length; i++) {
+		File parallel = new File(OUTPUT_DIR, "bin" + i);
+		String[] parallelClassFiles = parallel.list();
+		Arrays.sort(parallelClassFiles);
+		assertEquals("Wrong class files with" + parallelOptions[i], Arrays.toString(classFiles), Arrays.toString(parallelClassFiles));
+		for (String classFile : classFiles)
+			assertTrue("Different " + classFile + " with" + parallelOptions[i],
+					Arrays.equals(Files.readAllBytes(new File(serial, classFile).toPath()), Files.readAllBytes(new File(parallel, classFile).toPath())));
+	}
+}
+public void testParallelParsing_invalidThreadCount() {
+	this.runNegativeTest(
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"}",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " -1.5 -parallelParsing:none -d \"" + OUTPUT_DIR + "\"",
+		"",
+		"thread count must be a positive integer: -parallelParsing:none\n",
+		true);
+}
+// the daemon compiles successive requests in the same VM and reports their outcome
+public void testCompilerDaemon() throws Exception {
+	String daemonFileName = OUTPUT_DIR + File.separator + "daemon.txt";
+	String sourceFileName = OUTPUT_DIR + File.separator + "X.java";
+	new File(OUTPUT_DIR).mkdirs();
+	Util.createFile(sourceFileName,
+		"public class X {\n" +
+		"}");
+	java.nio.file.Path daemonFile = new File(daemonFileName).toPath();
+	Thread daemon = new Thread(() -> new CompilerDaemon(daemonFile).run(System.out, System.err));
+	daemon.setDaemon(true);
+	daemon.start();
+	try {
+		for (int i = 0; i < 100 && !new File(daemonFileName).exists(); i++)
+			Thread.sleep(100);
+		java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
+		java.io.ByteArrayOutputStream err = new java.io.ByteArrayOutputStream();
+		String[] args = { "-1.5", "-d", OUTPUT_DIR, sourceFileName };
+		assertEquals(0, CompilerDaemon.request(daemonFile, args, new java.io.PrintStream(out), new java.io.PrintStream(err)));
+		assertTrue(new File(OUTPUT_DIR + File.separator + "X.class").exists());
+		Util.createFile(sourceFileName,
+			"public class X {\n" +
+			"	int i = ;\n" +
+			"}");
+		assertEquals(-1, CompilerDaemon.request(daemonFile, args, new java.io.PrintStream(out), new java.io.PrintStream(err)));
+		assertTrue(err.toString().contains("1 problem (1 error)"));
+	} finally {
+		CompilerDaemon.request(daemonFile, null, System.out, System.err);
+		daemon.join(10000);
+	}
+	assertFalse(daemon.isAlive());
+	assertFalse(new File(daemonFileName).exists());
+}
+public void testStatsJson() throws Exception {
+	String statsFileName = OUTPUT_DIR + File.separator + "stats.json";
+	this.runConformTest(
+		new String[] {
+			"X.java",
+			"import java.util.*;\n" +
+			"public class X {\n" +
+			"	List<String> list = new ArrayList<>();\n" +
+			"	class Y {}\n" +
+			"}",
+		},
+		"\"" + OUTPUT_DIR + File.separator + "X.java\""
+		+ " -1.8 -stats:json=\"" + statsFileName + "\" -d \"" + OUTPUT_DIR + "\"",
+		"",
+		"",
+		true);
+	String stats = Util.fileContent(statsFileName);
+	assertTrue(stats, stats.startsWith("{\"compilations\":[\n{\"timeMillis\":"));
+	assertTrue(stats, stats.contains("X.java\",\"parseTimeNanos\":"));
+	assertTrue(stats, stats.contains("\"classFileCount\":2,"));
+	assertTrue(stats, stats.matches("(?s).*\"inferenceCount\":[1-9][0-9]*,.*")); // diamond
+}
+public void testStatsJson_inferenceMemo() throws Exception {
+	String statsFileName = OUTPUT_DIR + File.separator + "stats.json";
+	this.runConformTest(
+		new String[] {
+			"X.java",
+			"import java.util.*;\n" +
+			"public class X {\n" +
+			"	String max(List<String> strings) {\n" +
+			"		return Collections.max(strings, Comparator.naturalOrder());\n" +
+			"	}\n" +
+			"}",
+		},
+		"\"" + OUTPUT_DIR + File.separator + "X.java\""
+		+ " -1.8 -stats:json=\"" + statsFileName + "\" -d \"" + OUTPUT_DIR + "\"",
+		"",
+		"",
+		true);
+	String stats = Util.fileContent(statsFileName);
+	// the constraints on the arguments are reduced again when inferring the invocation type
+	assertTrue(stats, stats.matches("(?s).*\"inferenceMemoHits\":[1-9][0-9]*,.*"));
+	assertTrue(stats, stats.matches("(?s).*\"inferenceMemoMisses\":[1-9][0-9]*,.*"));
+}
+public void testStatsJson_methodLookupCache() throws Exception {
+	String statsFileName = OUTPUT_DIR + File.separator + "stats.json";
+	this.runConformTest(
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"	String join(short first, short second) {\n" +
+			"		return new StringBuilder().append(first).append(second).toString();\n" +
+			"	}\n" +
+			"}",
+		},
+		"\"" + OUTPUT_DIR + File.separator + "X.java\""
+		+ " -1.8 -stats:json=\"" + statsFileName + "\" -d \"" + OUTPUT_DIR + "\"",
+		"",
+		"",
+		true);
+	String stats = Util.fileContent(statsFileName);
+	// no append(short) matches exactly, the candidates of the second append() are those of the first one
+	assertTrue(stats, stats.matches("(?s).*\"methodLookupCacheHits\":[1-9][0-9]*,.*"));
+	assertTrue(stats, stats.matches("(?s).*\"methodLookupCacheMisses\":[1-9][0-9]*,.*"));
+}
+public void testJarDestination() throws Exception {
+	String jarName = OUTPUT_DIR + File.separator + "bin" + File.separator + "out.jar";
+	String[] sources = new String[] {
+		"p/X.java",
+		"package p;\n" +
+		"public class X {\n" +
+		"	class Y {}\n" +
+		"}",
+	};
+	String commandLine = "\"" + OUTPUT_DIR + File.separator + "p" + File.separator + "X.java\""
+		+ " -1.8 -d \"" + jarName + "\"";
+	this.runConformTest(sources, commandLine, "", "", true);
+	byte[] firstJar = Files.readAllBytes(new File(jarName).toPath());
+	List<String> entries = new ArrayList<>();
+	try (ZipFile zipFile = new ZipFile(jarName)) {
+		for (Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements();) {
+			ZipEntry entry = e.nextElement();
+			entries.add(entry.getName());
+			assertEquals(entry.getName(), "1980-02-01T00:00", entry.getTimeLocal().toString());
+		}
+	}
+	assertEquals(Arrays.asList("META-INF/", "META-INF/MANIFEST.MF", "p/", "p/X$Y.class", "p/X.class"), entries);
+	assertFalse(new File(OUTPUT_DIR + File.separator + "bin" + File.separator + "p").exists());
+	// the same compilation gives the same jar
+	this.runConformTest(sources, commandLine, "", "", true);
+	assertTrue(Arrays.equals(firstJar, Files.readAllBytes(new File(jarName).toPath())));
+}
+public void testFlightRecorderEvents() throws Exception {
+	String[] eventNames = { "CompileUnit", "Parse", "TypeLookup", "Inference", "ClassFile" };
+	Path recordingFile = new File(OUTPUT_DIR, "compile.jfr").toPath();
+	try (Recording recording = new Recording()) {
+		for (String eventName : eventNames)
+			recording.enable("org.eclipse.jdt.compiler." + eventName).withoutThreshold();
+		recording.start();
+		this.runConformTest(
+			new String[] {
+				"X.java",
+				"import java.util.*;\n" +
+				"public class X {\n" +
+				"	List<String> list = new ArrayList<>();\n" +
+				"	class Y {}\n" +
+				"}",
+			},
+			"\"" + OUTPUT_DIR + File.separator + "X.java\""
+			+ " -1.8 -d \"" + OUTPUT_DIR + "\"",
+			"",
+			"",
+			true);
+		recording.stop();
+		recording.dump(recordingFile);
+	}
+	Set<String> recorded = new HashSet<>();
+	for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+		String name = event.getEventType().getName();
+		if (!name.startsWith("org.eclipse.jdt.compiler."))
+			continue;
+		recorded.add(name.substring("org.eclipse.jdt.compiler.".length()));
+		if (name.endsWith(".CompileUnit")) {
+			assertTrue(event.getString("unit"), event.getString("unit").endsWith("X.java"));
+			assertEquals(2, event.getInt("classFileCount"));
+		}
+	}
+	for (String eventName : eventNames)
+		assertTrue(eventName + " not recorded in " + recorded, recorded.contains(eventName));
+}
 }
\ No newline at end of file
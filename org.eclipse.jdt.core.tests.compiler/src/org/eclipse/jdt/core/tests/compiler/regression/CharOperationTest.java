@@ -171,4 +171,127 @@ public void test012() {
 			4,
 			true));
 }
+// test compareTo on ties in the common part, decided by the lengths
+public void test013() {
+	assertEquals(0, CharOperation.compareTo("abc".toCharArray(), "abc".toCharArray()));
+	assertEquals(-1, CharOperation.compareTo("ab".toCharArray(), "abc".toCharArray()));
+	assertEquals(1, CharOperation.compareTo("abc".toCharArray(), "ab".toCharArray()));
+	assertEquals(1, CharOperation.compareTo("abd".toCharArray(), "abc".toCharArray()));
+	assertEquals('c' - 'D', CharOperation.compareTo("abc".toCharArray(), "abD".toCharArray()));
+	assertEquals('a' - 'b', CharOperation.compareTo("a".toCharArray(), "bcd".toCharArray()));
+	assertEquals(0, CharOperation.compareTo(CharOperation.NO_CHAR, CharOperation.NO_CHAR));
+	assertEquals(-1, CharOperation.compareTo(CharOperation.NO_CHAR, "a".toCharArray()));
+	assertEquals(1, CharOperation.compareTo("a".toCharArray(), CharOperation.NO_CHAR));
+}
+// test compareTo between start and end positions
+public void test014() {
+	char[] abc = "abc".toCharArray();
+	assertEquals(0, CharOperation.compareTo("xabc".toCharArray(), "yabc".toCharArray(), 1, 4));
+	assertEquals(0, CharOperation.compareTo(abc, "abd".toCharArray(), 0, 2));
+	assertEquals(-1, CharOperation.compareTo(abc, "abd".toCharArray(), 0, 3));
+	assertEquals(-1, CharOperation.compareTo(abc, "abd".toCharArray(), 1, 10));
+	// no character to compare, answers the length difference
+	assertEquals(-1, CharOperation.compareTo(abc, "abcd".toCharArray(), 3, 4));
+	assertEquals(0, CharOperation.compareTo(abc, "xyz".toCharArray(), 2, 2));
+	assertEquals(0, CharOperation.compareTo(abc, "xbc".toCharArray(), 2, 1));
+	assertEquals(0, CharOperation.compareTo(CharOperation.NO_CHAR, CharOperation.NO_CHAR, 0, 0));
+	assertEquals(-3, CharOperation.compareTo(CharOperation.NO_CHAR, abc, 0, 3));
+	try {
+		CharOperation.compareTo(abc, abc, -1, 2);
+		fail("Should reject a negative start");
+	} catch (ArrayIndexOutOfBoundsException e) {
+		// expected
+	}
+}
+// test compareWith
+public void test015() {
+	assertEquals(0, CharOperation.compareWith("abc".toCharArray(), "ab".toCharArray()));
+	assertEquals(0, CharOperation.compareWith("abc".toCharArray(), "abc".toCharArray()));
+	assertEquals(-1, CharOperation.compareWith("ab".toCharArray(), "abc".toCharArray()));
+	assertEquals(1, CharOperation.compareWith("abd".toCharArray(), "abc".toCharArray()));
+	assertEquals('a' - 'b', CharOperation.compareWith("abc".toCharArray(), "b".toCharArray()));
+	assertEquals('B' - 'b', CharOperation.compareWith("aB".toCharArray(), "ab".toCharArray()));
+	assertEquals(0, CharOperation.compareWith(CharOperation.NO_CHAR, CharOperation.NO_CHAR));
+	assertEquals(0, CharOperation.compareWith("abc".toCharArray(), CharOperation.NO_CHAR));
+	assertEquals(-1, CharOperation.compareWith(CharOperation.NO_CHAR, "a".toCharArray()));
+}
+// test equals on a region of the second array
+public void test016() {
+	char[] second = "xAbCx".toCharArray();
+	assertTrue(CharOperation.equals("AbC".toCharArray(), second, 1, 4));
+	assertFalse(CharOperation.equals("abc".toCharArray(), second, 1, 4));
+	assertFalse(CharOperation.equals("abc".toCharArray(), second, 1, 4, true));
+	assertTrue(CharOperation.equals("abc".toCharArray(), second, 1, 4, false));
+	assertFalse(CharOperation.equals("abd".toCharArray(), second, 1, 4, false));
+	assertFalse(CharOperation.equals("AbC".toCharArray(), second, 1, 3));
+	assertTrue(CharOperation.equals(second, second, 2, 2));
+	assertTrue(CharOperation.equals(CharOperation.NO_CHAR, second, 2, 2));
+	assertTrue(CharOperation.equals(CharOperation.NO_CHAR, second, 7, 7));
+	assertTrue(CharOperation.equals(CharOperation.NO_CHAR, second, -1, -1, false));
+	// out of the second array, the characters are compared from the last one down
+	assertFalse(CharOperation.equals("xA".toCharArray(), second, -1, 1));
+	assertFalse(CharOperation.equals("xA".toCharArray(), second, -1, 1, false));
+	for (int i = 0; i < 2; i++) {
+		boolean isCaseSensitive = i == 0;
+		try {
+			CharOperation.equals("CxAx".toCharArray(), second, 3, 7, isCaseSensitive);
+			fail("Should reject a region ending after the second array");
+		} catch (ArrayIndexOutOfBoundsException e) {
+			// expected
+		}
+		try {
+			CharOperation.equals("?x".toCharArray(), second, -1, 1, isCaseSensitive);
+			fail("Should reject a region starting before the second array");
+		} catch (ArrayIndexOutOfBoundsException e) {
+			// expected
+		}
+	}
+}
+// test prefixEquals, fragmentEquals and endsWith
+public void test017() {
+	char[] name = "abCd".toCharArray();
+	assertTrue(CharOperation.prefixEquals("ab".toCharArray(), name));
+	assertTrue(CharOperation.prefixEquals(name, name));
+	assertTrue(CharOperation.prefixEquals(CharOperation.NO_CHAR, CharOperation.NO_CHAR));
+	assertFalse(CharOperation.prefixEquals("abCde".toCharArray(), name));
+	assertFalse(CharOperation.prefixEquals("abc".toCharArray(), name));
+	assertTrue(CharOperation.prefixEquals("abc".toCharArray(), name, false));
+
+	assertTrue(CharOperation.prefixEquals("bC".toCharArray(), name, true, 1));
+	assertFalse(CharOperation.prefixEquals("bc".toCharArray(), name, true, 1));
+	assertTrue(CharOperation.prefixEquals("bc".toCharArray(), name, false, 1));
+	assertTrue(CharOperation.prefixEquals(CharOperation.NO_CHAR, name, true, 4));
+	assertFalse(CharOperation.prefixEquals(CharOperation.NO_CHAR, name, true, 5));
+	assertFalse(CharOperation.prefixEquals("cd".toCharArray(), name, false, 3));
+
+	assertTrue(CharOperation.fragmentEquals("Cd".toCharArray(), name, 2, true));
+	assertFalse(CharOperation.fragmentEquals("cd".toCharArray(), name, 2, true));
+	assertTrue(CharOperation.fragmentEquals("cd".toCharArray(), name, 2, false));
+	assertTrue(CharOperation.fragmentEquals(CharOperation.NO_CHAR, name, 4, true));
+	assertFalse(CharOperation.fragmentEquals("d".toCharArray(), name, 4, false));
+
+	assertTrue(CharOperation.endsWith(name, "Cd".toCharArray()));
+	assertTrue(CharOperation.endsWith(name, CharOperation.NO_CHAR));
+	assertFalse(CharOperation.endsWith(name, "cd".toCharArray()));
+	assertFalse(CharOperation.endsWith(CharOperation.NO_CHAR, "d".toCharArray()));
+
+	// before the name, the characters are compared from the last one down
+	for (int i = 0; i < 2; i++) {
+		boolean isCaseSensitive = i == 0;
+		assertFalse(CharOperation.prefixEquals("xb".toCharArray(), name, isCaseSensitive, -1));
+		assertFalse(CharOperation.fragmentEquals("xb".toCharArray(), name, -1, isCaseSensitive));
+		try {
+			CharOperation.prefixEquals("xa".toCharArray(), name, isCaseSensitive, -1);
+			fail("Should reject a start before the name");
+		} catch (ArrayIndexOutOfBoundsException e) {
+			// expected
+		}
+		try {
+			CharOperation.fragmentEquals("xa".toCharArray(), name, -1, isCaseSensitive);
+			fail("Should reject a start before the name");
+		} catch (ArrayIndexOutOfBoundsException e) {
+			// expected
+		}
+	}
+}
 }
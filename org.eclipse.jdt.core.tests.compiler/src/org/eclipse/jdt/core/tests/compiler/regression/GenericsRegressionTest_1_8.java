@@ -10495,4 +10495,68 @@ public void testBug508834_comment0() {
 				"""
 			});
 	}
+	// bounds on distinct inference variables still combine during incorporation when one of them
+	// has a proper type or is a parameterized dependency, e.g. A = String and B <: List<A> in add(String.class, ...)
+	public void testIncorporationAcrossVariables() {
+		runConformTest(
+			new String[] {
+				"X.java",
+				"import java.util.*;\n" +
+				"import java.util.function.*;\n" +
+				"public class X {\n" +
+				"	static <A, B extends List<A>> A first(B list, A fallback) {\n" +
+				"		return list.isEmpty() ? fallback : list.get(0);\n" +
+				"	}\n" +
+				"	static <T, R> List<R> map(List<T> in, Function<? super T, ? extends R> f) {\n" +
+				"		List<R> out = new ArrayList<>();\n" +
+				"		for (T t : in) out.add(f.apply(t));\n" +
+				"		return out;\n" +
+				"	}\n" +
+				"	static <K, V, M extends Map<K, V>> M put(M map, K k, V v) {\n" +
+				"		map.put(k, v);\n" +
+				"		return map;\n" +
+				"	}\n" +
+				"	static <T extends Comparable<? super T>> T max(Collection<? extends T> c) {\n" +
+				"		return Collections.max(c);\n" +
+				"	}\n" +
+				"	public static void main(String[] args) {\n" +
+				"		String s = first(new ArrayList<>(Arrays.asList(\"a\", \"b\")), \"z\");\n" +
+				"		Integer n = first(new LinkedList<>(), 3);\n" +
+				"		List<Integer> lengths = map(Arrays.asList(\"one\", \"three\"), String::length);\n" +
+				"		Map<String, Integer> m = put(new TreeMap<>(), \"k\", lengths.get(1));\n" +
+				"		int best = max(map(Arrays.asList(3, 7, 5), i -> i * 2));\n" +
+				"		System.out.println(s + n + lengths + m + best);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"a3[3, 5]{k=5}14");
+	}
+	public void testIncorporationAcrossVariables_incompatible() {
+		runNegativeTest(
+			new String[] {
+				"X.java",
+				"import java.util.*;\n" +
+				"public class X {\n" +
+				"	static <A, B extends List<A>> void add(Class<A> type, B list) {}\n" +
+				"	static <D> D id(D d) {\n" +
+				"		return d;\n" +
+				"	}\n" +
+				"	void test(List<Integer> ints) {\n" +
+				"		add(Integer.class, id(new ArrayList<>(ints)));\n" +
+				"		add(String.class, id(new ArrayList<>(ints)));\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"----------\n" +
+			"1. ERROR in X.java (at line 9)\n" +
+			"	add(String.class, id(new ArrayList<>(ints)));\n" +
+			"	^^^\n" +
+			"The method add(Class<A>, B) in the type X is not applicable for the arguments (Class<String>, ArrayList<Integer>)\n" +
+			"----------\n" +
+			"2. ERROR in X.java (at line 9)\n" +
+			"	add(String.class, id(new ArrayList<>(ints)));\n" +
+			"	                  ^^^^^^^^^^^^^^^^^^^^^^^^^\n" +
+			"Type mismatch: cannot convert from ArrayList<Integer> to B\n" +
+			"----------\n");
+	}
 }
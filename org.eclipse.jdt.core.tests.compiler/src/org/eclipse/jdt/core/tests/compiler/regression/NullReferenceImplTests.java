@@ -871,6 +871,32 @@ public void test2500_addInitializationsFrom_for_definites() {
 	assertTrue("nb of failures: " + failures, failures == 0);
 }
 
+public void test2600_copy_of_extra_bits() {
+	// the extra bits of copies are shared until one of them writes into them
+	UnconditionalFlowInfo source = FlowInfo.initial(0);
+	source.markAsDefinitelyAssigned(TestLocalVariableBinding.local64);
+	source.markAsDefinitelyNonNull(TestLocalVariableBinding.local64);
+	UnconditionalFlowInfo copy1 = (UnconditionalFlowInfo) source.copy();
+	UnconditionalFlowInfo copy2 = (UnconditionalFlowInfo) source.copy();
+	copy1.markAsDefinitelyAssigned(TestLocalVariableBinding.local128);
+	copy1.markAsDefinitelyNull(TestLocalVariableBinding.local64);
+	source.markAsDefinitelyUnknown(TestLocalVariableBinding.local128);
+	assertTrue("source", source.isDefinitelyNonNull(TestLocalVariableBinding.local64));
+	assertFalse("source", source.isDefinitelyAssigned(TestLocalVariableBinding.local128));
+	assertTrue("copy1", copy1.isDefinitelyNull(TestLocalVariableBinding.local64));
+	assertTrue("copy1", copy1.isDefinitelyAssigned(TestLocalVariableBinding.local128));
+	assertFalse("copy1", copy1.isDefinitelyUnknown(TestLocalVariableBinding.local128));
+	assertTrue("copy2", copy2.isDefinitelyNonNull(TestLocalVariableBinding.local64));
+	assertFalse("copy2", copy2.isDefinitelyAssigned(TestLocalVariableBinding.local128));
+	assertFalse("copy2", copy2.isDefinitelyUnknown(TestLocalVariableBinding.local128));
+	copy2.mergedWith(copy1);
+	assertTrue("merged", copy2.isPotentiallyNull(TestLocalVariableBinding.local64));
+	assertFalse("merged", copy2.isDefinitelyAssigned(TestLocalVariableBinding.local128));
+	assertTrue("copy1", copy1.isDefinitelyNull(TestLocalVariableBinding.local64));
+	assertTrue("source", source.isDefinitelyNonNull(TestLocalVariableBinding.local64));
+	assertTrue("source", source.isDefinitelyUnknown(TestLocalVariableBinding.local128));
+}
+
 // Use for coverage tests only. Needs specific instrumentation of code,
 // that is controled by UnconditionalFlowInfo#coverageTestFlag.
 // Note: coverage tests tend to fill the console with messages, and the
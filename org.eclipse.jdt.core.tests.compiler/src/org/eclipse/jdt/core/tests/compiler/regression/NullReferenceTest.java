@@ -18524,4 +18524,81 @@ public void testBug380786() {
 		"----------\n"
 			);
 }
+// null status is still tracked when only the dead code it reveals is reported
+public void testNullStatusObservedByDeadCode() {
+	Map compilerOptions = getCompilerOptions();
+	compilerOptions.put(CompilerOptions.OPTION_ReportNullReference, CompilerOptions.IGNORE);
+	compilerOptions.put(CompilerOptions.OPTION_ReportPotentialNullReference, CompilerOptions.IGNORE);
+	compilerOptions.put(CompilerOptions.OPTION_ReportRedundantNullCheck, CompilerOptions.IGNORE);
+	compilerOptions.put(CompilerOptions.OPTION_ReportUnclosedCloseable, CompilerOptions.IGNORE);
+	compilerOptions.put(CompilerOptions.OPTION_ReportPotentiallyUnclosedCloseable, CompilerOptions.IGNORE);
+	compilerOptions.put(CompilerOptions.OPTION_ReportExplicitlyClosedAutoCloseable, CompilerOptions.IGNORE);
+	compilerOptions.put(CompilerOptions.OPTION_ReportDeadCode, CompilerOptions.WARNING);
+	this.runNegativeTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				"	void foo(Object p) {\n" +
+				"		Object o = new Object();\n" +
+				"		if (o == null)\n" +
+				"			System.out.println(\"null\");\n" +
+				"		p.toString();\n" +
+				"		if (p == null)\n" +
+				"			System.out.println(\"never\");\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"----------\n" +
+			"1. WARNING in X.java (at line 5)\n" +
+			"	System.out.println(\"null\");\n" +
+			"	^^^^^^^^^^^^^^^^^^^^^^^^^^\n" +
+			"Dead code\n" +
+			"----------\n" +
+			"2. WARNING in X.java (at line 8)\n" +
+			"	System.out.println(\"never\");\n" +
+			"	^^^^^^^^^^^^^^^^^^^^^^^^^^^\n" +
+			"Dead code\n" +
+			"----------\n",
+			null,
+			true,
+			compilerOptions,
+			null,
+			JavacTestOptions.Excuse.EclipseHasSomeMoreWarnings);
+}
+// null status is not tracked when nothing observes it
+public void testNullStatusNotObserved() {
+	Map compilerOptions = getCompilerOptions();
+	compilerOptions.put(CompilerOptions.OPTION_ReportNullReference, CompilerOptions.IGNORE);
+	compilerOptions.put(CompilerOptions.OPTION_ReportPotentialNullReference, CompilerOptions.IGNORE);
+	compilerOptions.put(CompilerOptions.OPTION_ReportRedundantNullCheck, CompilerOptions.IGNORE);
+	compilerOptions.put(CompilerOptions.OPTION_ReportUnclosedCloseable, CompilerOptions.IGNORE);
+	compilerOptions.put(CompilerOptions.OPTION_ReportPotentiallyUnclosedCloseable, CompilerOptions.IGNORE);
+	compilerOptions.put(CompilerOptions.OPTION_ReportExplicitlyClosedAutoCloseable, CompilerOptions.IGNORE);
+	compilerOptions.put(CompilerOptions.OPTION_ReportDeadCode, CompilerOptions.IGNORE);
+	this.runConformTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				"	static String foo(Object p) {\n" +
+				"		Object o = new Object();\n" +
+				"		if (o == null)\n" +
+				"			return \"null\";\n" +
+				"		String s = null;\n" +
+				"		if (p != null)\n" +
+				"			s = p.toString();\n" +
+				"		Integer i = null;\n" +
+				"		try {\n" +
+				"			return s.length() + i.intValue() + \"\";\n" +
+				"		} catch (NullPointerException e) {\n" +
+				"			return s == null ? \"NPE\" : s;\n" +
+				"		}\n" +
+				"	}\n" +
+				"	public static void main(String[] args) {\n" +
+				"		System.out.print(foo(null) + foo(\"OK\"));\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"NPEOK",
+			compilerOptions);
+}
 }
\ No newline at end of file
@@ -1855,4 +1855,72 @@ public class ScannerTest extends AbstractRegressionTest {
 		assertTrue(TerminalTokens.getRestrictedKeyword("When".toCharArray()) == TerminalTokens.TokenNameNotAToken);
 		assertTrue(TerminalTokens.getRestrictedKeyword("blah".toCharArray()) == TerminalTokens.TokenNameNotAToken);
 	}
+
+	/*
+	 * Plain ASCII white spaces, identifiers and decimal integers are scanned upfront,
+	 * unicode escapes and other characters must still be handed over to the general case
+	 */
+	public void testAsciiFastPathHandOver() {
+		char[] source = ("int\\u0020ab\\u0063 = 12\\u004C + 0\\u0078F + 7 + 08.5;\r\n" +
+				"\t x\u00e9y = 0;\\u000a 3_0\tz9").toCharArray();
+		Scanner scanner = new Scanner(false, false, false, ClassFileConstants.JDK17, null, null, false);
+		scanner.recordLineSeparator = true;
+		scanner.setSource(source);
+		try {
+			int token;
+			StringBuilder buffer = new StringBuilder();
+			while ((token = scanner.getNextToken()) != TerminalTokens.TokenNameEOF) {
+				switch (token) {
+					case TerminalTokens.TokenNameIdentifier :
+						buffer.append("id:");
+						break;
+					case TerminalTokens.TokenNameIntegerLiteral :
+						buffer.append("int:");
+						break;
+					case TerminalTokens.TokenNameLongLiteral :
+						buffer.append("long:");
+						break;
+					case TerminalTokens.TokenNameDoubleLiteral :
+						buffer.append("double:");
+						break;
+				}
+				buffer.append(scanner.getCurrentTokenSource()).append(' ');
+			}
+			assertEquals("Wrong tokens",
+					"int id:abc = long:12L + int:0xF + int:7 + double:08.5 ; id:x\u00e9y = int:0 ; int:3_0 id:z9 ",
+					String.valueOf(buffer));
+			assertEquals("Wrong line count", 1, scanner.linePtr + 1);
+			assertEquals("Wrong line end", 52, scanner.lineEnds[0]);
+		} catch (InvalidInputException e) {
+			assertTrue(false);
+		}
+	}
+
+	/*
+	 * The decimal integers scanned upfront must stop at the end given to resetTo, like the general case
+	 */
+	public void testResetToInsideIntegerLiteral() throws InvalidInputException {
+		char[] source = "x = 12345 + y;".toCharArray();
+		Scanner scanner = new Scanner(false, false, false, ClassFileConstants.JDK17, null, null, false);
+		scanner.setSource(source);
+		scanner.resetTo(4, 6);
+		assertEquals("Wrong token", TerminalTokens.TokenNameIntegerLiteral, scanner.getNextToken());
+		assertEquals("Wrong literal", "123", String.valueOf(scanner.getCurrentTokenSource()));
+		assertEquals("Wrong end position", 6, scanner.getCurrentTokenEndPosition());
+		assertEquals("Wrong current position", 7, scanner.currentPosition);
+		assertEquals("Should be at the end", TerminalTokens.TokenNameEOF, scanner.getNextToken());
+	}
+	public void testResetToAfterIntegerLiteral() throws InvalidInputException {
+		char[] source = "x = 12345 + y;".toCharArray();
+		Scanner scanner = new Scanner(false, false, false, ClassFileConstants.JDK17, null, null, false);
+		scanner.setSource(source);
+		scanner.resetTo(0, 8);
+		assertEquals("Wrong token", TerminalTokens.TokenNameIdentifier, scanner.getNextToken());
+		assertEquals("Wrong token", TerminalTokens.TokenNameEQUAL, scanner.getNextToken());
+		assertEquals("Wrong token", TerminalTokens.TokenNameIntegerLiteral, scanner.getNextToken());
+		assertEquals("Wrong literal", "12345", String.valueOf(scanner.getCurrentTokenSource()));
+		assertEquals("Wrong end position", 8, scanner.getCurrentTokenEndPosition());
+		assertEquals("Wrong current position", 9, scanner.currentPosition);
+		assertEquals("Should be at the end", TerminalTokens.TokenNameEOF, scanner.getNextToken());
+	}
 }
@@ -25,8 +25,12 @@ package org.eclipse.jdt.core.tests.compiler.regression;
 
 import java.util.ArrayList;
 
+import org.eclipse.jdt.core.tests.compiler.util.ClassFilePoolTest;
+import org.eclipse.jdt.core.tests.compiler.util.DeferredProblemTest;
 import org.eclipse.jdt.core.tests.compiler.util.HashtableOfObjectTest;
+import org.eclipse.jdt.core.tests.compiler.util.InferenceMemoTest;
 import org.eclipse.jdt.core.tests.compiler.util.JrtUtilTest;
+import org.eclipse.jdt.core.tests.compiler.util.ProcessTaskManagerTest;
 import org.eclipse.jdt.core.tests.dom.StandAloneASTParserTest;
 import org.eclipse.jdt.core.tests.junit.extension.TestCase;
 import org.eclipse.jdt.core.tests.util.AbstractCompilerTest;
@@ -241,6 +245,10 @@ public static Test suite() {
 	all.addTest(new TestSuite(StandAloneASTParserTest.class));
 	all.addTest(new TestSuite(HashtableOfObjectTest.class));
 	all.addTest(new TestSuite(JrtUtilTest.class));
+	all.addTest(new TestSuite(ProcessTaskManagerTest.class));
+	all.addTest(new TestSuite(DeferredProblemTest.class));
+	all.addTest(new TestSuite(InferenceMemoTest.class));
+	all.addTest(new TestSuite(ClassFilePoolTest.class));
 	int possibleComplianceLevels = AbstractCompilerTest.getPossibleComplianceLevels();
 	if ((possibleComplianceLevels & AbstractCompilerTest.F_1_3) != 0) {
 		ArrayList tests_1_3 = (ArrayList)standardTests.clone();
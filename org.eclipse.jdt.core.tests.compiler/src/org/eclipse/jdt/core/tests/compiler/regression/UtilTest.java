@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,29 @@
 package org.eclipse.jdt.core.tests.compiler.regression;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 //import org.apache.tools.ant.types.selectors.SelectorUtils;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.batch.ClasspathIndex;
+import org.eclipse.jdt.internal.compiler.batch.ClasspathJar;
+import org.eclipse.jdt.internal.compiler.batch.CtSymIndex;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeCache;
+import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.util.ArchiveRegistry;
+import org.eclipse.jdt.internal.compiler.util.CtSym;
+import org.eclipse.jdt.internal.compiler.util.JRTUtil;
 
 //import junit.framework.AssertionFailedError;
 import junit.framework.Test;
@@ -743,6 +762,224 @@ public void test73b() { // previous test cases but with 3.3 behavior
 	// Verify that there were no unexpected results
     assertTrue(this.camelCaseErrors.toString(), this.camelCaseErrors.length()==0);
 }
+char[] getFileCharContent(byte[] contents, String encoding) throws IOException {
+	new File(OUTPUT_DIR).mkdirs();
+	File file = new File(OUTPUT_DIR, "Contents.java");
+	Files.write(file.toPath(), contents);
+	try {
+		return org.eclipse.jdt.internal.compiler.util.Util.getFileCharContent(file, encoding);
+	} finally {
+		file.delete();
+	}
+}
+public void testGetFileCharContentEmpty() throws IOException {
+	assertEquals(0, getFileCharContent(new byte[0], "UTF-8").length);
+	byte[] bom = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+	assertEquals(0, getFileCharContent(bom, "UTF-8").length);
+}
+public void testGetFileCharContentBOM() throws IOException {
+	byte[] bom = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+	byte[] source = "class X { String s = \"\u00e9\"; }".getBytes(StandardCharsets.UTF_8);
+	byte[] contents = Arrays.copyOf(bom, bom.length + source.length);
+	System.arraycopy(source, 0, contents, bom.length, source.length);
+	assertEquals("class X { String s = \"\u00e9\"; }", String.valueOf(getFileCharContent(contents, "UTF-8")));
+	// only the BOM of the given encoding is stripped
+	assertEquals("\u00ef\u00bb\u00bfclass X", String.valueOf(getFileCharContent(Arrays.copyOf(contents, 10), "ISO-8859-1")));
+}
+public void testGetFileCharContentLarge() throws IOException {
+	// larger than the initial buffers, then than the buffers kept between files, then small again
+	for (int size : new int[] { 8 * 1024 + 1, 100 * 1024, 300 * 1024, 10 }) {
+		StringBuilder builder = new StringBuilder(size);
+		for (int i = 0; builder.length() < size; i++)
+			builder.append(i % 10 == 0 ? '\n' : (char) ('a' + i % 26));
+		String expected = builder.toString();
+		assertEquals(expected, String.valueOf(getFileCharContent(expected.getBytes(StandardCharsets.UTF_8), "UTF-8")));
+		String accented = expected.replace('e', '\u00e9');
+		assertEquals(accented, String.valueOf(getFileCharContent(accented.getBytes(StandardCharsets.UTF_8), "UTF-8")));
+		// an odd trailing byte decodes to one more char than expected, growing the char buffer
+		byte[] utf16 = Arrays.copyOf(expected.getBytes(StandardCharsets.UTF_16BE), 2 * size + 1);
+		assertEquals(expected + '\uFFFD', String.valueOf(getFileCharContent(utf16, "UTF-16BE")));
+	}
+}
+public void testGetFileCharContentMalformed() throws IOException {
+	// malformed input is replaced, as String does
+	byte[] contents = { 'a', (byte) 0xC3, '(', 'b', (byte) 0xFF, 'c', (byte) 0xE2, (byte) 0x82, 'd', (byte) 0xF0, (byte) 0x9F };
+	String expected = new String(contents, StandardCharsets.UTF_8);
+	assertEquals("a\uFFFD(b\uFFFDc\uFFFDd\uFFFD", expected);
+	assertEquals(expected, String.valueOf(getFileCharContent(contents, "UTF-8")));
+	// unknown encodings fall back to the default one
+	assertEquals("abc", String.valueOf(getFileCharContent("abc".getBytes(StandardCharsets.US_ASCII), "no-such-encoding")));
+}
+public void testGetFileCharContentSplitCharacter() throws IOException {
+	// multi-byte characters straddling the size of the initial buffers
+	for (String character : new String[] { "\u00e9", "\u20ac", "\ud83d\ude00" }) {
+		int length = character.getBytes(StandardCharsets.UTF_8).length;
+		for (int prefix = 8 * 1024 - length; prefix <= 8 * 1024; prefix++) {
+			char[] filler = new char[prefix];
+			Arrays.fill(filler, 'x');
+			String expected = String.valueOf(filler) + character + "y";
+			assertEquals(expected, String.valueOf(getFileCharContent(expected.getBytes(StandardCharsets.UTF_8), "UTF-8")));
+		}
+	}
+}
+public void testArchiveRegistry() throws Exception {
+	String jarPath = OUTPUT_DIR + File.separator + "registry.jar";
+	new File(OUTPUT_DIR).mkdirs();
+	Util.createJar(new String[] {
+			"p/q/X.java",
+			"package p.q;\n" +
+			"public class X {}\n"
+		},
+		jarPath,
+		"1.5");
+	ArchiveRegistry.Archive first = ArchiveRegistry.acquire(new File(jarPath));
+	ArchiveRegistry.Archive second = ArchiveRegistry.acquire(new File(OUTPUT_DIR + File.separator + "." + File.separator + "registry.jar"));
+	try {
+		assertSame("same archive should be shared", first, second);
+		assertTrue(first.getEntries("p/q").contains("p/q/X.class"));
+		assertFalse(first.getEntries("p").contains("p/q/X.class"));
+		assertEquals(Collections.emptyList(), first.getEntries("r"));
+		assertTrue(first.getPackages().containsAll(Arrays.asList("", "p", "p/q")));
+	} finally {
+		ArchiveRegistry.release(second);
+	}
+	// a modified archive is opened again, while the previous version stays usable until released
+	assertTrue(new File(jarPath).setLastModified(new File(jarPath).lastModified() - 10000));
+	ArchiveRegistry.Archive third = ArchiveRegistry.acquire(new File(jarPath));
+	try {
+		assertNotSame("modified archive should be opened again", first, third);
+		assertNotNull(first.zipFile.getEntry("p/q/X.class"));
+	} finally {
+		ArchiveRegistry.release(first);
+		ArchiveRegistry.release(third);
+	}
+	try {
+		first.zipFile.size();
+		fail("released archive should be closed");
+	} catch (IllegalStateException e) {
+		// expected
+	}
+}
+public void testBinaryTypeCache() throws Exception {
+	String jarPath = OUTPUT_DIR + File.separator + "types.jar";
+	new File(OUTPUT_DIR).mkdirs();
+	Util.createJar(new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"	public String foo(int i) { return null; }\n" +
+			"}\n"
+		},
+		jarPath,
+		"1.5");
+	long hits = BinaryTypeCache.getHits();
+	long misses = BinaryTypeCache.getMisses();
+	ClasspathJar first = new ClasspathJar(new File(jarPath), true, null, null);
+	ClasspathJar second = new ClasspathJar(new File(jarPath), true, null, null);
+	try {
+		first.initialize();
+		second.initialize();
+		NameEnvironmentAnswer answer = first.findClass("X".toCharArray(), "p", null, "p/X.class");
+		assertNotNull(answer);
+		IBinaryType type = answer.getBinaryType();
+		assertSame("decoded type should be shared by class path entries of the same archive",
+				type, second.findClass("X".toCharArray(), "p", null, "p/X.class").getBinaryType());
+		assertEquals(misses + 1, BinaryTypeCache.getMisses());
+		assertEquals(hits + 1, BinaryTypeCache.getHits());
+		// fully initialized, hence usable without its class file bytes
+		IBinaryMethod foo = null;
+		for (IBinaryMethod method : type.getMethods())
+			if (CharOperation.equals("foo".toCharArray(), method.getSelector()))
+				foo = method;
+		assertNotNull(foo);
+		assertEquals("(I)Ljava/lang/String;", new String(foo.getMethodDescriptor()));
+	} finally {
+		first.reset();
+		second.reset();
+	}
+}
+public void testClasspathIndex() throws Exception {
+	new File(OUTPUT_DIR).mkdirs();
+	String firstJar = OUTPUT_DIR + File.separator + "first.jar";
+	String secondJar = OUTPUT_DIR + File.separator + "second.jar";
+	Util.createJar(new String[] { "p/A.java", "package p;\npublic class A {}\n" }, firstJar, "1.5");
+	Util.createJar(new String[] { "p/q/B.java", "package p.q;\npublic class B {}\n" }, secondJar, "1.5");
+	File indexDirectory = new File(OUTPUT_DIR, "index");
+	Util.delete(indexDirectory);
+	ArchiveRegistry.Archive first = ArchiveRegistry.acquire(new File(firstJar));
+	ArchiveRegistry.Archive second = ArchiveRegistry.acquire(new File(secondJar));
+	try {
+		List<ArchiveRegistry.Archive> archives = Arrays.asList(first, second);
+		ClasspathIndex built = ClasspathIndex.get(indexDirectory, archives);
+		assertEquals("index should be stored", 1, indexDirectory.list().length);
+		ClasspathIndex mapped = ClasspathIndex.get(indexDirectory, archives);
+		for (ClasspathIndex index : new ClasspathIndex[] { built, mapped }) {
+			assertEquals(2, index.getEntryCount());
+			assertTrue(Arrays.equals(new int[] { 0, 1 }, index.getEntries("p")));
+			assertTrue(Arrays.equals(new int[] { 1 }, index.getEntries("p/q")));
+			assertTrue(Arrays.equals(new int[] { 0, 1 }, index.getEntries("")));
+			assertEquals(0, index.getEntries("q").length);
+		}
+	} finally {
+		ArchiveRegistry.release(first);
+		ArchiveRegistry.release(second);
+		Util.delete(indexDirectory);
+	}
+}
+public void testCtSymIndex() throws Exception {
+	Path jdkHome = new File(Util.getJREDirectory()).toPath();
+	Path ctSymFile = jdkHome.resolve("lib").resolve("ct.sym");
+	if (!Files.exists(ctSymFile))
+		return;
+	File indexDirectory = new File(OUTPUT_DIR, "index");
+	Util.delete(indexDirectory);
+	try {
+		CtSymIndex built = CtSymIndex.get(indexDirectory, ctSymFile, CtSym.getReleaseCode("11"));
+		assertNotNull("index should be built", built);
+		assertEquals("index should be stored", 1, indexDirectory.list().length);
+		CtSymIndex mapped = CtSymIndex.get(indexDirectory, ctSymFile, CtSym.getReleaseCode("11"));
+		CtSym ctSym = JRTUtil.getCtSym(jdkHome);
+		Path object = ctSym.getFullPath(CtSym.getReleaseCode("11"), "java/lang/Object.sig", "java.base");
+		for (CtSymIndex index : new CtSymIndex[] { built, mapped }) {
+			CtSymIndex.Stub stub = index.getStub("java/lang/Object.sig", null);
+			assertEquals("java.base", stub.moduleName);
+			assertEquals(object.toUri(), stub.getURI());
+			assertTrue(Arrays.equals(ctSym.getFileBytes(object), stub.getBytes()));
+			assertNull(index.getStub("java/lang/Object.sig", "java.sql"));
+			assertNull(index.getStub("java/lang/Missing.sig", null));
+			assertTrue(index.getStubs("module-info.sig").stream().anyMatch(m -> m.moduleName.equals("java.sql")));
+			assertTrue(index.getPackageNames().containsAll(Arrays.asList("java", "java/lang", "java/sql")));
+		}
+		assertNull("release should not exist", CtSymIndex.get(indexDirectory, ctSymFile, "Z"));
+	} finally {
+		Util.delete(indexDirectory);
+	}
+}
+public void testJrtPackageIndex() throws Exception {
+	File jrt = new File(Util.getJREDirectory(), "lib" + File.separator + JRTUtil.JRT_FS_JAR);
+	if (!jrt.exists())
+		return;
+	File indexDirectory = new File(OUTPUT_DIR, "index");
+	Util.delete(indexDirectory);
+	String[] packages = { "java/lang", "java/sql", "javax/swing", "java/missing" };
+	List<List<String>> walked = new ArrayList<>();
+	JRTUtil.reset();
+	for (String packageName : packages)
+		walked.add(JRTUtil.getModulesDeclaringPackage(jrt, packageName, null));
+	System.setProperty(ClasspathIndex.DIRECTORY_PROPERTY, indexDirectory.getPath());
+	try {
+		for (int i = 0; i < 2; i++) {
+			JRTUtil.reset(); // walked and stored first, then read
+			for (int j = 0; j < packages.length; j++)
+				assertEquals(packages[j], walked.get(j), JRTUtil.getModulesDeclaringPackage(jrt, packages[j], null));
+			assertEquals("index should be stored", 1, indexDirectory.list().length);
+		}
+	} finally {
+		System.clearProperty(ClasspathIndex.DIRECTORY_PROPERTY);
+		JRTUtil.reset();
+		Util.delete(indexDirectory);
+	}
+}
 public static Class testClass() {
 	return UtilTest.class;
 }
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.compiler.util;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.eclipse.jdt.core.tests.junit.extension.TestCase;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.ClassFilePool;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.junit.Test;
+
+/**
+ * Class files handed out and taken back by {@link ClassFilePool}.
+ */
+public class ClassFilePoolTest extends TestCase {
+
+	private FileSystem nameEnvironment;
+	private Compiler compiler;
+	private SourceTypeBinding type;
+	private ClassFilePool pool;
+
+	public ClassFilePoolTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.nameEnvironment = new FileSystem(Util.getJavaClassLibs(), null, null);
+		this.compiler = new Compiler(this.nameEnvironment, DefaultErrorHandlingPolicies.proceedWithAllProblems(),
+				new CompilerOptions(), result -> { /* nothing to accept */ }, new DefaultProblemFactory());
+		char[] source = "public class X {}\n".toCharArray();
+		CompilationUnitDeclaration unit = this.compiler.resolve(new CompilationUnit(source, "X.java", null), true, false, false);
+		this.type = unit.types[0].binding;
+		this.pool = ClassFilePool.newInstance();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		this.compiler.reset();
+		this.nameEnvironment.cleanup();
+		super.tearDown();
+	}
+
+	private ClassFile[] acquire(int count) {
+		ClassFile[] classFiles = new ClassFile[count];
+		for (int i = 0; i < count; i++)
+			classFiles[i] = this.pool.acquire(this.type);
+		return classFiles;
+	}
+
+	private static Set<ClassFile> identitySet(ClassFile[] classFiles, int count) {
+		Set<ClassFile> set = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (int i = 0; i < count; i++)
+			set.add(classFiles[i]);
+		return set;
+	}
+
+	@Test
+	public void testReuseAfterRelease() {
+		ClassFile classFile = this.pool.acquire(this.type);
+		assertNotSame("Should not hand out a class file in use", classFile, this.pool.acquire(this.type));
+		classFile.contentsOffset = 10; // as if written
+		this.pool.release(classFile);
+		ClassFile reused = this.pool.acquire(this.type);
+		assertSame("Should reuse the released class file", classFile, reused);
+		assertEquals("Should be reset", 0, reused.contentsOffset);
+		assertSame(this.type, reused.referenceBinding);
+	}
+
+	@Test
+	public void testNothingRetainedPastMaxSize() {
+		int count = ClassFilePool.MAX_SIZE + 10;
+		ClassFile[] classFiles = acquire(count);
+		assertEquals("Should all be distinct", count, identitySet(classFiles, count).size());
+		for (ClassFile classFile : classFiles)
+			this.pool.release(classFile);
+
+		// the class files acquired past MAX_SIZE were not pooled, so they are not handed out again
+		Set<ClassFile> released = identitySet(classFiles, count);
+		ClassFile[] reacquired = acquire(count);
+		for (int i = 0; i < count; i++)
+			assertEquals("Unexpected reuse of class file " + i, i < ClassFilePool.MAX_SIZE, released.contains(reacquired[i]));
+		assertEquals("Should reuse the pooled class files", identitySet(classFiles, ClassFilePool.MAX_SIZE), identitySet(reacquired, ClassFilePool.MAX_SIZE));
+	}
+
+	@Test
+	public void testDoubleRelease() {
+		ClassFile[] classFiles = acquire(2);
+		this.pool.release(classFiles[0]);
+		this.pool.release(classFiles[0]);
+		assertSame(classFiles[0], this.pool.acquire(this.type));
+		ClassFile next = this.pool.acquire(this.type);
+		assertNotSame("Should not hand out the same class file twice", classFiles[0], next);
+		assertNotSame("Should not hand out a class file in use", classFiles[1], next);
+	}
+
+	@Test
+	public void testReleaseNotPooled() {
+		ClassFile notPooled = new ClassFile(this.type);
+		this.pool.release(notPooled);
+		assertNotSame("Should not take a class file it did not hand out", notPooled, this.pool.acquire(this.type));
+
+		ClassFile beforeReset = this.pool.acquire(this.type);
+		this.pool.reset();
+		this.pool.release(beforeReset);
+		assertNotSame("Should not take a class file acquired before the reset", beforeReset, this.pool.acquire(this.type));
+	}
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.compiler.util;
+
+import java.util.Locale;
+import java.util.concurrent.CyclicBarrier;
+
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.core.tests.junit.extension.TestCase;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblem;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.problem.DeferredProblem;
+import org.eclipse.jdt.internal.compiler.problem.ProblemSeverities;
+import org.junit.Test;
+
+/**
+ * The messages rendered on demand by {@link DeferredProblem} must be those the factory used to
+ * render upfront into a {@link DefaultProblem}.
+ */
+public class DeferredProblemTest extends TestCase {
+
+	private static final char[] FILE_NAME = "X.java".toCharArray();
+	// elaboration of ForbiddenReference for a field on a library, see ProblemReporter#getElaborationId
+	private static final int FORBIDDEN_FIELD_ON_LIBRARY = IProblem.ForbiddenReference << 8 | 0x4 | 0x2;
+
+	private DefaultProblemFactory factory;
+
+	public DeferredProblemTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.factory = new DefaultProblemFactory(Locale.ENGLISH);
+	}
+
+	private CategorizedProblem createProblem(int id, int elaborationId, String[] arguments) {
+		return this.factory.createProblem(FILE_NAME, id, arguments, elaborationId, arguments, ProblemSeverities.Warning, 10, 20, 3, 4);
+	}
+
+	private DefaultProblem createEagerProblem(int id, int elaborationId, String[] arguments) {
+		return new DefaultProblem(FILE_NAME, this.factory.getLocalizedMessage(id, elaborationId, arguments), id, arguments,
+				ProblemSeverities.Warning, 10, 20, 3, 4);
+	}
+
+	private void assertSameAsEager(String expectedMessage, int id, int elaborationId, String[] arguments) {
+		CategorizedProblem problem = createProblem(id, elaborationId, arguments);
+		assertTrue("Should be deferred", problem instanceof DeferredProblem);
+		DefaultProblem eager = createEagerProblem(id, elaborationId, arguments);
+		assertEquals("Wrong eager message", expectedMessage, eager.getMessage());
+		assertEquals("Wrong message", expectedMessage, problem.getMessage());
+		assertEquals("Wrong toString", eager.toString(), problem.toString());
+		assertEquals("Wrong message once rendered", expectedMessage, problem.getMessage());
+	}
+
+	@Test
+	public void testMessage() {
+		assertSameAsEager("The value of the local variable x is not used", IProblem.LocalVariableIsNeverUsed, 0, new String[] { "x" });
+	}
+
+	@Test
+	public void testToStringFirst() {
+		CategorizedProblem problem = createProblem(IProblem.LocalVariableIsNeverUsed, 0, new String[] { "x" });
+		assertEquals("Pb(61) The value of the local variable x is not used", problem.toString());
+		assertEquals("The value of the local variable x is not used", problem.getMessage());
+	}
+
+	@Test
+	public void testElaboratedMessage() {
+		assertSameAsEager("Access restriction: The field 'Lib.f' is not API (restriction on required library 'lib.jar')",
+				IProblem.ForbiddenReference, FORBIDDEN_FIELD_ON_LIBRARY, new String[] { "lib.jar", "f", "Lib" });
+	}
+
+	@Test
+	public void testJavadocMessage() {
+		assertSameAsEager("Javadoc: Missing tag for parameter p", IProblem.JavadocMissingParamTag, 0, new String[] { "p" });
+	}
+
+	@Test
+	public void testConcurrentFirstAccess() throws Exception {
+		String[] arguments = { "lib.jar", "f", "Lib" };
+		String expectedMessage = this.factory.getLocalizedMessage(IProblem.ForbiddenReference, FORBIDDEN_FIELD_ON_LIBRARY, arguments);
+		String expectedString = createEagerProblem(IProblem.ForbiddenReference, FORBIDDEN_FIELD_ON_LIBRARY, arguments).toString();
+		int threadCount = 8;
+		for (int round = 0; round < 100; round++) {
+			CategorizedProblem problem = createProblem(IProblem.ForbiddenReference, FORBIDDEN_FIELD_ON_LIBRARY, arguments);
+			CyclicBarrier barrier = new CyclicBarrier(threadCount);
+			String[] results = new String[threadCount];
+			Throwable[] failures = new Throwable[threadCount];
+			Thread[] threads = new Thread[threadCount];
+			for (int i = 0; i < threadCount; i++) {
+				int index = i;
+				threads[i] = new Thread(() -> {
+					try {
+						barrier.await();
+						// half of the threads render the message through toString()
+						results[index] = index % 2 == 0 ? problem.toString() : problem.getMessage();
+					} catch (Throwable e) {
+						failures[index] = e;
+					}
+				});
+				threads[i].start();
+			}
+			for (int i = 0; i < threadCount; i++) {
+				threads[i].join();
+				assertNull("Failed in thread " + i, failures[i]);
+				assertEquals("Wrong result in thread " + i, i % 2 == 0 ? expectedString : expectedMessage, results[i]);
+			}
+			assertEquals(expectedMessage, problem.getMessage());
+			assertEquals(expectedString, problem.toString());
+		}
+	}
+}
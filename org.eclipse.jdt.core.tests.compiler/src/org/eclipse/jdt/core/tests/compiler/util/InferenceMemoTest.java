@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.compiler.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.tests.junit.extension.TestCase;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.lookup.BoundSet;
+import org.eclipse.jdt.internal.compiler.lookup.ConstraintTypeFormula;
+import org.eclipse.jdt.internal.compiler.lookup.InferenceContext18;
+import org.eclipse.jdt.internal.compiler.lookup.InferenceMemo;
+import org.eclipse.jdt.internal.compiler.lookup.InferenceVariable;
+import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
+import org.eclipse.jdt.internal.compiler.lookup.ParameterizedTypeBinding;
+import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
+import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
+import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.junit.Test;
+
+/**
+ * Reductions of type constraints answered by {@link InferenceMemo}, on the types of a resolved unit.
+ */
+public class InferenceMemoTest extends TestCase {
+
+	private static final int COMPATIBLE = 1; // ReductionResult.COMPATIBLE
+
+	private FileSystem nameEnvironment;
+	private Compiler compiler;
+	private InferenceContext18 context;
+	private LookupEnvironment environment;
+	private InferenceVariable alpha;
+	private TypeBinding string;
+	private TypeBinding stringList;
+	private TypeBinding rawArrayList;
+	private TypeBinding alphaArrayList;
+	private TypeBinding alphaList;
+
+	public InferenceMemoTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		Map<String, String> settings = new HashMap<>();
+		settings.put(CompilerOptions.OPTION_Compliance, CompilerOptions.VERSION_1_8);
+		settings.put(CompilerOptions.OPTION_Source, CompilerOptions.VERSION_1_8);
+		settings.put(CompilerOptions.OPTION_TargetPlatform, CompilerOptions.VERSION_1_8);
+		this.nameEnvironment = new FileSystem(Util.getJavaClassLibs(), null, null);
+		this.compiler = new Compiler(this.nameEnvironment, DefaultErrorHandlingPolicies.proceedWithAllProblems(),
+				new CompilerOptions(settings), result -> { /* nothing to accept */ }, new DefaultProblemFactory());
+		char[] source = (
+				"public class X {\n" +
+				"	java.util.List<String> stringList;\n" +
+				"	java.util.ArrayList rawArrayList;\n" +
+				"	<E> void m() {}\n" +
+				"}\n").toCharArray();
+		CompilationUnitDeclaration unit = this.compiler.resolve(new CompilationUnit(source, "X.java", null), true, false, false);
+		SourceTypeBinding x = unit.types[0].binding;
+		this.context = new InferenceContext18(unit.types[0].scope);
+		this.environment = this.compiler.lookupEnvironment;
+		this.alpha = this.context.createInitialBoundSet(x.getMethods("m".toCharArray())[0].typeVariables)[0];
+		this.stringList = x.getField("stringList".toCharArray(), true).type;
+		this.string = ((ParameterizedTypeBinding) this.stringList).arguments[0];
+		this.rawArrayList = x.getField("rawArrayList".toCharArray(), true).type;
+		this.alphaArrayList = this.environment.createParameterizedType((ReferenceBinding) this.rawArrayList.erasure(), new TypeBinding[] { this.alpha }, null);
+		this.alphaList = this.environment.createParameterizedType((ReferenceBinding) this.stringList.erasure(), new TypeBinding[] { this.alpha }, null);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		this.compiler.reset();
+		this.nameEnvironment.cleanup();
+		super.tearDown();
+	}
+
+	private CompilerStats stats() {
+		return this.environment.stats;
+	}
+
+	@Test
+	public void testHit() throws Exception {
+		InferenceMemo memo = new InferenceMemo(16);
+		// ArrayList<E> -> List<String> reduces to the single bound E = String
+		ConstraintTypeFormula constraint = ConstraintTypeFormula.create(this.alphaArrayList, this.stringList, COMPATIBLE);
+		assertTrue("Should apply", InferenceMemo.appliesTo(this.context, constraint));
+		long hits = stats().inferenceMemoHits, misses = stats().inferenceMemoMisses;
+
+		BoundSet reduced = new BoundSet();
+		assertTrue(memo.reduce(this.context, reduced, constraint));
+		assertEquals("Should be recorded", 1, memo.size());
+		assertEquals(misses + 1, stats().inferenceMemoMisses);
+		assertSame(this.string, reduced.getInstantiation(this.alpha, this.environment));
+
+		// an equal constraint, reduced into another bound set
+		BoundSet replayed = new BoundSet();
+		assertTrue(memo.reduce(this.context, replayed, ConstraintTypeFormula.create(this.alphaArrayList, this.stringList, COMPATIBLE)));
+		assertEquals(hits + 1, stats().inferenceMemoHits);
+		assertEquals(misses + 1, stats().inferenceMemoMisses);
+		assertSame("Should replay the bound", this.string, replayed.getInstantiation(this.alpha, this.environment));
+		assertEquals(reduced.flatten().length, replayed.flatten().length);
+	}
+
+	@Test
+	public void testHitOnFalse() throws Exception {
+		InferenceMemo memo = new InferenceMemo(16);
+		// List<E> -> ArrayList<E> is not compatible
+		assertFalse(memo.reduce(this.context, new BoundSet(), ConstraintTypeFormula.create(this.alphaList, this.alphaArrayList, COMPATIBLE)));
+		long hits = stats().inferenceMemoHits;
+		assertFalse(memo.reduce(this.context, new BoundSet(), ConstraintTypeFormula.create(this.alphaList, this.alphaArrayList, COMPATIBLE)));
+		assertEquals(hits + 1, stats().inferenceMemoHits);
+	}
+
+	@Test
+	public void testUncheckedConversionNotRecorded() throws Exception {
+		InferenceMemo memo = new InferenceMemo(16);
+		// raw ArrayList -> List<E> only holds through an unchecked conversion
+		long hits = stats().inferenceMemoHits, misses = stats().inferenceMemoMisses;
+		for (int i = 1; i <= 2; i++) {
+			assertTrue(memo.reduce(this.context, new BoundSet(), ConstraintTypeFormula.create(this.rawArrayList, this.alphaList, COMPATIBLE)));
+			assertEquals("Unchecked conversion should be recorded each time", i, this.context.constraintsWithUncheckedConversion.size());
+		}
+		assertEquals("Should not be recorded", 0, memo.size());
+		assertEquals(hits, stats().inferenceMemoHits);
+		assertEquals(misses + 2, stats().inferenceMemoMisses);
+	}
+
+	@Test
+	public void testCapacity0() throws Exception {
+		InferenceMemo memo = new InferenceMemo(0);
+		long hits = stats().inferenceMemoHits;
+		for (int i = 0; i < 2; i++) {
+			BoundSet boundSet = new BoundSet();
+			assertTrue(memo.reduce(this.context, boundSet, ConstraintTypeFormula.create(this.alphaArrayList, this.stringList, COMPATIBLE)));
+			assertSame(this.string, boundSet.getInstantiation(this.alpha, this.environment));
+		}
+		assertEquals("Should record nothing", 0, memo.size());
+		assertEquals(hits, stats().inferenceMemoHits);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEvicted() throws Exception {
+		InferenceMemo memo = new InferenceMemo(1);
+		assertTrue(memo.reduce(this.context, new BoundSet(), ConstraintTypeFormula.create(this.alphaArrayList, this.stringList, COMPATIBLE)));
+		assertFalse(memo.reduce(this.context, new BoundSet(), ConstraintTypeFormula.create(this.alphaList, this.alphaArrayList, COMPATIBLE)));
+		assertEquals(1, memo.size());
+		long hits = stats().inferenceMemoHits;
+		assertTrue(memo.reduce(this.context, new BoundSet(), ConstraintTypeFormula.create(this.alphaArrayList, this.stringList, COMPATIBLE)));
+		assertEquals("Should have been evicted", hits, stats().inferenceMemoHits);
+	}
+}
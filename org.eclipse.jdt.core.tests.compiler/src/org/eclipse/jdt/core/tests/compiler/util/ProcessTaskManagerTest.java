@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.compiler.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.core.tests.junit.extension.TestCase;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ProcessTaskManager;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.junit.Test;
+
+public class ProcessTaskManagerTest extends TestCase {
+
+	/**
+	 * Hands out the given number of empty units, processing each by counting it,
+	 * and failing on the given one if any.
+	 */
+	static class UnitsCompiler extends Compiler {
+		final CompilationUnitDeclaration[] units;
+		final AtomicInteger processed = new AtomicInteger();
+		final int failing;
+
+		UnitsCompiler(int unitCount, int failing) {
+			super(new EmptyNameEnvironment(), DefaultErrorHandlingPolicies.proceedWithAllProblems(), new CompilerOptions(),
+					result -> { /* nothing to accept */ }, new DefaultProblemFactory());
+			this.units = new CompilationUnitDeclaration[unitCount];
+			for (int i = 0; i < unitCount; i++) {
+				CompilationResult result = new CompilationResult(("X" + i + ".java").toCharArray(), i, unitCount, 0);
+				this.units[i] = new CompilationUnitDeclaration(this.problemReporter, result, 0);
+			}
+			this.totalUnits = unitCount;
+			this.failing = failing;
+		}
+		@Override
+		public synchronized CompilationUnitDeclaration getUnitToProcess(int next) {
+			return next < this.totalUnits ? this.units[next] : null;
+		}
+		@Override
+		public void process(CompilationUnitDeclaration unit, int i) {
+			if (i == this.failing)
+				throw new IllegalStateException("failing on " + i);
+			this.processed.incrementAndGet();
+		}
+	}
+
+	static class EmptyNameEnvironment implements INameEnvironment {
+		@Override
+		public NameEnvironmentAnswer findType(char[][] compoundTypeName) {
+			return null;
+		}
+		@Override
+		public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName) {
+			return null;
+		}
+		@Override
+		public boolean isPackage(char[][] parentPackageName, char[] packageName) {
+			return false;
+		}
+		@Override
+		public void cleanup() {
+			// nothing to clean up
+		}
+	}
+
+	public ProcessTaskManagerTest(String name) {
+		super(name);
+	}
+
+	@Test
+	public void testWrapAround() {
+		// many more units than slots, taken in the order they were processed
+		UnitsCompiler compiler = new UnitsCompiler(50, -1);
+		ProcessTaskManager manager = new ProcessTaskManager(compiler, 0, 3);
+		try {
+			for (int i = 0; i < 50; i++) {
+				assertSame("Wrong unit at " + i, compiler.units[i], manager.removeNextUnit());
+				if (i % 7 == 0)
+					Thread.yield(); // let the queue fill up now and then
+			}
+			assertNull("Should be done", manager.removeNextUnit());
+			assertEquals(50, compiler.processed.get());
+		} finally {
+			manager.shutdown();
+		}
+	}
+
+	@Test
+	public void testBackpressure() throws InterruptedException {
+		// 8 slots: the processing thread resumes once 2 of them are free
+		UnitsCompiler compiler = new UnitsCompiler(20, -1);
+		ProcessTaskManager manager = new ProcessTaskManager(compiler, 0, 8);
+		try {
+			// 8 units queued, and the 9th processed and waiting for a slot
+			waitForProcessed(compiler, 9);
+			assertSame(compiler.units[0], manager.removeNextUnit());
+			// one free slot is not enough, even after the processing thread woke up on its timeout
+			Thread.sleep(600);
+			assertEquals("Should not resume on a single free slot", 9, compiler.processed.get());
+			assertSame(compiler.units[1], manager.removeNextUnit());
+			// two free slots are: the 9th and 10th units are queued, and the 11th waits for a slot
+			waitForProcessed(compiler, 11);
+			Thread.sleep(100);
+			assertEquals("Should stop again once the queue is full", 11, compiler.processed.get());
+			for (int i = 2; i < 20; i++)
+				assertSame("Wrong unit at " + i, compiler.units[i], manager.removeNextUnit());
+			assertNull("Should be done", manager.removeNextUnit());
+		} finally {
+			manager.shutdown();
+		}
+	}
+
+	@Test
+	public void testProcessingException() {
+		// the exception of the processing thread ends up on the accepting thread
+		UnitsCompiler compiler = new UnitsCompiler(20, 5);
+		ProcessTaskManager manager = new ProcessTaskManager(compiler, 0, 3);
+		int removed = 0;
+		try {
+			while (manager.removeNextUnit() != null)
+				removed++;
+			fail("Should have thrown the exception of the processing thread");
+		} catch (IllegalStateException e) {
+			assertEquals("failing on 5", e.getMessage());
+		} finally {
+			manager.shutdown();
+		}
+		assertTrue("Unit after the failing one accepted", removed <= 5);
+		assertEquals(5, compiler.processed.get());
+	}
+
+	private static void waitForProcessed(UnitsCompiler compiler, int count) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (compiler.processed.get() < count) {
+			assertTrue("Timed out waiting for " + count + " processed units", System.nanoTime() < deadline);
+			Thread.sleep(10);
+		}
+	}
+}
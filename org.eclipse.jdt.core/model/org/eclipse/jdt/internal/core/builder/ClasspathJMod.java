@@ -24,7 +24,6 @@ import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
-import org.eclipse.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.jdt.internal.compiler.env.IModule;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
 import org.eclipse.jdt.internal.compiler.util.SimpleSet;
@@ -72,16 +71,11 @@ public class ClasspathJMod extends ClasspathJar {
 
 		try {
 			qualifiedBinaryFileName = new String(CharOperation.append(CLASSES_FOLDER, qualifiedBinaryFileName.toCharArray()));
-			IBinaryType reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+			char[] modName = this.module == null ? null : this.module.name();
+			ClassFileReader reader = readClassFile(qualifiedBinaryFileName, modName);
 			if (reader != null) {
-				char[] modName = this.module == null ? null : this.module.name();
-				if (reader instanceof ClassFileReader) {
-					ClassFileReader classReader = (ClassFileReader) reader;
-					if (classReader.moduleName == null)
-						classReader.moduleName = modName;
-					else
-						modName = classReader.moduleName;
-				}
+				if (reader.moduleName != null)
+					modName = reader.moduleName;
 				String fileNameWithoutExtension = qualifiedBinaryFileName.substring(0, qualifiedBinaryFileName.length() - SuffixConstants.SUFFIX_CLASS.length);
 				return createAnswer(fileNameWithoutExtension, reader, modName);
 			}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,6 +39,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.internal.compiler.classfmt.BinaryTypeCache;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationDecorator;
@@ -48,6 +49,7 @@ import org.eclipse.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.jdt.internal.compiler.env.IModule;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.compiler.util.ArchiveRegistry;
 import org.eclipse.jdt.internal.compiler.util.SimpleSet;
 import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
 import org.eclipse.jdt.internal.core.util.Util;
@@ -125,9 +127,10 @@ protected String readJarContent(final SimpleSet packageSet) {
 }
 IModule initializeModule() {
 	IModule mod = null;
-	ZipFile file = null;
+	ArchiveRegistry.Archive sharedArchive = null;
 	try {
-		file = new ZipFile(this.zipFilename);
+		sharedArchive = ArchiveRegistry.acquire(new File(this.zipFilename));
+		ZipFile file = sharedArchive.zipFile;
 		String releasePath = "META-INF/versions/" + this.compliance + '/' + IModule.MODULE_INFO_CLASS; //$NON-NLS-1$
 		ClassFileReader classfile = null;
 		try {
@@ -137,7 +140,7 @@ IModule initializeModule() {
 			// move on to the default
 		}
 		if (classfile == null) {
-			classfile = ClassFileReader.read(file, IModule.MODULE_INFO_CLASS); // FIXME: use jar cache
+			classfile = ClassFileReader.read(file, IModule.MODULE_INFO_CLASS);
 		}
 		if (classfile != null) {
 			mod = classfile.getModuleDeclaration();
@@ -145,12 +148,8 @@ IModule initializeModule() {
 	} catch (ClassFormatException | IOException e) {
 		// do nothing
 	} finally {
-		try {
-			if (file != null)
-				file.close();
-		} catch (IOException e) {
-			// do nothing
-		}
+		if (sharedArchive != null)
+			ArchiveRegistry.release(sharedArchive);
 	}
 	return mod;
 }
@@ -158,6 +157,7 @@ IModule initializeModule() {
 String zipFilename; // keep for equals
 IFile resource;
 ZipFile zipFile;
+ArchiveRegistry.Archive archive; // set when zipFile comes from the shared registry
 long lastModified;
 long fileSize;
 boolean closeZipFileAtEnd;
@@ -207,7 +207,14 @@ public ClasspathJar(ZipFile zipFile, AccessRuleSet accessRuleSet, boolean isOnMo
 @Override
 public void cleanup() {
 	if (this.closeZipFileAtEnd) {
-		if (this.zipFile != null) {
+		if (this.archive != null) {
+			ArchiveRegistry.release(this.archive);
+			if (org.eclipse.jdt.internal.core.JavaModelManager.ZIP_ACCESS_VERBOSE) {
+				System.out.println("(" + Thread.currentThread() + ") [ClasspathJar.cleanup()] Released shared ZipFile on " + this.zipFilename); //$NON-NLS-1$	//$NON-NLS-2$
+			}
+			this.archive = null;
+			this.zipFile = null;
+		} else if (this.zipFile != null) {
 			try {
 				this.zipFile.close();
 				if (org.eclipse.jdt.internal.core.JavaModelManager.ZIP_ACCESS_VERBOSE) {
@@ -265,16 +272,11 @@ public NameEnvironmentAnswer findClass(String binaryFileName, String qualifiedPa
 	if (!isPackage(qualifiedPackageName, moduleName)) return null; // most common case
 
 	try {
-		IBinaryType reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		char[] modName = this.module == null ? null : this.module.name();
+		ClassFileReader reader = readClassFile(qualifiedBinaryFileName, modName);
 		if (reader != null) {
-			char[] modName = this.module == null ? null : this.module.name();
-			if (reader instanceof ClassFileReader) {
-				ClassFileReader classReader = (ClassFileReader) reader;
-				if (classReader.moduleName == null)
-					classReader.moduleName = modName;
-				else
-					modName = classReader.moduleName;
-				}
+			if (reader.moduleName != null)
+				modName = reader.moduleName;
 			String fileNameWithoutExtension = qualifiedBinaryFileName.substring(0, qualifiedBinaryFileName.length() - SuffixConstants.SUFFIX_CLASS.length);
 			return createAnswer(fileNameWithoutExtension, reader, modName);
 		}
@@ -283,6 +285,23 @@ public NameEnvironmentAnswer findClass(String binaryFileName, String qualifiedPa
 	return null;
 }
 
+/**
+ * Answer the reader of the given entry, attributed to the given module unless it declares its own.
+ * Readers of shared archives are shared with the other projects and compilations reading the same version of the archive.
+ */
+ClassFileReader readClassFile(String entryName, char[] modName) throws ClassFormatException, IOException {
+	if (this.archive == null)
+		return readClassFile(entryName, modName, false);
+	String location = modName == null ? this.archive.getIdentity() : this.archive.getIdentity() + '|' + new String(modName);
+	return BinaryTypeCache.get(location, entryName, fullyInitialize -> readClassFile(entryName, modName, fullyInitialize));
+}
+private ClassFileReader readClassFile(String entryName, char[] modName, boolean fullyInitialize) throws ClassFormatException, IOException {
+	ClassFileReader reader = ClassFileReader.read(this.zipFile, entryName, fullyInitialize);
+	if (reader != null && reader.moduleName == null)
+		reader.moduleName = modName;
+	return reader;
+}
+
 @Override
 public IPath getProjectRelativePath() {
 	if (this.resource == null) return null;
@@ -316,6 +335,13 @@ public boolean hasCompilationUnit(String pkgName, String moduleName) {
 		// Even if knownPackageNames contained the pkg we're looking for, we still need to verify
 		// that the package in this jar actually contains at least one .class file (since
 		// knownPackageNames includes empty packages)
+		if (this.archive != null) {
+			for (String fileName : this.archive.getEntries(pkgName)) {
+				if (fileName.toLowerCase().endsWith(SuffixConstants.SUFFIX_STRING_class))
+					return true;
+			}
+			return false;
+		}
 		for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
 			String fileName = e.nextElement().getName();
 			if (fileName.startsWith(pkgName)
@@ -333,9 +359,10 @@ private boolean scanContent() {
 	try {
 		if (this.zipFile == null) {
 			if (org.eclipse.jdt.internal.core.JavaModelManager.ZIP_ACCESS_VERBOSE) {
-				System.out.println("(" + Thread.currentThread() + ") [ClasspathJar.isPackage(String)] Creating ZipFile on " + this.zipFilename); //$NON-NLS-1$	//$NON-NLS-2$
+				System.out.println("(" + Thread.currentThread() + ") [ClasspathJar.isPackage(String)] Acquiring shared ZipFile on " + this.zipFilename); //$NON-NLS-1$	//$NON-NLS-2$
 			}
-			this.zipFile = new ZipFile(this.zipFilename);
+			this.archive = ArchiveRegistry.acquire(new File(this.zipFilename));
+			this.zipFile = this.archive.zipFile;
 			this.closeZipFileAtEnd = true;
 			this.knownPackageNames = findPackageSet();
 		} else {
@@ -15,6 +15,8 @@
 
 package org.eclipse.jdt.internal.core.util;
 
+import org.eclipse.jdt.internal.compiler.util.CharDeduplication;
+
 /** Utility to provide deduplication by best effort. **/
 public final class DeduplicationUtil {
 	private DeduplicationUtil() {
@@ -22,7 +24,6 @@ public final class DeduplicationUtil {
 
 	private static final WeakHashSet<Object> objectCache = new WeakHashSet<>();
 	private static final WeakHashSet<String> stringSymbols = new WeakHashSet<>();
-	private static final WeakHashSetOfCharArray charArraySymbols = new WeakHashSetOfCharArray();
 
 	@SuppressWarnings("unchecked")
 	public static <T> T internObject(T obj) {
@@ -31,10 +32,11 @@ public final class DeduplicationUtil {
 		}
 	}
 
+	/*
+	 * Shares the char arrays with the compiler, see CharDeduplication#intern(char[]).
+	 */
 	public static char[] intern(char[] array) {
-		synchronized (charArraySymbols) {
-			return charArraySymbols.add(array);
-		}
+		return CharDeduplication.intern(array);
 	}
 
 	/*
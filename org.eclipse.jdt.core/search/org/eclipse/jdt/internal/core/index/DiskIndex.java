@@ -22,6 +22,7 @@ import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.search.*;
 import org.eclipse.jdt.internal.core.util.*;
 import org.eclipse.osgi.util.NLS;
+import org.eclipse.jdt.internal.compiler.util.CharDeduplication;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfIntValues;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
@@ -62,6 +63,9 @@ private static final int RE_INDEXED = -1;
 private static final int DELETED = -2;
 
 private static final int CHUNK_SIZE = 100;
+// category tables are cached as long as they are not too big
+// in practice, some tables can be greater than 500K when they contain more than 10K elements
+private static final int MAX_CACHED_CATEGORY_SIZE = 20000;
 
 private static final SimpleSetOfCharArray INTERNED_CATEGORY_NAMES = new SimpleSetOfCharArray(20);
 private static final String TMP_EXT = ".tmp"; //$NON-NLS-1$
@@ -686,8 +690,11 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 			throw new IOException(message, e);
 		}
 		int largeArraySize = 256;
+		boolean cacheTable = size < MAX_CACHED_CATEGORY_SIZE;
 		for (int i = 0; i < size; i++) {
 			char[] word = readStreamChars(stream);
+			if (cacheTable)
+				word = CharDeduplication.intern(word); // the same words are found in the indexes of every project
 			int arrayOffset = readStreamInt(stream);
 			// if arrayOffset is:
 			//		<= 0 then the array size == 1 with the value -> -arrayOffset
@@ -710,9 +717,7 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 			}
 		}
 		this.categoryTables.put(INTERNED_CATEGORY_NAMES.get(categoryName), categoryTable);
-		// cache the table as long as its not too big
-		// in practice, some tables can be greater than 500K when they contain more than 10K elements
-		this.cachedCategoryName = categoryTable.elementSize < 20000 ? categoryName : null;
+		this.cachedCategoryName = cacheTable ? categoryName : null;
 	} catch (IOException ioe) {
 		this.streamBuffer = null;
 		throw ioe;